@@ -17,6 +17,7 @@ package io.gravitee.gateway.buffer.netty;
 
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.buffer.BufferFactory;
+import io.netty.buffer.ByteBuf;
 
 /**
  * @author David BRASSELY (david at gravitee.io)
@@ -48,4 +49,15 @@ public class BufferFactoryImpl implements BufferFactory {
     public Buffer buffer(byte[] bytes) {
         return new BufferImpl(bytes);
     }
+
+    /**
+     * Wrap the readable bytes of a Netty buffer, without copying them. The content is only copied if the returned
+     * buffer is modified, the given buffer is never modified nor released.
+     *
+     * @param nativeBuffer the Netty buffer to wrap.
+     * @return a buffer sharing the content of the Netty buffer.
+     */
+    public Buffer buffer(ByteBuf nativeBuffer) {
+        return new BufferImpl(nativeBuffer);
+    }
 }
@@ -31,6 +31,12 @@ public class BufferImpl implements Buffer {
 
     private ByteBuf buffer;
 
+    /**
+     * Whether the buffer is a view over memory owned by someone else (ie. a chunk received by the HTTP server), in
+     * which case it is copied before being modified.
+     */
+    private boolean shared;
+
     BufferImpl() {
         this(0);
     }
@@ -43,6 +49,15 @@ public class BufferImpl implements Buffer {
         buffer = Unpooled.unreleasableBuffer(Unpooled.buffer(bytes.length, Integer.MAX_VALUE)).writeBytes(bytes);
     }
 
+    /**
+     * Create a view over the readable bytes of the given buffer, without copying them. The view does not take
+     * ownership of the buffer: it is never released through the view and its content is copied on the first write.
+     */
+    BufferImpl(ByteBuf nativeBuffer) {
+        buffer = Unpooled.unreleasableBuffer(nativeBuffer.slice());
+        shared = true;
+    }
+
     BufferImpl(String str, String enc) {
         this(str.getBytes(Charset.forName(Objects.requireNonNull(enc))));
     }
@@ -57,13 +72,13 @@ public class BufferImpl implements Buffer {
 
     @Override
     public Buffer appendBuffer(Buffer buff) {
-        ByteBuf cb = (ByteBuf) buff.getNativeBuffer();
+        ByteBuf cb = content(buff);
         return appendBuf(cb, cb.readableBytes());
     }
 
     @Override
     public Buffer appendBuffer(Buffer buff, int length) {
-        ByteBuf cb = (ByteBuf) buff.getNativeBuffer();
+        ByteBuf cb = content(buff);
         return appendBuf(cb, Math.min(buff.length(), length));
     }
 
@@ -79,16 +94,27 @@ public class BufferImpl implements Buffer {
 
     private Buffer append(String str, Charset charset) {
         byte[] bytes = str.getBytes(charset);
-        buffer.writeBytes(bytes);
+        writable(bytes.length).writeBytes(bytes);
         return this;
     }
 
     private Buffer appendBuf(ByteBuf cb, int length) {
-        buffer.writeBytes(cb, length);
-        cb.readerIndex(0); // Need to reset readerindex since Netty write modifies readerIndex of source!
+        // Read from an absolute index, so that the readerIndex of the source is not modified
+        writable(length).writeBytes(cb, cb.readerIndex(), length);
         return this;
     }
 
+    private ByteBuf writable(int length) {
+        if (shared) {
+            final int size = buffer.writerIndex();
+            final ByteBuf copy = Unpooled.buffer(size + length, Integer.MAX_VALUE);
+            copy.writeBytes(buffer, 0, size);
+            buffer = Unpooled.unreleasableBuffer(copy);
+            shared = false;
+        }
+        return buffer;
+    }
+
     @Override
     public String toString() {
         return buffer.toString(StandardCharsets.UTF_8);
@@ -116,8 +142,16 @@ public class BufferImpl implements Buffer {
         return buffer.writerIndex();
     }
 
+    /**
+     * The native buffer of a view is a read-only view over the same content, so that it can be written to a socket
+     * without being copied. It must be modified through the <code>append</code> methods, which copy it first.
+     */
     @Override
     public Object getNativeBuffer() {
-        return buffer;
+        return shared ? buffer.asReadOnly() : buffer;
+    }
+
+    private static ByteBuf content(Buffer buff) {
+        return (buff instanceof BufferImpl) ? ((BufferImpl) buff).buffer : (ByteBuf) buff.getNativeBuffer();
     }
 }
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.buffer.netty;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.buffer.BufferFactory;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A {@link BufferFactory} creating {@link PooledBufferImpl}s, for the components which aggregate content and are able
+ * to release it once done (ie. the failover replaying a request body, or a policy transforming a whole body).
+ *
+ * This factory is not registered as the default one: the buffers it creates must be explicitly released, which is not
+ * the case of the buffers created through {@link Buffer#buffer()}.
+ *
+ * @author GraviteeSource Team
+ */
+public class PooledBufferFactoryImpl implements BufferFactory {
+
+    private final ByteBufAllocator allocator;
+
+    public PooledBufferFactoryImpl() {
+        this(PooledByteBufAllocator.DEFAULT);
+    }
+
+    public PooledBufferFactoryImpl(ByteBufAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public PooledBufferImpl buffer(int initialSizeHint) {
+        // Content is appended as new components, there is nothing to pre-allocate
+        return new PooledBufferImpl(allocator);
+    }
+
+    @Override
+    public PooledBufferImpl buffer() {
+        return new PooledBufferImpl(allocator);
+    }
+
+    @Override
+    public PooledBufferImpl buffer(String str) {
+        return new PooledBufferImpl(allocator, str, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public PooledBufferImpl buffer(String str, String enc) {
+        return new PooledBufferImpl(allocator, str, Charset.forName(Objects.requireNonNull(enc)));
+    }
+
+    @Override
+    public PooledBufferImpl buffer(byte[] bytes) {
+        return new PooledBufferImpl(allocator, bytes);
+    }
+}
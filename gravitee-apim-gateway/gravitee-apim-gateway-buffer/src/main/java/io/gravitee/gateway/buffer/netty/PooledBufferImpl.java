@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.buffer.netty;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.util.ReferenceCounted;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A {@link Buffer} backed by a {@link CompositeByteBuf} allocated from a pooled allocator.
+ *
+ * Appending a buffer does not copy its content: its bytes are added as a new component of the composite buffer,
+ * retaining the underlying memory. Strings and byte arrays are written into their own pooled component.
+ *
+ * Unlike {@link BufferImpl}, the memory of this buffer is not reclaimed by the garbage collector: the owner of the
+ * buffer must {@link #release()} it once it is no longer used.
+ *
+ * @author GraviteeSource Team
+ */
+public class PooledBufferImpl implements Buffer, ReferenceCounted {
+
+    /**
+     * The number of components above which the composite buffer is consolidated into a single one.
+     */
+    static final int MAX_COMPONENTS = 1024;
+
+    private final ByteBufAllocator allocator;
+    private final CompositeByteBuf buffer;
+
+    PooledBufferImpl(ByteBufAllocator allocator) {
+        this.allocator = allocator;
+        this.buffer = allocator.compositeBuffer(MAX_COMPONENTS);
+    }
+
+    PooledBufferImpl(ByteBufAllocator allocator, byte[] bytes) {
+        this(allocator);
+        append(bytes);
+    }
+
+    PooledBufferImpl(ByteBufAllocator allocator, String str, Charset charset) {
+        this(allocator, str.getBytes(charset));
+    }
+
+    @Override
+    public Buffer appendBuffer(Buffer buff) {
+        ByteBuf cb = (ByteBuf) buff.getNativeBuffer();
+        return appendBuf(cb, cb.readableBytes());
+    }
+
+    @Override
+    public Buffer appendBuffer(Buffer buff, int length) {
+        ByteBuf cb = (ByteBuf) buff.getNativeBuffer();
+        return appendBuf(cb, Math.min(cb.readableBytes(), length));
+    }
+
+    @Override
+    public Buffer appendString(String str, String enc) {
+        return append(str.getBytes(Charset.forName(Objects.requireNonNull(enc))));
+    }
+
+    @Override
+    public Buffer appendString(String str) {
+        return append(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Buffer append(byte[] bytes) {
+        if (bytes.length > 0) {
+            buffer.addComponent(true, allocator.buffer(bytes.length).writeBytes(bytes));
+        }
+        return this;
+    }
+
+    private Buffer appendBuf(ByteBuf cb, int length) {
+        if (length > 0) {
+            // The appended buffer is only shared, its indexes are left untouched
+            buffer.addComponent(true, cb.retainedSlice(cb.readerIndex(), length));
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString(String enc) {
+        return buffer.toString(Charset.forName(enc));
+    }
+
+    @Override
+    public String toString(Charset enc) {
+        return buffer.toString(enc);
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return ByteBufUtil.getBytes(buffer);
+    }
+
+    @Override
+    public int length() {
+        return buffer.readableBytes();
+    }
+
+    @Override
+    public Object getNativeBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public int refCnt() {
+        return buffer.refCnt();
+    }
+
+    @Override
+    public PooledBufferImpl retain() {
+        buffer.retain();
+        return this;
+    }
+
+    @Override
+    public PooledBufferImpl retain(int increment) {
+        buffer.retain(increment);
+        return this;
+    }
+
+    @Override
+    public PooledBufferImpl touch() {
+        buffer.touch();
+        return this;
+    }
+
+    @Override
+    public PooledBufferImpl touch(Object hint) {
+        buffer.touch(hint);
+        return this;
+    }
+
+    /**
+     * Release this buffer, and the components it retains, once it is no longer used.
+     *
+     * @return <code>true</code> if the memory of the buffer has been deallocated.
+     */
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return buffer.release(decrement);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.buffer.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class BufferImplTest {
+
+    private final BufferFactoryImpl factory = new BufferFactoryImpl();
+
+    @Test
+    public void shouldWrapNativeBufferWithoutCopy() {
+        final ByteBuf source = Unpooled.copiedBuffer("Hello", StandardCharsets.UTF_8);
+        final Buffer view = factory.buffer(source);
+
+        assertEquals("Hello", view.toString());
+        assertEquals(5, view.length());
+
+        // The view shares the content of the wrapped buffer
+        source.setByte(0, 'h');
+        assertEquals("hello", view.toString());
+        assertEquals("hello", ((ByteBuf) view.getNativeBuffer()).toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldCopyViewOnAppend() {
+        final ByteBuf source = Unpooled.copiedBuffer("Hello", StandardCharsets.UTF_8);
+        final Buffer view = factory.buffer(source);
+
+        view.appendString(" World");
+
+        assertEquals("Hello World", view.toString());
+        assertEquals("Hello", source.toString(StandardCharsets.UTF_8));
+        assertEquals(0, source.readerIndex());
+        assertEquals(5, source.writerIndex());
+
+        source.setByte(0, 'h');
+        assertEquals("Hello World", view.toString());
+    }
+
+    @Test
+    public void shouldNotCopyViewOnNativeBufferAccess() {
+        final ByteBuf source = Unpooled.copiedBuffer("Hello", StandardCharsets.UTF_8);
+        final Buffer view = factory.buffer(source);
+
+        final ByteBuf nativeBuffer = (ByteBuf) view.getNativeBuffer();
+
+        assertTrue(nativeBuffer.isReadOnly());
+        assertEquals("Hello", nativeBuffer.toString(StandardCharsets.UTF_8));
+
+        source.setByte(0, 'h');
+        assertEquals("hello", nativeBuffer.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void shouldNotModifyViewThroughNativeBuffer() {
+        final Buffer view = factory.buffer(Unpooled.copiedBuffer("Hello", StandardCharsets.UTF_8));
+
+        ((ByteBuf) view.getNativeBuffer()).setByte(0, 'h');
+    }
+
+    @Test
+    public void shouldReturnWritableNativeBufferOnceViewIsCopied() {
+        final ByteBuf source = Unpooled.copiedBuffer("Hello", StandardCharsets.UTF_8);
+        final Buffer view = factory.buffer(source);
+
+        view.appendString(" World");
+        final ByteBuf nativeBuffer = (ByteBuf) view.getNativeBuffer();
+        nativeBuffer.writeBytes("!".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(nativeBuffer.isReadOnly());
+        assertSame(nativeBuffer, view.getNativeBuffer());
+        assertEquals("Hello World!", view.toString());
+        assertEquals("Hello", source.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldAppendViewWithoutCopyingIt() {
+        final ByteBuf source = Unpooled.copiedBuffer("World", StandardCharsets.UTF_8);
+        final Buffer view = factory.buffer(source);
+        final Buffer buffer = factory.buffer("Hello ");
+
+        buffer.appendBuffer(view).appendBuffer(view, 3);
+
+        assertEquals("Hello WorldWor", buffer.toString());
+        assertEquals(0, source.readerIndex());
+
+        // The appended view still shares the content of the wrapped buffer
+        source.setByte(0, 'w');
+        assertEquals("world", view.toString());
+        assertEquals("Hello WorldWor", buffer.toString());
+    }
+
+    @Test
+    public void shouldReturnSameNativeBuffer() {
+        final Buffer buffer = factory.buffer("Hello");
+
+        final ByteBuf nativeBuffer = (ByteBuf) buffer.getNativeBuffer();
+        nativeBuffer.writeBytes(" World".getBytes(StandardCharsets.UTF_8));
+
+        assertSame(nativeBuffer, buffer.getNativeBuffer());
+        assertEquals("Hello World", buffer.toString());
+    }
+}
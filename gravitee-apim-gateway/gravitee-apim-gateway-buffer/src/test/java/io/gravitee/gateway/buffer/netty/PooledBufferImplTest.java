@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.buffer.netty;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.netty.buffer.CompositeByteBuf;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PooledBufferImplTest {
+
+    private final PooledBufferFactoryImpl factory = new PooledBufferFactoryImpl();
+
+    @Test
+    public void shouldAppendWithoutCopy() {
+        final PooledBufferImpl chunk1 = factory.buffer("Hello ");
+        final PooledBufferImpl chunk2 = factory.buffer("World");
+        final PooledBufferImpl buffer = factory.buffer();
+
+        buffer.appendBuffer(chunk1).appendBuffer(chunk2).appendString("!");
+
+        assertEquals("Hello World!", buffer.toString());
+        assertEquals(12, buffer.length());
+        assertArrayEquals("Hello World!".getBytes(StandardCharsets.UTF_8), buffer.getBytes());
+        assertEquals(3, ((CompositeByteBuf) buffer.getNativeBuffer()).numComponents());
+
+        // Appended buffers are retained by the aggregated buffer
+        assertEquals(2, chunk1.refCnt());
+
+        chunk1.release();
+        chunk2.release();
+        assertEquals("Hello World!", buffer.toString());
+
+        assertTrue(buffer.release());
+        assertEquals(0, chunk1.refCnt());
+        assertEquals(0, chunk2.refCnt());
+    }
+
+    @Test
+    public void shouldAppendUnpooledBuffer() {
+        final Buffer chunk = new BufferImpl("Hello World");
+        final PooledBufferImpl buffer = factory.buffer();
+
+        buffer.appendBuffer(chunk, 5);
+
+        assertEquals("Hello", buffer.toString());
+        assertEquals("Hello World", chunk.toString());
+        assertTrue(buffer.release());
+    }
+
+    @Test
+    public void shouldBeAppendedToUnpooledBuffer() {
+        final PooledBufferImpl chunk = factory.buffer("World");
+        final Buffer buffer = new BufferImpl("Hello ");
+
+        buffer.appendBuffer(chunk);
+
+        assertEquals("Hello World", buffer.toString());
+        assertEquals("World", chunk.toString());
+        assertTrue(chunk.release());
+        assertEquals("Hello World", buffer.toString());
+    }
+
+    @Test
+    public void shouldCopyBytes() {
+        final PooledBufferImpl buffer = factory.buffer("Hello".getBytes(StandardCharsets.UTF_8));
+
+        final byte[] bytes = buffer.getBytes();
+        bytes[0] = 'h';
+
+        assertEquals("Hello", buffer.toString());
+        assertTrue(buffer.release());
+    }
+}
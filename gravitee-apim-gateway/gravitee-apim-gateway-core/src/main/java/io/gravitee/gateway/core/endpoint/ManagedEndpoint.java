@@ -19,15 +19,18 @@ import io.gravitee.definition.model.Endpoint;
 import io.gravitee.definition.model.endpoint.EndpointStatusListener;
 import io.gravitee.gateway.api.Connector;
 import io.gravitee.gateway.api.endpoint.AbstractEndpoint;
+import io.gravitee.gateway.core.loadbalancer.EndpointLoad;
+import io.gravitee.gateway.core.loadbalancer.LoadAwareEndpoint;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ManagedEndpoint extends AbstractEndpoint implements EndpointStatusListener {
+public class ManagedEndpoint extends AbstractEndpoint implements LoadAwareEndpoint, EndpointStatusListener {
 
     private final io.gravitee.definition.model.Endpoint endpoint;
     private final Connector connector;
+    private final EndpointLoad load = new EndpointLoad();
 
     public ManagedEndpoint(final io.gravitee.definition.model.Endpoint endpoint, final Connector connector) {
         this.endpoint = endpoint;
@@ -65,6 +68,11 @@ public class ManagedEndpoint extends AbstractEndpoint implements EndpointStatusL
         return endpoint.getWeight();
     }
 
+    @Override
+    public EndpointLoad load() {
+        return load;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -38,7 +38,9 @@ import io.gravitee.gateway.core.loadbalancer.*;
 import io.gravitee.node.api.configuration.Configuration;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +55,22 @@ public class EndpointGroupLifecycleManager
 
     private final Logger logger = LoggerFactory.getLogger(EndpointGroupLifecycleManager.class);
 
+    /**
+     * The gateway-wide latency-aware strategy replacing the round-robin and random strategies of the APIs:
+     * <code>least-requests</code> or <code>peak-ewma</code>. Weighted strategies are always kept as defined.
+     */
+    private static final String LOAD_BALANCING_STRATEGY_PROPERTY = "api.endpoints.loadbalancing.strategy";
+    private static final String LEAST_REQUESTS_STRATEGY = "least-requests";
+    private static final String PEAK_EWMA_STRATEGY = "peak-ewma";
+
+    /**
+     * Passive outlier detection, disabled unless a number of consecutive failures is defined. Ejection times are in
+     * milliseconds.
+     */
+    private static final String OUTLIER_DETECTION_PROPERTY_PREFIX = "api.endpoints.outlierDetection.";
+    private static final long DEFAULT_BASE_EJECTION_TIME = 30_000L;
+    private static final long DEFAULT_MAX_EJECTION_TIME = 300_000L;
+
     @Inject
     private Api api;
 
@@ -101,7 +119,7 @@ public class EndpointGroupLifecycleManager
         if (loadBalancerDef != null) {
             switch (loadBalancerDef.getType()) {
                 case RANDOM:
-                    strategy = new RandomLoadBalancer(this.endpoints);
+                    strategy = latencyAwareStrategy(() -> new RandomLoadBalancer(this.endpoints));
                     break;
                 case WEIGHTED_RANDOM:
                     strategy = new WeightedRandomLoadBalancer(this.endpoints);
@@ -110,14 +128,55 @@ public class EndpointGroupLifecycleManager
                     strategy = new WeightedRoundRobinLoadBalancer(this.endpoints);
                     break;
                 default:
-                    strategy = new RoundRobinLoadBalancer(this.endpoints);
+                    strategy = latencyAwareStrategy(() -> new RoundRobinLoadBalancer(this.endpoints));
                     break;
             }
         } else {
-            strategy = new RoundRobinLoadBalancer(this.endpoints);
+            strategy = latencyAwareStrategy(() -> new RoundRobinLoadBalancer(this.endpoints));
+        }
+
+        lbGroup = new LoadBalancedEndpointGroup(group.getName(), withOutlierDetection(strategy));
+    }
+
+    private LoadBalancerStrategy withOutlierDetection(LoadBalancerStrategy strategy) {
+        final Integer consecutiveFailures = outlierDetectionProperty("consecutiveFailures", Integer.class, 0);
+
+        if (
+            consecutiveFailures != null &&
+            consecutiveFailures > 0 &&
+            strategy instanceof io.gravitee.gateway.core.loadbalancer.LoadBalancer
+        ) {
+            final long baseEjectionTime = outlierDetectionProperty("baseEjectionTime", Long.class, DEFAULT_BASE_EJECTION_TIME);
+            final long maxEjectionTime = outlierDetectionProperty("maxEjectionTime", Long.class, DEFAULT_MAX_EJECTION_TIME);
+            final OutlierDetection outlierDetection = new OutlierDetection(
+                consecutiveFailures,
+                baseEjectionTime,
+                maxEjectionTime,
+                TimeUnit.MILLISECONDS
+            );
+
+            ((io.gravitee.gateway.core.loadbalancer.LoadBalancer) strategy).setOutlierDetection(outlierDetection);
+        }
+
+        return strategy;
+    }
+
+    private <T> T outlierDetectionProperty(String name, Class<T> type, T defaultValue) {
+        return configuration.getProperty(OUTLIER_DETECTION_PROPERTY_PREFIX + name, type, defaultValue);
+    }
+
+    private LoadBalancerStrategy latencyAwareStrategy(Supplier<LoadBalancerStrategy> apiStrategy) {
+        final String type = configuration.getProperty(LOAD_BALANCING_STRATEGY_PROPERTY, String.class, null);
+
+        if (LEAST_REQUESTS_STRATEGY.equals(type)) {
+            return new LeastRequestsLoadBalancer(this.endpoints);
+        } else if (PEAK_EWMA_STRATEGY.equals(type)) {
+            return new PeakEwmaLoadBalancer(this.endpoints);
+        } else if (type != null) {
+            logger.warn("Unknown load-balancing strategy [{}], the strategy of the API is used", type);
         }
 
-        lbGroup = new LoadBalancedEndpointGroup(group.getName(), strategy);
+        return apiStrategy.get();
     }
 
     @Override
@@ -24,9 +24,11 @@ import io.gravitee.gateway.api.endpoint.EndpointManager;
 import io.gravitee.gateway.core.endpoint.ref.Reference;
 import io.gravitee.gateway.core.endpoint.ref.ReferenceRegister;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -43,14 +45,24 @@ public class DefaultReferenceRegister implements EndpointManager, ReferenceRegis
 
     private final Map<String, Reference> references = new HashMap<>();
 
+    /**
+     * The <code>endpoints</code> template variable, kept up to date with the registered references so that it can be
+     * provided once to the template engine of an API and not rebuilt for each request.
+     */
+    private final Map<String, String> endpoints = new ConcurrentHashMap<>();
+
+    private final Map<String, String> endpointReferences = new EndpointReferenceMap(Collections.unmodifiableMap(endpoints));
+
     @Override
     public void add(Reference reference) {
         references.put(reference.name(), reference);
+        endpoints.put(reference.name(), reference.name() + ':');
     }
 
     @Override
     public void remove(String reference) {
         references.remove(reference);
+        endpoints.remove(reference);
     }
 
     @Override
@@ -74,12 +86,7 @@ public class DefaultReferenceRegister implements EndpointManager, ReferenceRegis
 
     @Override
     public void provide(TemplateContext context) {
-        Map<String, String> refs = references
-            .entrySet()
-            .stream()
-            .collect(Collectors.toMap(entry -> entry.getValue().name(), entry -> entry.getKey() + ':'));
-
-        context.setVariable(TEMPLATE_VARIABLE_KEY, new EndpointReferenceMap(refs));
+        context.setVariable(TEMPLATE_VARIABLE_KEY, endpointReferences);
     }
 
     @Override
@@ -19,12 +19,14 @@ import io.gravitee.gateway.api.Connector;
 import io.gravitee.gateway.api.endpoint.Endpoint;
 import io.gravitee.gateway.api.endpoint.EndpointAvailabilityListener;
 import io.gravitee.gateway.api.endpoint.resolver.ProxyEndpoint;
+import io.gravitee.gateway.core.loadbalancer.EndpointLoad;
+import io.gravitee.gateway.core.loadbalancer.LoadAwareEndpoint;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-abstract class AbstractProxyEndpoint implements ProxyEndpoint {
+abstract class AbstractProxyEndpoint implements ProxyEndpoint, LoadAwareEndpoint {
 
     private final Endpoint endpoint;
 
@@ -62,6 +64,11 @@ abstract class AbstractProxyEndpoint implements ProxyEndpoint {
         return endpoint.primary();
     }
 
+    @Override
+    public EndpointLoad load() {
+        return (endpoint instanceof LoadAwareEndpoint) ? ((LoadAwareEndpoint) endpoint).load() : null;
+    }
+
     @Override
     public void addEndpointAvailabilityListener(EndpointAvailabilityListener listener) {
         endpoint.addEndpointAvailabilityListener(listener);
@@ -59,7 +59,8 @@ public class FailoverInvoker extends EndpointInvoker implements InitializingBean
 
     @Override
     public void invoke(ExecutionContext context, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler) {
-        ((MutableExecutionContext) context).request(new FailoverRequest(context.request()));
+        final FailoverRequest failoverRequest = new FailoverRequest(context.request(), options.getMaxBufferSize());
+        ((MutableExecutionContext) context).request(failoverRequest);
 
         final String apiId = String.valueOf(context.getAttribute(ExecutionContext.ATTR_API));
         circuitBreaker
@@ -67,6 +68,12 @@ public class FailoverInvoker extends EndpointInvoker implements InitializingBean
                 new io.vertx.core.Handler<Promise<ProxyConnection>>() {
                     @Override
                     public void handle(Promise<ProxyConnection> event) {
+                        if (!failoverRequest.replayable()) {
+                            // The body has been partially sent and can not be replayed to an other endpoint.
+                            event.fail(new IllegalStateException("Request body exceeds the failover buffer size"));
+                            return;
+                        }
+
                         FailoverInvoker.super.invoke(
                             context,
                             stream,
@@ -96,7 +103,7 @@ public class FailoverInvoker extends EndpointInvoker implements InitializingBean
                                 proxyConnection.responseHandler(
                                     response -> {
                                         try {
-                                            event.complete(new FailoverProxyConnection(proxyConnection, response));
+                                            event.complete(new FailoverProxyConnection(proxyConnection, response, failoverRequest));
                                         } catch (IllegalStateException e) {
                                             final Future<ProxyConnection> future = event.future();
                                             if (future.failed()) {
@@ -130,6 +137,7 @@ public class FailoverInvoker extends EndpointInvoker implements InitializingBean
             .onComplete(
                 event -> {
                     if (event.failed()) {
+                        failoverRequest.releaseBuffer();
                         FailoverConnection connection = new FailoverConnection();
                         connectionHandler.handle(connection);
                         connection.sendBadGatewayResponse();
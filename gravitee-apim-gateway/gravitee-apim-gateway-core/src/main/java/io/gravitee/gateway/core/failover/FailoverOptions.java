@@ -25,6 +25,8 @@ public class FailoverOptions {
 
     private long retryTimeout = 10000L;
 
+    private long maxBufferSize = -1;
+
     public FailoverOptions setMaxAttempts(int maxAttempts) {
         this.maxAttempts = maxAttempts;
         return this;
@@ -35,6 +37,15 @@ public class FailoverOptions {
         return this;
     }
 
+    /**
+     * The maximum size, in bytes, of the request body kept in memory to be replayed on retry. The request is not
+     * retried once its body exceeds this size. A negative value means no limit.
+     */
+    public FailoverOptions setMaxBufferSize(long maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+        return this;
+    }
+
     public int getMaxAttempts() {
         return maxAttempts;
     }
@@ -42,4 +53,8 @@ public class FailoverOptions {
     public long getRetryTimeout() {
         return retryTimeout;
     }
+
+    public long getMaxBufferSize() {
+        return maxBufferSize;
+    }
 }
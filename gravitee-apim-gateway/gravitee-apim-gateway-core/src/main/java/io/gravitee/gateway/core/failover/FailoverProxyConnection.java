@@ -15,13 +15,21 @@
  */
 package io.gravitee.gateway.core.failover;
 
+import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.http2.HttpFrame;
+import io.gravitee.gateway.api.processor.ProcessorFailure;
 import io.gravitee.gateway.api.proxy.ProxyConnection;
 import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
 import io.gravitee.gateway.api.stream.WriteStream;
+import java.util.Map;
 
 /**
+ * The connection to the endpoint which has responded. The buffered body of the failover request is released once the
+ * response has ended, or when the connection fails or is cancelled.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -29,11 +37,13 @@ class FailoverProxyConnection implements ProxyConnection {
 
     private final ProxyConnection proxyConnection;
     private final ProxyResponse proxyResponse;
+    private final FailoverRequest failoverRequest;
     private Handler<ProxyResponse> responseHandler;
 
-    FailoverProxyConnection(ProxyConnection proxyConnection, ProxyResponse proxyResponse) {
+    FailoverProxyConnection(ProxyConnection proxyConnection, ProxyResponse proxyResponse, FailoverRequest failoverRequest) {
         this.proxyConnection = proxyConnection;
         this.proxyResponse = proxyResponse;
+        this.failoverRequest = failoverRequest;
     }
 
     @Override
@@ -53,12 +63,18 @@ class FailoverProxyConnection implements ProxyConnection {
 
     @Override
     public ProxyConnection cancel() {
+        failoverRequest.releaseBuffer();
         return proxyConnection.cancel();
     }
 
     @Override
     public ProxyConnection exceptionHandler(Handler<Throwable> exceptionHandler) {
-        return proxyConnection.exceptionHandler(exceptionHandler);
+        return proxyConnection.exceptionHandler(
+            throwable -> {
+                failoverRequest.releaseBuffer();
+                exceptionHandler.handle(throwable);
+            }
+        );
     }
 
     @Override
@@ -68,6 +84,123 @@ class FailoverProxyConnection implements ProxyConnection {
     }
 
     void sendResponse() {
-        this.responseHandler.handle(proxyResponse);
+        if (proxyResponse instanceof ProcessorFailure) {
+            this.responseHandler.handle(new FailoverProxyErrorResponse(proxyResponse));
+        } else {
+            this.responseHandler.handle(new FailoverProxyResponse(proxyResponse));
+        }
+    }
+
+    private class FailoverProxyResponse implements ProxyResponse {
+
+        final ProxyResponse response;
+
+        private FailoverProxyResponse(ProxyResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public int status() {
+            return response.status();
+        }
+
+        @Override
+        public String reason() {
+            return response.reason();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return response.headers();
+        }
+
+        @Override
+        public boolean connected() {
+            return response.connected();
+        }
+
+        @Override
+        public ProxyResponse customFrameHandler(Handler<HttpFrame> frameHandler) {
+            response.customFrameHandler(frameHandler);
+            return this;
+        }
+
+        @Override
+        public HttpHeaders trailers() {
+            return response.trailers();
+        }
+
+        @Override
+        public ProxyResponse cancelHandler(Handler<Void> cancelHandler) {
+            response.cancelHandler(cancelHandler);
+            return this;
+        }
+
+        @Override
+        public void cancel() {
+            failoverRequest.releaseBuffer();
+            response.cancel();
+        }
+
+        @Override
+        public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+            response.bodyHandler(bodyHandler);
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            response.endHandler(
+                result -> {
+                    failoverRequest.releaseBuffer();
+                    endHandler.handle(result);
+                }
+            );
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            response.pause();
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            response.resume();
+            return this;
+        }
+    }
+
+    private class FailoverProxyErrorResponse extends FailoverProxyResponse implements ProcessorFailure {
+
+        private FailoverProxyErrorResponse(ProxyResponse response) {
+            super(response);
+        }
+
+        @Override
+        public int statusCode() {
+            return ((ProcessorFailure) this.response).statusCode();
+        }
+
+        @Override
+        public String message() {
+            return ((ProcessorFailure) this.response).message();
+        }
+
+        @Override
+        public String key() {
+            return ((ProcessorFailure) this.response).key();
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return ((ProcessorFailure) this.response).parameters();
+        }
+
+        @Override
+        public String contentType() {
+            return ((ProcessorFailure) this.response).contentType();
+        }
     }
 }
@@ -20,23 +20,37 @@ import io.gravitee.gateway.api.RequestWrapper;
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.buffer.netty.PooledBufferFactoryImpl;
+import io.gravitee.gateway.buffer.netty.PooledBufferImpl;
 
 /**
  * The failover request is defined to store the incoming request body into a buffer which would be reusable in case
  * of retry / failover to an other endpoint.
  *
+ * The buffer is bounded: once the body exceeds the maximum buffer size, the buffer is released and the request can no
+ * longer be replayed.
+ *
+ * The received chunks are not copied into the buffer, they are added to a pooled composite buffer which is owned by
+ * this request: it must be {@link #releaseBuffer() released} once the invocation is done, ie. when the response of the
+ * endpoint has ended, or when the invocation has failed or been cancelled.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 class FailoverRequest extends RequestWrapper {
 
-    private Buffer buffer;
+    private static final PooledBufferFactoryImpl BUFFER_FACTORY = new PooledBufferFactoryImpl();
+
+    private final long maxBufferSize;
+    private PooledBufferImpl buffer;
+    private boolean replayable = true;
     private boolean resumed = false;
     private Handler<Buffer> bodyHandler;
     private Handler<Void> endHandler;
 
-    FailoverRequest(Request request) {
+    FailoverRequest(Request request, long maxBufferSize) {
         super(request);
+        this.maxBufferSize = maxBufferSize;
     }
 
     @Override
@@ -45,10 +59,18 @@ class FailoverRequest extends RequestWrapper {
 
         request.bodyHandler(
             result -> {
-                if (buffer == null) {
-                    buffer = Buffer.buffer();
+                if (replayable) {
+                    final long length = (buffer == null) ? 0 : buffer.length();
+                    if (maxBufferSize >= 0 && length + result.length() > maxBufferSize) {
+                        releaseBuffer();
+                        replayable = false;
+                    } else {
+                        if (buffer == null) {
+                            buffer = BUFFER_FACTORY.buffer();
+                        }
+                        buffer.appendBuffer(result);
+                    }
                 }
-                buffer.appendBuffer(result);
                 bodyHandler.handle(result);
             }
         );
@@ -83,4 +105,21 @@ class FailoverRequest extends RequestWrapper {
 
         return this;
     }
+
+    /**
+     * @return <code>false</code> if the request body has exceeded the maximum buffer size and can not be replayed.
+     */
+    boolean replayable() {
+        return replayable;
+    }
+
+    /**
+     * Release the buffered body, once it can no longer be replayed nor written to an endpoint.
+     */
+    void releaseBuffer() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
 }
@@ -0,0 +1,646 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.http2.HttpFrame;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyRequest;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.api.stream.WriteStream;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
+import io.gravitee.gateway.buffer.netty.BufferImpl;
+import io.gravitee.gateway.core.logging.LoggableProxyConnectionDecorator;
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An invoker collapsing the identical <code>GET</code> requests received while a first one is waiting for the response
+ * of the endpoint: only the first request is sent to the endpoint, and its response is streamed to all the requests,
+ * each of them going through its own response flow.
+ *
+ * Requests are identical when they share the same target, consumer (application, subscription and plan), path, query
+ * parameters and headers, as they stand once the request flows have been applied. Only the headers which differ for
+ * each request without changing what the endpoint is asked for, such as transaction or trace ids, are ignored. A request
+ * joins a pending one until the response headers of the endpoint are received, later requests are invoked again.
+ *
+ * Requests are only collapsed with the requests handled by the same event-loop, so that the response of the endpoint
+ * is never shared between threads. The endpoint response is read as fast as the slowest of the requests which have
+ * started to consume it, the chunks being kept for the requests which have not started yet. A request which has not
+ * started once more than <code>maxBufferSize</code> bytes are kept for it stops sharing the response and fails: the
+ * status and headers of the shared response have already been given to it, so the body of another response can not
+ * be given instead.
+ *
+ * The collapsed requests are logged with the request sent to the endpoint, but they are not counted in the load of
+ * the endpoint, which only receives one request.
+ *
+ * @author GraviteeSource Team
+ */
+public class CoalescingInvoker implements Invoker {
+
+    private static final BufferFactoryImpl BUFFER_FACTORY = new BufferFactoryImpl();
+
+    private final Invoker invoker;
+
+    private final Set<String> ignoredHeaders;
+
+    private final long maxBufferSize;
+
+    private final ThreadLocal<Map<List<Object>, CoalescedRequest>> pendingRequests = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * @param invoker the invoker of the requests sent to the endpoint.
+     * @param ignoredHeaders the request headers whose values may differ for requests to be collapsed.
+     * @param maxBufferSize the maximum size, in bytes, of the chunks kept for a request which has not started to consume
+     * the response, <code>-1</code> for no limit.
+     */
+    public CoalescingInvoker(Invoker invoker, Collection<String> ignoredHeaders, long maxBufferSize) {
+        this.invoker = invoker;
+        this.ignoredHeaders = new HashSet<>();
+        for (String ignoredHeader : ignoredHeaders) {
+            this.ignoredHeaders.add(ignoredHeader.toLowerCase(Locale.ROOT));
+        }
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    @Override
+    public void invoke(ExecutionContext context, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler) {
+        final List<Object> key = key(context);
+        if (key == null) {
+            invoker.invoke(context, stream, connectionHandler);
+            return;
+        }
+
+        final Map<List<Object>, CoalescedRequest> pending = pendingRequests.get();
+        final CoalescedRequest coalescedRequest = pending.get(key);
+
+        if (coalescedRequest != null) {
+            coalescedRequest.join(context, stream, connectionHandler);
+        } else {
+            final CoalescedRequest leadingRequest = new CoalescedRequest(key, pending, context);
+            pending.put(key, leadingRequest);
+            invoker.invoke(context, stream, connection -> leadingRequest.connected(connection, connectionHandler));
+        }
+    }
+
+    /**
+     * @return the key identifying the request, or <code>null</code> if the request can not be collapsed.
+     */
+    private List<Object> key(ExecutionContext context) {
+        final Request request = context.request();
+        final HttpMethod overrideMethod = (HttpMethod) context.getAttribute(ExecutionContext.ATTR_REQUEST_METHOD);
+        final HttpMethod method = (overrideMethod == null) ? request.method() : overrideMethod;
+        final HttpHeaders headers = request.headers();
+
+        if (method != HttpMethod.GET || request.isWebSocket() || hasBody(headers)) {
+            return null;
+        }
+
+        final List<Object> key = new ArrayList<>(7);
+        key.add(context.getAttribute(ExecutionContext.ATTR_REQUEST_ENDPOINT));
+        key.add(context.getAttribute(ExecutionContext.ATTR_APPLICATION));
+        key.add(context.getAttribute(ExecutionContext.ATTR_SUBSCRIPTION_ID));
+        key.add(context.getAttribute(ExecutionContext.ATTR_PLAN));
+        key.add(request.path());
+        key.add((request.parameters() != null) ? new LinkedHashMap<>(request.parameters()) : null);
+        key.add(proxiedHeaders(headers));
+
+        return key;
+    }
+
+    /**
+     * @return the headers sent to the endpoint, by lower-cased name, except the ignored ones.
+     */
+    private Map<String, List<String>> proxiedHeaders(HttpHeaders headers) {
+        final Map<String, List<String>> proxiedHeaders = new TreeMap<>();
+        if (headers != null) {
+            headers.forEach(
+                (name, values) -> {
+                    final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+                    if (!ignoredHeaders.contains(lowerCaseName)) {
+                        proxiedHeaders.put(lowerCaseName, (values != null) ? new ArrayList<>(values) : null);
+                    }
+                }
+            );
+        }
+        return proxiedHeaders;
+    }
+
+    private static boolean hasBody(HttpHeaders headers) {
+        if (headers == null) {
+            return false;
+        }
+
+        final List<String> contentLength = headers.get(HttpHeaders.CONTENT_LENGTH);
+        return (
+            headers.get(HttpHeaders.TRANSFER_ENCODING) != null ||
+            (contentLength != null && !contentLength.isEmpty() && !"0".equals(contentLength.get(0)))
+        );
+    }
+
+    /**
+     * A request sent to the endpoint, and the identical requests waiting for its response.
+     * All the handlers are called on the same event-loop.
+     */
+    private final class CoalescedRequest {
+
+        private final List<Object> key;
+        private final Map<List<Object>, CoalescedRequest> pending;
+        private final ExecutionContext context;
+        private final List<CoalescedConnection> connections = new ArrayList<>();
+        private final CoalescedConnection leader;
+
+        private ProxyConnection upstream;
+        private ProxyResponse upstreamResponse;
+        private boolean upstreamPaused;
+
+        private CoalescedRequest(List<Object> key, Map<List<Object>, CoalescedRequest> pending, ExecutionContext context) {
+            this.key = key;
+            this.pending = pending;
+            this.context = context;
+            this.leader = new CoalescedConnection(this, context, null, true);
+            this.connections.add(leader);
+        }
+
+        private void connected(ProxyConnection connection, Handler<ProxyConnection> connectionHandler) {
+            upstream = connection;
+            upstream.responseHandler(this::handleResponse);
+            upstream.exceptionHandler(this::handleException);
+
+            connectionHandler.handle(leader);
+
+            // The requests which joined before the leading one was connected are connected as well
+            for (int i = 1; i < connections.size(); i++) {
+                connect(connections.get(i));
+            }
+        }
+
+        private void join(ExecutionContext context, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler) {
+            final CoalescedConnection connection = new CoalescedConnection(this, context, connectionHandler, false);
+            connections.add(connection);
+            if (upstream != null) {
+                connect(connection);
+            }
+
+            // The request has no body, it is consumed without being sent anywhere
+            stream.bodyHandler(buffer -> {}).endHandler(aVoid -> {});
+            context.request().resume();
+        }
+
+        /**
+         * Give its connection to a collapsed request, decorated as the connection of the leading one would be.
+         */
+        private void connect(CoalescedConnection connection) {
+            connection.context.request().metrics().setEndpoint(context.request().metrics().getEndpoint());
+
+            final ProxyRequest proxyRequest = (ProxyRequest) context.getAttribute(EndpointInvoker.ATTR_PROXY_REQUEST);
+            connection.connectionHandler.handle(
+                (proxyRequest != null)
+                    ? LoggableProxyConnectionDecorator.decorate(connection, proxyRequest, connection.context)
+                    : connection
+            );
+        }
+
+        private void handleResponse(ProxyResponse response) {
+            pending.remove(key, this);
+
+            if (!response.connected()) {
+                // There is no body to share
+                for (CoalescedConnection connection : connections) {
+                    if (!connection.cancelled && connection.responseHandler != null) {
+                        connection.responseHandler.handle(response);
+                    }
+                }
+                return;
+            }
+
+            upstreamResponse = response;
+            upstreamResponse.pause();
+            upstreamPaused = true;
+
+            // Each response is created before any of them is handled, so that none misses a chunk
+            for (CoalescedConnection connection : connections) {
+                if (!connection.cancelled && connection.responseHandler != null) {
+                    connection.response = new CoalescedResponse(this, connection, maxBufferSize);
+                }
+            }
+
+            upstreamResponse.bodyHandler(this::handleChunk).endHandler(this::handleEnd);
+
+            for (CoalescedConnection connection : connections) {
+                if (connection.response != null && !connection.cancelled) {
+                    connection.responseHandler.handle(connection.response);
+                }
+            }
+
+            flowControl();
+        }
+
+        private void handleChunk(Buffer chunk) {
+            // The chunk is shared with the other requests before being given to the leading one
+            for (int i = connections.size() - 1; i >= 0; i--) {
+                final CoalescedResponse response = connections.get(i).response;
+                if (response != null) {
+                    response.handleChunk(chunk);
+                }
+            }
+        }
+
+        private void handleEnd(Void aVoid) {
+            for (CoalescedConnection connection : connections) {
+                if (connection.response != null) {
+                    connection.response.handleEnd();
+                }
+            }
+        }
+
+        private void handleException(Throwable throwable) {
+            pending.remove(key, this);
+
+            for (CoalescedConnection connection : connections) {
+                if (!connection.cancelled && connection.exceptionHandler != null) {
+                    connection.exceptionHandler.handle(throwable);
+                }
+            }
+        }
+
+        private void cancel(CoalescedConnection connection) {
+            connection.cancelled = true;
+
+            if (connection.response != null) {
+                connection.response.stop();
+            }
+
+            release();
+        }
+
+        /**
+         * Cancel the request sent to the endpoint once none of the requests is sharing its response anymore.
+         */
+        private void release() {
+            for (CoalescedConnection connection : connections) {
+                if (!connection.cancelled && (connection.response == null || !connection.response.cancelled)) {
+                    flowControl();
+                    return;
+                }
+            }
+
+            // Nobody is waiting for the response anymore
+            pending.remove(key, this);
+            if (upstreamResponse != null) {
+                upstreamResponse.cancel();
+            } else if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+
+        /**
+         * Read the endpoint response once a request has started to consume it, and as long as none of the requests
+         * consuming it is paused.
+         */
+        private void flowControl() {
+            if (upstreamResponse == null) {
+                return;
+            }
+
+            boolean started = false;
+            boolean paused = false;
+            for (CoalescedConnection connection : connections) {
+                final CoalescedResponse response = connection.response;
+                if (response != null && !response.cancelled && response.started) {
+                    started = true;
+                    paused |= response.paused;
+                }
+            }
+
+            if (started && !paused && upstreamPaused) {
+                upstreamPaused = false;
+                upstreamResponse.resume();
+            } else if ((!started || paused) && !upstreamPaused) {
+                upstreamPaused = true;
+                upstreamResponse.pause();
+            }
+        }
+    }
+
+    /**
+     * The connection given to each of the collapsed requests. Only the leading one is actually connected to the
+     * endpoint.
+     */
+    private static final class CoalescedConnection implements ProxyConnection {
+
+        private final CoalescedRequest request;
+        private final ExecutionContext context;
+        private final Handler<ProxyConnection> connectionHandler;
+        private final boolean leader;
+
+        private Handler<ProxyResponse> responseHandler;
+        private Handler<Throwable> exceptionHandler;
+        private CoalescedResponse response;
+        private boolean cancelled;
+
+        private CoalescedConnection(
+            CoalescedRequest request,
+            ExecutionContext context,
+            Handler<ProxyConnection> connectionHandler,
+            boolean leader
+        ) {
+            this.request = request;
+            this.context = context;
+            this.connectionHandler = connectionHandler;
+            this.leader = leader;
+        }
+
+        @Override
+        public ProxyConnection responseHandler(Handler<ProxyResponse> responseHandler) {
+            this.responseHandler = responseHandler;
+            return this;
+        }
+
+        @Override
+        public ProxyConnection exceptionHandler(Handler<Throwable> exceptionHandler) {
+            this.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        @Override
+        public ProxyConnection cancel() {
+            if (!cancelled) {
+                request.cancel(this);
+            }
+            return this;
+        }
+
+        @Override
+        public ProxyConnection cancelHandler(Handler<Void> cancelHandler) {
+            if (leader) {
+                request.upstream.cancelHandler(cancelHandler);
+            }
+            return this;
+        }
+
+        @Override
+        public ProxyConnection writeCustomFrame(HttpFrame frame) {
+            if (leader) {
+                request.upstream.writeCustomFrame(frame);
+            }
+            return this;
+        }
+
+        @Override
+        public WriteStream<Buffer> write(Buffer content) {
+            if (leader) {
+                request.upstream.write(content);
+            }
+            return this;
+        }
+
+        @Override
+        public void end() {
+            if (leader) {
+                request.upstream.end();
+            }
+        }
+
+        @Override
+        public void end(Buffer buffer) {
+            if (leader) {
+                request.upstream.end(buffer);
+            }
+        }
+
+        @Override
+        public WriteStream<Buffer> drainHandler(Handler<Void> drainHandler) {
+            if (leader) {
+                request.upstream.drainHandler(drainHandler);
+            }
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            return leader && request.upstream.writeQueueFull();
+        }
+    }
+
+    /**
+     * The endpoint response, as seen by one of the collapsed requests. The chunks received while the request is
+     * paused, or before it has started to consume the response, are kept until it is resumed.
+     */
+    private static final class CoalescedResponse implements ProxyResponse {
+
+        private final CoalescedRequest request;
+        private final CoalescedConnection connection;
+        private final ProxyResponse response;
+
+        private final long maxBufferSize;
+        private final Deque<Buffer> chunks = new ArrayDeque<>();
+        private long bufferSize;
+
+        private Handler<Buffer> bodyHandler;
+        private Handler<Void> endHandler;
+
+        private boolean started;
+        private boolean paused = true;
+        private boolean ended;
+        private boolean cancelled;
+
+        private CoalescedResponse(CoalescedRequest request, CoalescedConnection connection, long maxBufferSize) {
+            this.request = request;
+            this.connection = connection;
+            this.response = request.upstreamResponse;
+            this.maxBufferSize = maxBufferSize;
+        }
+
+        private void handleChunk(Buffer chunk) {
+            if (cancelled) {
+                return;
+            }
+
+            final Buffer buffer = connection.leader ? chunk : share(chunk);
+            if (paused || !chunks.isEmpty()) {
+                chunks.add(buffer);
+                bufferSize += buffer.length();
+
+                if (!started && maxBufferSize != -1 && bufferSize > maxBufferSize) {
+                    fail();
+                }
+            } else if (bodyHandler != null) {
+                bodyHandler.handle(buffer);
+            }
+        }
+
+        /**
+         * Each response flow consumes its own chunks, the other requests are given views of the chunk of the leading
+         * one rather than copies. The buffers of the gateway are never released, so that the views remain readable
+         * whatever the leading response flow does with its chunk.
+         */
+        private static Buffer share(Buffer chunk) {
+            if (chunk instanceof BufferImpl) {
+                return BUFFER_FACTORY.buffer((ByteBuf) chunk.getNativeBuffer());
+            }
+
+            // Other buffers may be released once consumed
+            return Buffer.buffer().appendBuffer(chunk);
+        }
+
+        private void handleEnd() {
+            if (cancelled) {
+                return;
+            }
+
+            ended = true;
+            drain();
+        }
+
+        private void drain() {
+            while (!paused && !cancelled && !chunks.isEmpty()) {
+                final Buffer chunk = chunks.poll();
+                bufferSize -= chunk.length();
+                if (bodyHandler != null) {
+                    bodyHandler.handle(chunk);
+                }
+            }
+
+            if (ended && !paused && !cancelled && chunks.isEmpty()) {
+                ended = false;
+                if (endHandler != null) {
+                    endHandler.handle(null);
+                }
+            }
+        }
+
+        /**
+         * Stop sharing the response once too many chunks are kept for a request which has not started to consume it.
+         * Its response flow has already been given the status and headers of the shared response, it can therefore
+         * not read another response: the request fails instead.
+         */
+        private void fail() {
+            stop();
+            request.release();
+
+            if (connection.exceptionHandler != null) {
+                connection.exceptionHandler.handle(
+                    new IllegalStateException("Collapsed request too slow to read the response, more than " + maxBufferSize + " bytes kept")
+                );
+            }
+        }
+
+        private void stop() {
+            cancelled = true;
+            chunks.clear();
+            bufferSize = 0;
+        }
+
+        @Override
+        public int status() {
+            return response.status();
+        }
+
+        @Override
+        public String reason() {
+            return response.reason();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return response.headers();
+        }
+
+        @Override
+        public boolean connected() {
+            return response.connected();
+        }
+
+        @Override
+        public ProxyResponse customFrameHandler(Handler<HttpFrame> frameHandler) {
+            if (connection.leader) {
+                response.customFrameHandler(frameHandler);
+            }
+            return this;
+        }
+
+        @Override
+        public HttpHeaders trailers() {
+            return response.trailers();
+        }
+
+        @Override
+        public ProxyResponse cancelHandler(Handler<Void> cancelHandler) {
+            if (connection.leader) {
+                response.cancelHandler(cancelHandler);
+            }
+            return this;
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                request.cancel(connection);
+            }
+        }
+
+        @Override
+        public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+            this.bodyHandler = bodyHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            if (!paused) {
+                paused = true;
+                request.flowControl();
+            }
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            if (paused) {
+                paused = false;
+                started = true;
+                drain();
+                request.flowControl();
+            }
+            return this;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.proxy.ProxyConnection;
 import io.gravitee.gateway.api.proxy.ProxyRequest;
 import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.core.loadbalancer.EndpointLoad;
+import io.gravitee.gateway.core.loadbalancer.LoadAwareEndpoint;
 import io.gravitee.gateway.core.logging.LoggableProxyConnectionDecorator;
 import io.gravitee.gateway.core.proxy.DirectProxyConnection;
 import java.io.PrintWriter;
@@ -39,6 +41,11 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class EndpointInvoker implements Invoker {
 
+    /**
+     * The request sent to the endpoint, kept to decorate the connections of the requests collapsed with it.
+     */
+    static final String ATTR_PROXY_REQUEST = ExecutionContext.ATTR_PREFIX + "invoker.proxy-request";
+
     @Autowired
     private EndpointResolver endpointResolver;
 
@@ -58,6 +65,7 @@ public class EndpointInvoker implements Invoker {
                     context.request(),
                     proxyRequestBuilder -> proxyRequestBuilder.method(getHttpMethod(context))
                 );
+                context.setAttribute(ATTR_PROXY_REQUEST, proxyRequest);
 
                 endpoint
                     .connector()
@@ -65,11 +73,7 @@ public class EndpointInvoker implements Invoker {
                         proxyRequest,
                         context,
                         proxyConnection -> {
-                            final ProxyConnection decoratedProxyConnection = LoggableProxyConnectionDecorator.decorate(
-                                proxyConnection,
-                                proxyRequest,
-                                context
-                            );
+                            final ProxyConnection decoratedProxyConnection = decorate(endpoint, proxyRequest, context, proxyConnection);
 
                             connectionHandler.handle(decoratedProxyConnection);
 
@@ -103,7 +107,28 @@ public class EndpointInvoker implements Invoker {
         }
     }
 
-    private HttpMethod getHttpMethod(ExecutionContext context) {
+    /**
+     * Decorate the connection to the endpoint before it is given to the connection handler and fed with the request
+     * body.
+     */
+    protected ProxyConnection decorate(
+        ProxyEndpoint endpoint,
+        ProxyRequest proxyRequest,
+        ExecutionContext context,
+        ProxyConnection proxyConnection
+    ) {
+        return LoggableProxyConnectionDecorator.decorate(trackLoad(endpoint, proxyConnection), proxyRequest, context);
+    }
+
+    /**
+     * Track the request in the load of the endpoint, used by the latency-aware load balancers.
+     */
+    static ProxyConnection trackLoad(ProxyEndpoint endpoint, ProxyConnection proxyConnection) {
+        final EndpointLoad load = (endpoint instanceof LoadAwareEndpoint) ? ((LoadAwareEndpoint) endpoint).load() : null;
+        return (load != null) ? new LoadTrackingProxyConnection(proxyConnection, load, load.start()) : proxyConnection;
+    }
+
+    HttpMethod getHttpMethod(ExecutionContext context) {
         io.gravitee.common.http.HttpMethod overrideMethod = (io.gravitee.common.http.HttpMethod) context.getAttribute(
             ExecutionContext.ATTR_REQUEST_METHOD
         );
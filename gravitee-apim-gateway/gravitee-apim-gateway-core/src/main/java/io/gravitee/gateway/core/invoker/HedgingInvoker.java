@@ -0,0 +1,331 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.endpoint.resolver.EndpointResolver;
+import io.gravitee.gateway.api.endpoint.resolver.ProxyEndpoint;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.http2.HttpFrame;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyRequest;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.WriteStream;
+import io.gravitee.gateway.core.logging.LoggableProxyConnectionDecorator;
+import io.vertx.core.Vertx;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * An endpoint invoker hedging the <code>GET</code> and <code>HEAD</code> requests: when the endpoint has not responded
+ * after a percentile of the latest response times, the same request is sent to another endpoint. The first response
+ * wins, the other request being cancelled.
+ *
+ * Hedged requests are limited to a ratio of the hedgeable requests, with a small burst allowance, so that a slowing
+ * down backend does not receive twice its usual traffic.
+ *
+ * A request is not hedged if it has a body, or if its body has not been fully received when the hedging delay elapses.
+ *
+ * Both requests are tracked in the load of their endpoint, but only the winning response is logged. Only the response
+ * times of the requests sent to the first endpoint are used to compute the hedging delay: when the hedged request wins,
+ * the time elapsed since the first request was sent is recorded, as a lower bound of its response time, so that the
+ * slowest responses are still sampled.
+ *
+ * @author GraviteeSource Team
+ */
+public class HedgingInvoker extends EndpointInvoker {
+
+    private static final int LATENCY_WINDOW = 1000;
+
+    /*
+     * The hedging budget is expressed in thousandths of hedged requests.
+     */
+    private static final int HEDGE_COST = 1000;
+    private static final int MAX_HEDGE_BUDGET = 10 * HEDGE_COST;
+
+    @Autowired
+    private Vertx vertx;
+
+    @Autowired
+    private EndpointResolver endpointResolver;
+
+    private final LatencyPercentile latency;
+
+    private final int hedgeCredit;
+
+    private final AtomicInteger hedgeBudget = new AtomicInteger();
+
+    /**
+     * @param percentile the percentile of the latest response times after which a request is hedged.
+     * @param maxHedgeRate the maximum ratio of the <code>GET</code> and <code>HEAD</code> requests to hedge.
+     */
+    public HedgingInvoker(double percentile, double maxHedgeRate) {
+        this(new LatencyPercentile(percentile, LATENCY_WINDOW), maxHedgeRate);
+    }
+
+    HedgingInvoker(LatencyPercentile latency, double maxHedgeRate) {
+        this.latency = latency;
+        this.hedgeCredit = (int) (Math.max(0, Math.min(1, maxHedgeRate)) * HEDGE_COST);
+    }
+
+    @Override
+    protected ProxyConnection decorate(
+        ProxyEndpoint endpoint,
+        ProxyRequest proxyRequest,
+        ExecutionContext context,
+        ProxyConnection proxyConnection
+    ) {
+        if (proxyRequest.method() != HttpMethod.GET && proxyRequest.method() != HttpMethod.HEAD) {
+            return super.decorate(endpoint, proxyRequest, context, proxyConnection);
+        }
+
+        hedgeBudget.updateAndGet(budget -> Math.min(budget + hedgeCredit, MAX_HEDGE_BUDGET));
+
+        // The logging wraps both requests, so that the response of the losing one does not override the logged one
+        return LoggableProxyConnectionDecorator.decorate(
+            new HedgedProxyConnection(endpoint, context, trackLoad(endpoint, proxyConnection)),
+            proxyRequest,
+            context
+        );
+    }
+
+    private boolean acquireHedge() {
+        int budget;
+        do {
+            budget = hedgeBudget.get();
+            if (budget < HEDGE_COST) {
+                return false;
+            }
+        } while (!hedgeBudget.compareAndSet(budget, budget - HEDGE_COST));
+
+        return true;
+    }
+
+    /**
+     * The connection to the selected endpoint, and possibly to a second one once the hedging delay has elapsed.
+     * All the handlers are called on the event-loop of the incoming request.
+     */
+    private class HedgedProxyConnection implements ProxyConnection {
+
+        private final ProxyEndpoint endpoint;
+        private final ExecutionContext context;
+        private final ProxyConnection primary;
+        private final long start = System.nanoTime();
+
+        private ProxyConnection hedge;
+        private long timerId = -1;
+
+        private boolean ended;
+        private boolean written;
+        private boolean hedging;
+        private boolean primaryFailed;
+        private boolean hedgeFailed;
+        private boolean completed;
+
+        private Handler<ProxyResponse> responseHandler;
+        private Handler<Throwable> exceptionHandler;
+
+        private HedgedProxyConnection(ProxyEndpoint endpoint, ExecutionContext context, ProxyConnection primary) {
+            this.endpoint = endpoint;
+            this.context = context;
+            this.primary = primary;
+
+            final long delay = latency.value();
+            if (delay >= 0) {
+                timerId = vertx.setTimer(Math.max(1, TimeUnit.NANOSECONDS.toMillis(delay)), id -> hedge());
+            }
+        }
+
+        private void hedge() {
+            timerId = -1;
+            if (completed || !ended || written) {
+                return;
+            }
+
+            final ProxyEndpoint other = endpointResolver.resolve((String) context.getAttribute(ExecutionContext.ATTR_REQUEST_ENDPOINT));
+            if (other == null || !other.available() || other.name().equals(endpoint.name()) || !acquireHedge()) {
+                return;
+            }
+
+            try {
+                final ProxyRequest proxyRequest = other.createProxyRequest(
+                    context.request(),
+                    proxyRequestBuilder -> proxyRequestBuilder.method(getHttpMethod(context))
+                );
+
+                hedging = true;
+                other
+                    .connector()
+                    .request(
+                        proxyRequest,
+                        context,
+                        proxyConnection -> {
+                            hedge = trackLoad(other, proxyConnection);
+                            hedge.responseHandler(response -> handleResponse(true, response));
+                            hedge.exceptionHandler(throwable -> handleException(true, throwable));
+
+                            if (completed) {
+                                hedge.cancel();
+                            } else {
+                                hedge.end();
+                            }
+                        }
+                    );
+            } catch (Exception ex) {
+                // The request is still handled by the primary endpoint
+                hedging = false;
+            }
+        }
+
+        private boolean otherPending(boolean fromHedge) {
+            return fromHedge ? !primaryFailed : hedging && !hedgeFailed;
+        }
+
+        private void handleResponse(boolean fromHedge, ProxyResponse response) {
+            if (completed) {
+                // The other request has already won
+                response.cancel();
+                return;
+            }
+
+            if (!response.connected() && otherPending(fromHedge)) {
+                failed(fromHedge);
+                return;
+            }
+
+            complete(fromHedge);
+            if (response.connected()) {
+                // When the hedged request wins, the first one is cancelled after having taken at least that long
+                latency.record(System.nanoTime() - start);
+            }
+            responseHandler.handle(response);
+        }
+
+        private void handleException(boolean fromHedge, Throwable throwable) {
+            if (completed) {
+                return;
+            }
+
+            if (otherPending(fromHedge)) {
+                failed(fromHedge);
+                return;
+            }
+
+            complete(fromHedge);
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(throwable);
+            }
+        }
+
+        private void failed(boolean fromHedge) {
+            if (fromHedge) {
+                hedgeFailed = true;
+            } else {
+                primaryFailed = true;
+            }
+        }
+
+        private void complete(boolean fromHedge) {
+            completed = true;
+            cancelTimer();
+
+            if (fromHedge) {
+                primary.cancel();
+            } else if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+
+        private void cancelTimer() {
+            if (timerId != -1) {
+                vertx.cancelTimer(timerId);
+                timerId = -1;
+            }
+        }
+
+        @Override
+        public ProxyConnection responseHandler(Handler<ProxyResponse> responseHandler) {
+            this.responseHandler = responseHandler;
+            primary.responseHandler(response -> handleResponse(false, response));
+            return this;
+        }
+
+        @Override
+        public ProxyConnection exceptionHandler(Handler<Throwable> exceptionHandler) {
+            this.exceptionHandler = exceptionHandler;
+            primary.exceptionHandler(throwable -> handleException(false, throwable));
+            return this;
+        }
+
+        @Override
+        public ProxyConnection cancel() {
+            completed = true;
+            cancelTimer();
+
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+            return this;
+        }
+
+        @Override
+        public ProxyConnection cancelHandler(Handler<Void> cancelHandler) {
+            primary.cancelHandler(cancelHandler);
+            return this;
+        }
+
+        @Override
+        public ProxyConnection writeCustomFrame(HttpFrame frame) {
+            primary.writeCustomFrame(frame);
+            return this;
+        }
+
+        @Override
+        public WriteStream<Buffer> write(Buffer content) {
+            written |= content.length() > 0;
+            primary.write(content);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            ended = true;
+            primary.end();
+        }
+
+        @Override
+        public void end(Buffer buffer) {
+            written |= buffer.length() > 0;
+            ended = true;
+            primary.end(buffer);
+        }
+
+        @Override
+        public WriteStream<Buffer> drainHandler(Handler<Void> drainHandler) {
+            primary.drainHandler(drainHandler);
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            return primary.writeQueueFull();
+        }
+    }
+}
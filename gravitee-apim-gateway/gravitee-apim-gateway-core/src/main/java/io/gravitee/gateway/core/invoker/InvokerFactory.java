@@ -20,7 +20,12 @@ import io.gravitee.definition.model.Api;
 import io.gravitee.gateway.api.Invoker;
 import io.gravitee.gateway.core.failover.FailoverInvoker;
 import io.gravitee.gateway.core.failover.FailoverOptions;
+import io.gravitee.node.api.configuration.Configuration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -28,9 +33,45 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class InvokerFactory extends AbstractAutowiringFactoryBean<Invoker> {
 
+    /**
+     * Maximum size, in bytes, of a request body kept in memory to be replayed by the failover (10 MB by default, -1 for
+     * no limit). Requests with a larger body are not retried.
+     */
+    private static final String FAILOVER_MAX_BUFFER_SIZE_PROPERTY = "api.failover.maxBufferSize";
+    private static final long DEFAULT_FAILOVER_MAX_BUFFER_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * Hedging of the GET and HEAD requests of the APIs without failover, disabled by default.
+     */
+    private static final String HEDGING_ENABLED_PROPERTY = "api.hedging.enabled";
+    private static final String HEDGING_PERCENTILE_PROPERTY = "api.hedging.percentile";
+    private static final String HEDGING_MAX_RATE_PROPERTY = "api.hedging.maxRate";
+    private static final double DEFAULT_HEDGING_PERCENTILE = 95;
+    private static final double DEFAULT_HEDGING_MAX_RATE = 0.05;
+
+    /**
+     * Collapsing of the identical concurrent GET requests into a single request to the endpoint, disabled by default.
+     */
+    private static final String COALESCING_ENABLED_PROPERTY = "api.coalescing.enabled";
+    private static final String COALESCING_IGNORED_HEADERS_PROPERTY = "api.coalescing.ignoredHeaders";
+    private static final String DEFAULT_COALESCING_IGNORED_HEADERS =
+        "traceparent,tracestate,b3,X-B3-TraceId,X-B3-SpanId,X-B3-ParentSpanId,X-B3-Sampled,X-Request-Id";
+    private static final String TRANSACTION_HEADER_PROPERTY = "handlers.request.transaction.header";
+    private static final String DEFAULT_TRANSACTION_HEADER = "X-Gravitee-Transaction-Id";
+    private static final String REQUEST_ID_HEADER_PROPERTY = "handlers.request.request.header";
+    private static final String DEFAULT_REQUEST_ID_HEADER = "X-Gravitee-Request-Id";
+    private static final String COALESCING_MAX_BUFFER_SIZE_PROPERTY = "api.coalescing.maxBufferSize";
+    private static final long DEFAULT_COALESCING_MAX_BUFFER_SIZE = 1024 * 1024;
+
     @Autowired
     private Api api;
 
+    @Autowired
+    private Configuration configuration;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @Override
     public Class<?> getObjectType() {
         return Invoker.class;
@@ -38,11 +79,51 @@ public class InvokerFactory extends AbstractAutowiringFactoryBean<Invoker> {
 
     @Override
     protected Invoker doCreateInstance() {
+        if (Boolean.TRUE.equals(configuration.getProperty(COALESCING_ENABLED_PROPERTY, Boolean.class, false))) {
+            final Invoker invoker = createInvoker();
+            applicationContext.getAutowireCapableBeanFactory().autowireBean(invoker);
+
+            // The transaction and request ids are set for each request
+            final List<String> ignoredHeaders = new ArrayList<>();
+            ignoredHeaders.add(configuration.getProperty(TRANSACTION_HEADER_PROPERTY, String.class, DEFAULT_TRANSACTION_HEADER));
+            ignoredHeaders.add(configuration.getProperty(REQUEST_ID_HEADER_PROPERTY, String.class, DEFAULT_REQUEST_ID_HEADER));
+            final String configuredIgnoredHeaders = configuration.getProperty(
+                COALESCING_IGNORED_HEADERS_PROPERTY,
+                String.class,
+                DEFAULT_COALESCING_IGNORED_HEADERS
+            );
+            Arrays
+                .stream(configuredIgnoredHeaders.split(","))
+                .map(String::trim)
+                .filter(header -> !header.isEmpty())
+                .forEach(ignoredHeaders::add);
+
+            return new CoalescingInvoker(
+                invoker,
+                ignoredHeaders,
+                configuration.getProperty(COALESCING_MAX_BUFFER_SIZE_PROPERTY, Long.class, DEFAULT_COALESCING_MAX_BUFFER_SIZE)
+            );
+        }
+
+        return createInvoker();
+    }
+
+    private Invoker createInvoker() {
         if (api.getProxy().failoverEnabled()) {
             return new FailoverInvoker(
                 new FailoverOptions()
                     .setMaxAttempts(api.getProxy().getFailover().getMaxAttempts())
                     .setRetryTimeout(api.getProxy().getFailover().getRetryTimeout())
+                    .setMaxBufferSize(
+                        configuration.getProperty(FAILOVER_MAX_BUFFER_SIZE_PROPERTY, Long.class, DEFAULT_FAILOVER_MAX_BUFFER_SIZE)
+                    )
+            );
+        }
+
+        if (Boolean.TRUE.equals(configuration.getProperty(HEDGING_ENABLED_PROPERTY, Boolean.class, false))) {
+            return new HedgingInvoker(
+                configuration.getProperty(HEDGING_PERCENTILE_PROPERTY, Double.class, DEFAULT_HEDGING_PERCENTILE),
+                configuration.getProperty(HEDGING_MAX_RATE_PROPERTY, Double.class, DEFAULT_HEDGING_MAX_RATE)
             );
         }
 
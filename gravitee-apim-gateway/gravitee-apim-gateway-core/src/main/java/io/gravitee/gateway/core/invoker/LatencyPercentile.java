@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A percentile of the latest response times, computed over a sliding window of samples.
+ *
+ * Samples are recorded without lock, from any event-loop, into a ring: each sample claims the next slot of the ring
+ * and overwrites it. The percentile is recomputed from a copy of the ring every {@link #refresh} samples, and read
+ * without lock. As the copy is not atomic, it may miss the samples being recorded at the same time, which only delays
+ * them to the next refresh.
+ *
+ * @author GraviteeSource Team
+ */
+class LatencyPercentile {
+
+    private final double percentile;
+    private final AtomicLongArray samples;
+    private final int refresh;
+    private final AtomicLong count = new AtomicLong();
+    private volatile long value = -1;
+
+    /**
+     * @param percentile the percentile to compute, between 0 and 100.
+     * @param window the number of latest samples the percentile is computed from.
+     */
+    LatencyPercentile(double percentile, int window) {
+        this.percentile = Math.max(0, Math.min(100, percentile));
+        this.samples = new AtomicLongArray(window);
+        this.refresh = Math.max(1, window / 10);
+    }
+
+    void record(long latency) {
+        final int window = samples.length();
+        final long recorded = count.incrementAndGet();
+        samples.set((int) ((recorded - 1) % window), latency);
+
+        if (recorded >= window && recorded % refresh == 0) {
+            final long[] snapshot = new long[window];
+            for (int i = 0; i < window; i++) {
+                snapshot[i] = samples.get(i);
+            }
+
+            Arrays.sort(snapshot);
+            value = snapshot[(int) Math.max(0, Math.min(window - 1, Math.ceil(window * percentile / 100) - 1))];
+        }
+    }
+
+    /**
+     * @return the percentile of the latest response times, or <code>-1</code> until the window is full.
+     */
+    long value() {
+        return value;
+    }
+}
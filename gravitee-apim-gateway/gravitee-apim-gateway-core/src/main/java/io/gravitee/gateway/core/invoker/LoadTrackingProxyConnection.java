@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.http2.HttpFrame;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.WriteStream;
+import io.gravitee.gateway.core.loadbalancer.EndpointLoad;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Report the end of a request to the load of its endpoint, exactly once: when the response (or its failure) is
+ * received from the endpoint, or when the request is cancelled.
+ *
+ * A failure, or a response with a server error status, is also reported as a failure of the endpoint.
+ *
+ * @author GraviteeSource Team
+ */
+class LoadTrackingProxyConnection implements ProxyConnection {
+
+    private final ProxyConnection proxyConnection;
+    private final EndpointLoad load;
+    private final long start;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    LoadTrackingProxyConnection(final ProxyConnection proxyConnection, final EndpointLoad load, final long start) {
+        this.proxyConnection = proxyConnection;
+        this.load = load;
+        this.start = start;
+    }
+
+    @Override
+    public ProxyConnection writeCustomFrame(HttpFrame frame) {
+        proxyConnection.writeCustomFrame(frame);
+        return this;
+    }
+
+    @Override
+    public ProxyConnection cancel() {
+        if (done.compareAndSet(false, true)) {
+            load.cancel();
+        }
+
+        proxyConnection.cancel();
+        return this;
+    }
+
+    @Override
+    public ProxyConnection cancelHandler(Handler<Void> cancelHandler) {
+        proxyConnection.cancelHandler(cancelHandler);
+        return this;
+    }
+
+    @Override
+    public ProxyConnection exceptionHandler(Handler<Throwable> exceptionHandler) {
+        proxyConnection.exceptionHandler(
+            throwable -> {
+                responded(true);
+                exceptionHandler.handle(throwable);
+            }
+        );
+        return this;
+    }
+
+    @Override
+    public ProxyConnection responseHandler(Handler<ProxyResponse> responseHandler) {
+        proxyConnection.responseHandler(
+            proxyResponse -> {
+                responded(proxyResponse.status() >= HttpStatusCode.INTERNAL_SERVER_ERROR_500);
+                responseHandler.handle(proxyResponse);
+            }
+        );
+        return this;
+    }
+
+    @Override
+    public WriteStream<Buffer> write(Buffer content) {
+        proxyConnection.write(content);
+        return this;
+    }
+
+    @Override
+    public void end() {
+        proxyConnection.end();
+    }
+
+    @Override
+    public void end(Buffer buffer) {
+        proxyConnection.end(buffer);
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> drainHandler) {
+        proxyConnection.drainHandler(drainHandler);
+        return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        return proxyConnection.writeQueueFull();
+    }
+
+    private void responded(boolean failed) {
+        if (done.compareAndSet(false, true)) {
+            load.end(start);
+
+            if (failed) {
+                load.failure();
+            } else {
+                load.success();
+            }
+        }
+    }
+}
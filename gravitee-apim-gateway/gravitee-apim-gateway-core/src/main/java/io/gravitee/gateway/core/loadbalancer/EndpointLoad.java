@@ -0,0 +1,230 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The load of an endpoint, as observed by the gateway: the number of requests sent to the endpoint and still waiting
+ * for a response, and a peak exponentially weighted moving average (peak-EWMA) of its response time.
+ *
+ * The average jumps to any response time higher than the current one, so that a slowing down endpoint is penalized
+ * immediately, and otherwise decays towards the observed response times with a time constant of
+ * {@link #DECAY_NANOS}. An endpoint which has not responded for a while is therefore attractive again.
+ *
+ * The consecutive failures of the endpoint are also counted, for the {@link OutlierDetection} to eject it.
+ *
+ * Times are expressed in nanoseconds, as returned by {@link System#nanoTime()}.
+ *
+ * @author GraviteeSource Team
+ */
+public final class EndpointLoad {
+
+    static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * The cost of an endpoint without any response time yet while requests are in flight, so that a new endpoint is
+     * not flooded until its first responses come back.
+     */
+    private static final double PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /*
+     * Replaced with a compare-and-set when a response is received, read without lock by the load balancers.
+     */
+    private final AtomicReference<ResponseTime> responseTime = new AtomicReference<>(ResponseTime.NONE);
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /*
+     * Ejection state, updated under lock by the outlier detection.
+     */
+    private volatile boolean ejected;
+
+    private volatile long ejectedUntil;
+
+    private volatile int ejections;
+
+    /**
+     * Notify a request is sent to the endpoint.
+     *
+     * @return the start time of the request, to give back to {@link #end(long)} or {@link #cancel()}.
+     */
+    public long start() {
+        return start(System.nanoTime());
+    }
+
+    long start(long now) {
+        inFlight.incrementAndGet();
+        return now;
+    }
+
+    /**
+     * Notify the endpoint responded, or failed to respond, to a request.
+     *
+     * @param start the start time of the request returned by {@link #start()}.
+     */
+    public void end(long start) {
+        end(start, System.nanoTime());
+    }
+
+    void end(long start, long now) {
+        inFlight.decrementAndGet();
+
+        final double rtt = Math.max(0, now - start);
+        responseTime.updateAndGet(current -> current.update(rtt, now));
+    }
+
+    /**
+     * Notify a request has been cancelled before the endpoint responded: its duration says nothing about the endpoint.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Notify the endpoint successfully responded to a request.
+     */
+    public void success() {
+        if (failures.get() != 0) {
+            failures.set(0);
+        }
+        if (ejections != 0) {
+            ejections = 0;
+        }
+    }
+
+    /**
+     * Notify the endpoint failed to respond to a request, or responded with a server error.
+     */
+    public void failure() {
+        failures.incrementAndGet();
+    }
+
+    /**
+     * @return the number of failures since the last success or ejection of the endpoint.
+     */
+    int failures() {
+        return failures.get();
+    }
+
+    /**
+     * @return <code>true</code> if the endpoint is ejected at the given time. An endpoint is reinstated once its
+     * ejection time has elapsed.
+     */
+    boolean ejected(long now) {
+        if (ejected) {
+            if (ejectedUntil - now > 0) {
+                return true;
+            }
+            ejected = false;
+        }
+        return false;
+    }
+
+    /**
+     * Eject the endpoint if it is not already, for a time doubling with each consecutive ejection.
+     *
+     * @return <code>true</code> if the endpoint is ejected.
+     */
+    synchronized boolean eject(long now, int threshold, long baseEjectionTime, long maxEjectionTime) {
+        if (ejected(now)) {
+            return true;
+        } else if (failures.get() < threshold) {
+            // Another thread has just ejected and reinstated the endpoint, or it has succeeded in the meantime.
+            return false;
+        }
+
+        long ejectionTime = baseEjectionTime;
+        for (int i = 0; i < ejections && ejectionTime < maxEjectionTime; i++) {
+            ejectionTime <<= 1;
+        }
+
+        ejections++;
+        failures.set(0);
+        ejectedUntil = now + Math.min(ejectionTime, maxEjectionTime);
+        ejected = true;
+        return true;
+    }
+
+    /**
+     * @return the number of requests sent to the endpoint and still waiting for a response.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the expected cost of sending one more request to the endpoint: its average response time weighted by its
+     * in-flight requests.
+     */
+    public double cost() {
+        return cost(System.nanoTime());
+    }
+
+    double cost(long now) {
+        final int pending = inFlight.get();
+        final double current = decayed(now);
+        if (current == 0 && pending != 0) {
+            return PENALTY + pending;
+        }
+
+        return current * (pending + 1);
+    }
+
+    private double decayed(long now) {
+        final ResponseTime current = responseTime.get();
+        if (current.latency == 0) {
+            return 0;
+        }
+
+        return current.latency * current.decay(now);
+    }
+
+    /**
+     * The average response time of the endpoint and the time it was last updated at, replaced as a whole so that they
+     * are always read and updated together.
+     */
+    private static final class ResponseTime {
+
+        private static final ResponseTime NONE = new ResponseTime(0, 0);
+
+        private final double latency;
+
+        private final long timestamp;
+
+        private ResponseTime(double latency, long timestamp) {
+            this.latency = latency;
+            this.timestamp = timestamp;
+        }
+
+        private double decay(long now) {
+            return Math.exp(-Math.max(0, now - timestamp) / (double) DECAY_NANOS);
+        }
+
+        private ResponseTime update(double rtt, long now) {
+            if (rtt > latency) {
+                return new ResponseTime(rtt, now);
+            }
+
+            final double w = decay(now);
+            return new ResponseTime(latency * w + rtt * (1 - w), now);
+        }
+    }
+}
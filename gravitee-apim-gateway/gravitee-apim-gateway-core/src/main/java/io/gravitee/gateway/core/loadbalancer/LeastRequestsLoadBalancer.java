@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.Collection;
+import java.util.function.LongSupplier;
+
+/**
+ * Select, among two random endpoints, the one with the fewest in-flight requests.
+ *
+ * @author GraviteeSource Team
+ */
+public class LeastRequestsLoadBalancer extends PowerOfTwoChoicesLoadBalancer {
+
+    public LeastRequestsLoadBalancer(Collection<Endpoint> endpoints) {
+        this(endpoints, System::nanoTime);
+    }
+
+    LeastRequestsLoadBalancer(Collection<Endpoint> endpoints, LongSupplier clock) {
+        super(endpoints, clock);
+    }
+
+    @Override
+    double cost(EndpointLoad load, long now) {
+        return load.inFlight();
+    }
+
+    @Override
+    public String toString() {
+        return "LeastRequestsLoadBalancer";
+    }
+}
@@ -21,28 +21,49 @@ import io.gravitee.gateway.api.endpoint.Endpoint;
 import io.gravitee.gateway.api.endpoint.EndpointAvailabilityListener;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Endpoints are added, removed or change of availability rarely, while the next endpoint is selected for each request
+ * from any event-loop. The available endpoints are therefore published as an immutable snapshot, rebuilt under lock
+ * on each change, and read without any lock by the selection algorithms.
+ *
+ * When an {@link OutlierDetection} is defined, the primary endpoints ejected by the detection are skipped. If all of
+ * them are ejected, a secondary endpoint is selected or, if there is none, the ejected endpoint is selected anyway
+ * rather than rejecting the request.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public abstract class LoadBalancer implements LoadBalancerStrategy, EndpointAvailabilityListener, ChangeListener<Endpoint> {
 
     /**
-     * Primary endpoints
+     * Primary endpoints, available or not, in their registration order.
      */
-    protected final List<Endpoint> endpoints = new ArrayList<>();
+    private final List<Endpoint> primaryEndpoints = new ArrayList<>();
+
+    private final Set<Endpoint> unavailableEndpoints = new HashSet<>();
+
+    private final List<Endpoint> backupEndpoints = new ArrayList<>();
+
+    /**
+     * Available primary endpoints
+     */
+    protected volatile List<Endpoint> endpoints = Collections.emptyList();
 
     /**
      * Secondary (ie. backup) endpoints
-     * @param endpoints
      */
-    private final List<Endpoint> secondaryEndpoints = new ArrayList<>();
+    private volatile List<Endpoint> secondaryEndpoints = Collections.emptyList();
 
     private final AtomicInteger secondaryCounter = new AtomicInteger(0);
 
+    private OutlierDetection outlierDetection;
+
     LoadBalancer(Collection<Endpoint> endpoints) {
         if (endpoints instanceof ObservableCollection) {
             ((ObservableCollection<Endpoint>) endpoints).addListener(this);
@@ -52,21 +73,36 @@ public abstract class LoadBalancer implements LoadBalancerStrategy, EndpointAvai
     }
 
     @Override
-    public void onAvailabilityChange(Endpoint endpoint, boolean available) {
-        if (available && !endpoints.contains(endpoint)) {
-            endpoints.add(endpoint);
-        } else if (!available) {
-            endpoints.remove(endpoint);
+    public synchronized void onAvailabilityChange(Endpoint endpoint, boolean available) {
+        if (available ? unavailableEndpoints.remove(endpoint) : unavailableEndpoints.add(endpoint)) {
+            snapshot();
         }
     }
 
     @Override
     public Endpoint next() {
         Endpoint endpoint = nextEndpoint();
-        return (endpoint != null) ? endpoint : nextSecondary();
+        if (endpoint == null) {
+            return nextSecondary();
+        }
+
+        return (outlierDetection == null || !outlierDetection.ejected(endpoint)) ? endpoint : nextNonEjected(endpoint);
+    }
+
+    private Endpoint nextNonEjected(Endpoint ejected) {
+        for (int i = endpoints.size() - 1; i > 0; i--) {
+            final Endpoint endpoint = nextEndpoint();
+            if (endpoint != null && !outlierDetection.ejected(endpoint)) {
+                return endpoint;
+            }
+        }
+
+        final Endpoint secondary = nextSecondary();
+        return (secondary != null) ? secondary : ejected;
     }
 
     private Endpoint nextSecondary() {
+        final List<Endpoint> secondaryEndpoints = this.secondaryEndpoints;
         int size = secondaryEndpoints.size();
         if (size == 0) {
             return null;
@@ -86,28 +122,50 @@ public abstract class LoadBalancer implements LoadBalancerStrategy, EndpointAvai
     }
 
     @Override
-    public boolean postAdd(Endpoint endpoint) {
+    public synchronized boolean postAdd(Endpoint endpoint) {
         if (endpoint.primary()) {
             endpoint.addEndpointAvailabilityListener(LoadBalancer.this);
-            endpoints.add(endpoint);
+            primaryEndpoints.add(endpoint);
         } else {
-            secondaryEndpoints.add(endpoint);
+            backupEndpoints.add(endpoint);
         }
 
+        snapshot();
         return false;
     }
 
     @Override
-    public boolean postRemove(Endpoint endpoint) {
+    public synchronized boolean postRemove(Endpoint endpoint) {
         if (endpoint.primary()) {
             endpoint.removeEndpointAvailabilityListener(LoadBalancer.this);
-            endpoints.remove(endpoint);
+            primaryEndpoints.remove(endpoint);
+            unavailableEndpoints.remove(endpoint);
         } else {
-            secondaryEndpoints.remove(endpoint);
+            backupEndpoints.remove(endpoint);
         }
 
+        snapshot();
         return false;
     }
 
+    private void snapshot() {
+        final List<Endpoint> available = new ArrayList<>(primaryEndpoints.size());
+        for (Endpoint endpoint : primaryEndpoints) {
+            if (!unavailableEndpoints.contains(endpoint)) {
+                available.add(endpoint);
+            }
+        }
+
+        endpoints = Collections.unmodifiableList(available);
+        secondaryEndpoints = Collections.unmodifiableList(new ArrayList<>(backupEndpoints));
+    }
+
+    /**
+     * Define the detection of the endpoints to eject. Must be called before the load balancer is used.
+     */
+    public void setOutlierDetection(OutlierDetection outlierDetection) {
+        this.outlierDetection = outlierDetection;
+    }
+
     abstract Endpoint nextEndpoint();
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Passive outlier detection: an endpoint failing to respond, or responding with a server error, to a number of
+ * consecutive requests is ejected from its load balancer, without waiting for its health-check to mark it as down.
+ *
+ * The endpoint is reinstated once its ejection time has elapsed, this time doubling with each consecutive ejection up
+ * to a maximum. Its availability, as defined by its health-check, is left untouched.
+ *
+ * @author GraviteeSource Team
+ */
+public final class OutlierDetection {
+
+    private final int consecutiveFailures;
+    private final long baseEjectionTime;
+    private final long maxEjectionTime;
+    private final LongSupplier clock;
+
+    /**
+     * @param consecutiveFailures the number of consecutive failures for an endpoint to be ejected.
+     * @param baseEjectionTime the ejection time of an endpoint the first time it is ejected.
+     * @param maxEjectionTime the maximum ejection time of an endpoint.
+     * @param unit the time unit of the ejection times.
+     */
+    public OutlierDetection(int consecutiveFailures, long baseEjectionTime, long maxEjectionTime, TimeUnit unit) {
+        this(consecutiveFailures, unit.toNanos(baseEjectionTime), unit.toNanos(maxEjectionTime), System::nanoTime);
+    }
+
+    OutlierDetection(int consecutiveFailures, long baseEjectionTime, long maxEjectionTime, LongSupplier clock) {
+        this.consecutiveFailures = Math.max(1, consecutiveFailures);
+        this.baseEjectionTime = Math.max(1, baseEjectionTime);
+        this.maxEjectionTime = Math.max(this.baseEjectionTime, maxEjectionTime);
+        this.clock = clock;
+    }
+
+    /**
+     * @return <code>true</code> if the endpoint is ejected, ejecting it if it has failed too many times in a row.
+     */
+    boolean ejected(Endpoint endpoint) {
+        final EndpointLoad load = (endpoint instanceof LoadAwareEndpoint) ? ((LoadAwareEndpoint) endpoint).load() : null;
+        if (load == null) {
+            return false;
+        }
+
+        final long now = clock.getAsLong();
+        if (load.ejected(now)) {
+            return true;
+        }
+
+        return load.failures() >= consecutiveFailures && load.eject(now, consecutiveFailures, baseEjectionTime, maxEjectionTime);
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.Collection;
+import java.util.function.LongSupplier;
+
+/**
+ * Select, among two random endpoints, the one with the lowest expected cost: its peak-EWMA response time weighted by
+ * its in-flight requests (see {@link EndpointLoad#cost()}).
+ *
+ * @author GraviteeSource Team
+ */
+public class PeakEwmaLoadBalancer extends PowerOfTwoChoicesLoadBalancer {
+
+    public PeakEwmaLoadBalancer(Collection<Endpoint> endpoints) {
+        this(endpoints, System::nanoTime);
+    }
+
+    PeakEwmaLoadBalancer(Collection<Endpoint> endpoints, LongSupplier clock) {
+        super(endpoints, clock);
+    }
+
+    @Override
+    double cost(EndpointLoad load, long now) {
+        return load.cost(now);
+    }
+
+    @Override
+    public String toString() {
+        return "PeakEwmaLoadBalancer";
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Pick two distinct endpoints at random and select the least loaded one. Comparing two random endpoints instead of all
+ * of them avoids any coordination between event-loops, while being enough to steer the traffic away from slow or
+ * overloaded endpoints.
+ *
+ * Endpoints whose load is not tracked are considered idle.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class PowerOfTwoChoicesLoadBalancer extends LoadBalancer {
+
+    private final LongSupplier clock;
+
+    PowerOfTwoChoicesLoadBalancer(Collection<Endpoint> endpoints, LongSupplier clock) {
+        super(endpoints);
+        this.clock = clock;
+    }
+
+    @Override
+    Endpoint nextEndpoint() {
+        final List<Endpoint> endpoints = this.endpoints;
+        int size = endpoints.size();
+        if (size == 0) {
+            return null;
+        } else if (size == 1) {
+            return endpoints.get(0);
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        final long now = clock.getAsLong();
+        final Endpoint a = endpoints.get(first);
+        final Endpoint b = endpoints.get(second);
+        return (cost(b, now) < cost(a, now)) ? b : a;
+    }
+
+    private double cost(Endpoint endpoint, long now) {
+        final EndpointLoad load = (endpoint instanceof LoadAwareEndpoint) ? ((LoadAwareEndpoint) endpoint).load() : null;
+        return (load != null) ? cost(load, now) : 0;
+    }
+
+    /**
+     * @return the cost of sending a request to an endpoint having the given load, the lowest cost being selected.
+     */
+    abstract double cost(EndpointLoad load, long now);
+}
@@ -16,74 +16,53 @@
 package io.gravitee.gateway.core.loadbalancer;
 
 import io.gravitee.gateway.api.endpoint.Endpoint;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 /**
+ * The weighted load balancers derive their selection data from the snapshot of the available endpoints. This data is
+ * rebuilt, without lock, by the first selection following a change of the endpoints: concurrent selections may build
+ * it more than once, but always from the same immutable snapshot.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public abstract class WeightedLoadBalancer extends LoadBalancer {
 
-    transient int lastIndex;
-
-    private List<WeightRatio> runtimeRatios;
-
     WeightedLoadBalancer(Collection<Endpoint> endpoints) {
         super(endpoints);
     }
 
-    protected void refresh() {
-        this.loadRuntimeRatios();
-    }
-
-    private void loadRuntimeRatios() {
-        if (runtimeRatios == null) {
-            runtimeRatios = new ArrayList<>(endpoints.size());
-        } else {
-            runtimeRatios.clear();
-        }
-
-        int position = 0;
+    /**
+     * @return the weight of each endpoint, negative weights being ignored and all the weights being divided by their
+     * greatest common divisor, or <code>null</code> if the total weight is zero.
+     */
+    static int[] weights(List<Endpoint> endpoints) {
+        final int[] weights = new int[endpoints.size()];
+        int gcd = 0;
 
-        for (Endpoint endpoint : endpoints) {
-            runtimeRatios.add(new WeightRatio(position++, endpoint.weight()));
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.max(0, endpoints.get(i).weight());
+            gcd = gcd(gcd, weights[i]);
         }
-    }
-
-    boolean isRuntimeRatiosZeroed() {
-        boolean cleared = true;
 
-        for (WeightRatio runtimeRatio : runtimeRatios) {
-            if (runtimeRatio.getRuntime() > 0) {
-                cleared = false;
-            }
+        if (gcd == 0) {
+            return null;
         }
-        return cleared;
-    }
 
-    void resetRuntimeRatios() {
-        for (WeightRatio runtimeRatio : runtimeRatios) {
-            runtimeRatio.setRuntime(runtimeRatio.getDistribution());
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= gcd;
         }
-    }
 
-    List<WeightRatio> getRuntimeRatios() {
-        return runtimeRatios;
+        return weights;
     }
 
-    @Override
-    public boolean postAdd(Endpoint object) {
-        super.postAdd(object);
-        this.refresh();
-        return false;
-    }
-
-    @Override
-    public boolean postRemove(Endpoint object) {
-        super.postRemove(object);
-        this.refresh();
-        return false;
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = b;
+            b = a % b;
+            a = t;
+        }
+        return a;
     }
 }
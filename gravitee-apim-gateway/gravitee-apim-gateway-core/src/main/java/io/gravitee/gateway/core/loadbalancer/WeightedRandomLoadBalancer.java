@@ -16,80 +16,82 @@
 package io.gravitee.gateway.core.loadbalancer;
 
 import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
+ * Each endpoint is selected with a probability proportional to its weight, by looking up a random number in the
+ * cumulated weights of the endpoints, computed once for each snapshot of the endpoints.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class WeightedRandomLoadBalancer extends WeightedLoadBalancer {
 
-    private final Random rnd = new Random();
-    private int distributionRatioSum;
-    private int runtimeRatioSum;
+    private volatile Distribution distribution;
 
     public WeightedRandomLoadBalancer(Collection<Endpoint> endpoints) {
         super(endpoints);
     }
 
     @Override
-    protected void refresh() {
-        super.refresh();
-        this.loadRatios();
-    }
-
-    private void loadRatios() {
-        int sum = 0;
-
-        for (Endpoint endpoint : endpoints) {
-            sum += endpoint.weight();
-        }
-
-        distributionRatioSum = sum;
-        runtimeRatioSum = distributionRatioSum;
-    }
-
-    @Override
-    public synchronized Endpoint nextEndpoint() {
+    public Endpoint nextEndpoint() {
+        final List<Endpoint> endpoints = this.endpoints;
         if (endpoints.isEmpty()) {
             return null;
         }
 
-        if (endpoints.size() != getRuntimeRatios().size()) {
-            refresh();
+        Distribution distribution = this.distribution;
+        if (distribution == null || distribution.endpoints != endpoints) {
+            distribution = new Distribution(endpoints);
+            this.distribution = distribution;
         }
 
-        int index = selectProcessIndex();
-        lastIndex = index;
-        return endpoints.get(index);
-    }
-
-    private int selectProcessIndex() {
-        if (runtimeRatioSum == 0) {
-            for (WeightRatio distributionRatio : getRuntimeRatios()) {
-                int weight = distributionRatio.getDistribution();
-                distributionRatio.setRuntime(weight);
-            }
-            runtimeRatioSum = distributionRatioSum;
+        if (distribution.cumulatedWeights == null) {
+            // No endpoint has a weight, fallback to a simple random.
+            return endpoints.get(ThreadLocalRandom.current().nextInt(endpoints.size()));
         }
 
-        WeightRatio selected = null;
-        int randomWeight = rnd.nextInt(runtimeRatioSum);
-        int choiceWeight = 0;
-        for (WeightRatio distributionRatio : getRuntimeRatios()) {
-            choiceWeight += distributionRatio.getRuntime();
-            if (randomWeight < choiceWeight) {
-                selected = distributionRatio;
-                break;
+        final long[] cumulatedWeights = distribution.cumulatedWeights;
+        final long random = ThreadLocalRandom.current().nextLong(cumulatedWeights[cumulatedWeights.length - 1]);
+
+        // Find the first endpoint whose cumulated weight is greater than the random number.
+        int index = Arrays.binarySearch(cumulatedWeights, random + 1);
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            // Skip the endpoints without weight sharing the same cumulated weight.
+            while (index > 0 && cumulatedWeights[index - 1] == cumulatedWeights[index]) {
+                index--;
             }
         }
 
-        selected.setRuntime(selected.getRuntime() - 1);
-        runtimeRatioSum--;
+        return endpoints.get(index);
+    }
 
-        return selected.getPosition();
+    private static final class Distribution {
+
+        private final List<Endpoint> endpoints;
+        private final long[] cumulatedWeights;
+
+        private Distribution(List<Endpoint> endpoints) {
+            this.endpoints = endpoints;
+
+            // Cumulated as longs, so that large weights do not overflow
+            final int[] weights = weights(endpoints);
+            if (weights != null) {
+                this.cumulatedWeights = new long[weights.length];
+                long cumulatedWeight = 0;
+                for (int i = 0; i < weights.length; i++) {
+                    cumulatedWeight += weights[i];
+                    cumulatedWeights[i] = cumulatedWeight;
+                }
+            } else {
+                this.cumulatedWeights = null;
+            }
+        }
     }
 
     @Override
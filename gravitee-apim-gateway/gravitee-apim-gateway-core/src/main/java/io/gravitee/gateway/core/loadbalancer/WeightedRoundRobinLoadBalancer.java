@@ -17,51 +17,109 @@ package io.gravitee.gateway.core.loadbalancer;
 
 import io.gravitee.gateway.api.endpoint.Endpoint;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * A cycle of the weighted round robin, where each endpoint is selected as many times as its weight, the endpoints
+ * being interleaved until the lightest ones are exhausted, is computed once for each snapshot of the endpoints. The
+ * next endpoint is then read from this schedule with an atomic counter, starting from the beginning of the cycle
+ * whenever the available endpoints change.
+ *
+ * The cycle is bounded: when the weights add up to more than {@link #MAX_CYCLE_LENGTH}, they are scaled down
+ * proportionally, each weighted endpoint keeping a weight of at least one.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class WeightedRoundRobinLoadBalancer extends WeightedLoadBalancer {
 
-    private int counter;
+    static final int MAX_CYCLE_LENGTH = 1024;
+
+    private volatile Schedule schedule;
 
     public WeightedRoundRobinLoadBalancer(Collection<Endpoint> endpoints) {
         super(endpoints);
     }
 
     @Override
-    public synchronized Endpoint nextEndpoint() {
+    public Endpoint nextEndpoint() {
+        final List<Endpoint> endpoints = this.endpoints;
         if (endpoints.isEmpty()) {
             return null;
         }
 
-        if (endpoints.size() != getRuntimeRatios().size()) {
-            refresh();
+        Schedule schedule = this.schedule;
+        if (schedule == null || schedule.endpoints != endpoints) {
+            schedule = new Schedule(endpoints);
+            this.schedule = schedule;
         }
 
-        if (isRuntimeRatiosZeroed()) {
-            resetRuntimeRatios();
-            counter = 0;
+        return schedule.next();
+    }
+
+    /**
+     * @return the weight of each endpoint, scaled down so that their sum does not exceed {@link #MAX_CYCLE_LENGTH} by
+     * more than the number of endpoints, or <code>null</code> if the total weight is zero.
+     */
+    static int[] boundedWeights(List<Endpoint> endpoints) {
+        final int[] weights = weights(endpoints);
+        if (weights == null) {
+            return null;
         }
 
-        boolean found = false;
-        while (!found) {
-            if (counter >= getRuntimeRatios().size()) {
-                counter = 0;
-            }
+        long total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
 
-            if (getRuntimeRatios().get(counter).getRuntime() > 0) {
-                getRuntimeRatios().get(counter).setRuntime((getRuntimeRatios().get(counter).getRuntime()) - 1);
-                found = true;
-            } else {
-                counter++;
+        if (total > MAX_CYCLE_LENGTH) {
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] > 0) {
+                    weights[i] = (int) Math.max(1, weights[i] * (long) MAX_CYCLE_LENGTH / total);
+                }
             }
         }
 
-        lastIndex = counter;
+        return weights;
+    }
+
+    private static final class Schedule {
 
-        return endpoints.get(counter++);
+        private final List<Endpoint> endpoints;
+        private final Endpoint[] cycle;
+        private final AtomicInteger counter = new AtomicInteger(0);
+
+        private Schedule(List<Endpoint> endpoints) {
+            this.endpoints = endpoints;
+
+            final int[] weights = boundedWeights(endpoints);
+            if (weights == null) {
+                // No endpoint has a weight, fallback to a simple round robin.
+                this.cycle = endpoints.toArray(new Endpoint[0]);
+                return;
+            }
+
+            int total = 0;
+            for (int weight : weights) {
+                total += weight;
+            }
+
+            this.cycle = new Endpoint[total];
+            int position = 0;
+            while (position < total) {
+                for (int i = 0; i < weights.length; i++) {
+                    if (weights[i] > 0) {
+                        weights[i]--;
+                        cycle[position++] = endpoints.get(i);
+                    }
+                }
+            }
+        }
+
+        private Endpoint next() {
+            return cycle[Math.abs(counter.getAndIncrement() % cycle.length)];
+        }
     }
 
     @Override
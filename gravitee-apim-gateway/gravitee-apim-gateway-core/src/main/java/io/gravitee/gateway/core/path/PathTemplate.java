@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single compiled path template such as <code>/stores/:storeId/orders</code>.
+ * See {@link PathTemplateMatcher} for the syntax of the template segments.
+ *
+ * @author GraviteeSource Team
+ */
+final class PathTemplate {
+
+    static final char URL_PATH_SEPARATOR = '/';
+    private static final String PATH_PARAM_PREFIX = ":";
+    private static final String REGEX_META_CHARACTERS = "\\[](){}.*+?^$|";
+
+    private final String template;
+    private final Segment[] segments;
+
+    private PathTemplate(String template, Segment[] segments) {
+        this.template = template;
+        this.segments = segments;
+    }
+
+    static PathTemplate compile(String template) {
+        final List<Segment> segments = new ArrayList<>();
+
+        final String[] branches = template.split(String.valueOf(URL_PATH_SEPARATOR), -1);
+
+        // Empty segments are kept, except the one before the leading separator
+        for (int i = branches[0].isEmpty() ? 1 : 0; i < branches.length; i++) {
+            final String segment = branches[i];
+            if (segment.isEmpty()) {
+                segments.add(new Segment(Segment.Kind.EMPTY, segment, null));
+            } else {
+                if (segment.startsWith(PATH_PARAM_PREFIX)) {
+                    segments.add(new Segment(Segment.Kind.PARAMETER, segment.substring(PATH_PARAM_PREFIX.length()), null));
+                } else if (isRegex(segment)) {
+                    segments.add(new Segment(Segment.Kind.REGEX, segment, Pattern.compile(segment)));
+                } else {
+                    segments.add(new Segment(Segment.Kind.LITERAL, segment, null));
+                }
+            }
+        }
+
+        return new PathTemplate(template, segments.toArray(new Segment[0]));
+    }
+
+    String template() {
+        return template;
+    }
+
+    Segment[] segments() {
+        return segments;
+    }
+
+    /**
+     * @return the depth of the template as counted by the V1 path resolution, empty segments included (ie.
+     * <code>2</code> for <code>/products</code>, <code>0</code> for <code>/</code>).
+     */
+    int depth() {
+        return template.split(String.valueOf(URL_PATH_SEPARATOR)).length;
+    }
+
+    /**
+     * @return the number of parameter prefixes in the template, as counted by the path mappings.
+     */
+    int parameters() {
+        int parameters = 0;
+        for (int i = 0; i < template.length(); i++) {
+            if (template.charAt(i) == PATH_PARAM_PREFIX.charAt(0)) {
+                parameters++;
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Index of the end of the segment starting at <code>off</code>.
+     */
+    static int segmentEnd(String path, int off) {
+        final int end = path.indexOf(URL_PATH_SEPARATOR, off);
+        return end == -1 ? path.length() : end;
+    }
+
+    static int hash(CharSequence value, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        return h;
+    }
+
+    private static boolean isRegex(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(segment.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class Segment {
+
+        enum Kind {
+            LITERAL,
+            REGEX,
+            PARAMETER,
+            EMPTY,
+        }
+
+        final Kind kind;
+        final String value;
+        final Pattern pattern;
+
+        private Segment(Kind kind, String value, Pattern pattern) {
+            this.kind = kind;
+            this.value = value;
+            this.pattern = pattern;
+        }
+
+        static boolean matches(Pattern pattern, String path, int start, int end) {
+            final Matcher matcher = pattern.matcher(path);
+            matcher.region(start, end);
+            return matcher.matches();
+        }
+
+        static boolean lookingAt(Pattern pattern, String path, int start, int end) {
+            final Matcher matcher = pattern.matcher(path);
+            matcher.region(start, end);
+            return matcher.lookingAt();
+        }
+    }
+}
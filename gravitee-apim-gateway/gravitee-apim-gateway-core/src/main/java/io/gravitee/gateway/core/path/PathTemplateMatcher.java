@@ -0,0 +1,465 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A segment tree of path templates such as <code>/stores/:storeId/orders</code>, compiled once and then matched
+ * against request paths without any regular expression evaluation for literal and parameter segments.
+ *
+ * Each template segment is either:
+ * <ul>
+ *     <li>a parameter (<code>:name</code>),</li>
+ *     <li>a regular expression (any segment containing a regex meta-character, ie. <code>[0-9,;]+</code>), matched
+ *     within a single request segment,</li>
+ *     <li>a literal, matched case-sensitively.</li>
+ * </ul>
+ *
+ * The matcher gives the same results as the regular expressions the templates used to be compiled to: see
+ * {@link #matchPrefix(String)} for the paths of the V1 APIs and {@link #match(String)} for the path mappings.
+ *
+ * Templates must all be registered before the matcher is shared between threads. Matching is read-only and does
+ * not allocate, except for regular expression segments.
+ *
+ * @author GraviteeSource Team
+ */
+public class PathTemplateMatcher<T> {
+
+    private static final char URL_PATH_SEPARATOR = PathTemplate.URL_PATH_SEPARATOR;
+
+    /*
+     * The characters a parameter of a V1 path matches, separators included.
+     */
+    private static final String PATH_PARAM_CHARACTERS = "-._~%!$&'()* +,;=:@/";
+
+    private final Node<T> root = new Node<>();
+
+    private int registered;
+
+    /**
+     * Register a path template and the value to return when it matches.
+     *
+     * @param template the path template.
+     * @param value the value associated to the template.
+     */
+    public void register(String template, T value) {
+        final PathTemplate pathTemplate = PathTemplate.compile(template);
+        Node<T> node = root;
+
+        for (PathTemplate.Segment segment : pathTemplate.segments()) {
+            switch (segment.kind) {
+                case PARAMETER:
+                    node = node.parameterChild();
+                    break;
+                case REGEX:
+                    node = node.regexChild(segment);
+                    break;
+                case EMPTY:
+                    node = node.emptyChild();
+                    break;
+                default:
+                    node = node.literalChild(segment.value);
+            }
+        }
+
+        node.register(new Entry<>(value, registered++, pathTemplate.depth(), pathTemplate.parameters()));
+    }
+
+    /**
+     * Find the template matching the beginning of the given path, as a V1 path does:
+     * <ul>
+     *     <li>the empty segments of the template are ignored,</li>
+     *     <li>a parameter matches one or more characters among <code>[a-zA-Z0-9-._~%!$&'()* +,;=:@/]</code>, so that
+     *     it may span several request segments,</li>
+     *     <li>the last segment of the template only has to match the beginning of a request segment (ie.
+     *     <code>/products</code> matches <code>/productsAndMore</code>),</li>
+     *     <li>the deepest template wins, empty segments included, and the first registered one when several
+     *     templates have the same depth.</li>
+     * </ul>
+     *
+     * @param path the request path.
+     * @return the value of the best matching template or <code>null</code> if none matches.
+     */
+    public T matchPrefix(String path) {
+        final Result<T> result = new Result<>(true);
+
+        // The root template matches any path
+        root.offerPrefixTo(result);
+
+        if (!path.isEmpty() && path.charAt(0) == URL_PATH_SEPARATOR) {
+            root.matchPrefix(path, 1, result);
+        }
+
+        return result.value();
+    }
+
+    /**
+     * Find the template matching the whole given path, as a path mapping does:
+     * <ul>
+     *     <li>an empty segment of the template matches an empty request segment,</li>
+     *     <li>a parameter matches a single request segment, which may be empty,</li>
+     *     <li>the trailing separators of the path are ignored,</li>
+     *     <li>the template with the fewest parameters wins, and the first registered one when several templates
+     *     have the same number of parameters.</li>
+     * </ul>
+     *
+     * @param path the request path.
+     * @return the value of the best matching template or <code>null</code> if none matches.
+     */
+    public T match(String path) {
+        if (!path.isEmpty() && path.charAt(0) != URL_PATH_SEPARATOR) {
+            return null;
+        }
+
+        final Result<T> result = new Result<>(false);
+
+        // The path is matched as if it ended with a separator
+        final int length = path.isEmpty() || path.charAt(path.length() - 1) != URL_PATH_SEPARATOR ? path.length() + 1 : path.length();
+        root.matched(path, length, 0, result);
+
+        return result.value();
+    }
+
+    private static boolean isParameterCharacter(char c) {
+        return (
+            (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || PATH_PARAM_CHARACTERS.indexOf(c) != -1
+        );
+    }
+
+    /**
+     * Whether there are only separators in the path from <code>off</code>.
+     */
+    private static boolean onlySeparators(String path, int off) {
+        for (int i = off; i < path.length(); i++) {
+            if (path.charAt(i) != URL_PATH_SEPARATOR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A registered template, with what is needed to choose between several matching templates.
+     */
+    private static final class Entry<T> {
+
+        private final T value;
+        private final int order;
+        private final int depth;
+        private final int parameters;
+
+        private Entry(T value, int order, int depth, int parameters) {
+            this.value = value;
+            this.order = order;
+            this.depth = depth;
+            this.parameters = parameters;
+        }
+    }
+
+    private static final class Result<T> {
+
+        private final boolean deepest;
+        private Entry<T> best;
+
+        private Result(boolean deepest) {
+            this.deepest = deepest;
+        }
+
+        private void offer(Entry<T> entry) {
+            if (entry != null && (best == null || isBetter(entry))) {
+                best = entry;
+            }
+        }
+
+        private boolean isBetter(Entry<T> entry) {
+            if (deepest ? entry.depth != best.depth : entry.parameters != best.parameters) {
+                return deepest ? entry.depth > best.depth : entry.parameters < best.parameters;
+            }
+            return entry.order < best.order;
+        }
+
+        private T value() {
+            return (best != null) ? best.value : null;
+        }
+    }
+
+    private static final class Node<T> {
+
+        private Entry<T> entry;
+
+        /*
+         * The other templates ending at this node, which have the same segments than the first one but a different
+         * depth or number of parameters (ie. /products and /products/).
+         */
+        private List<Entry<T>> otherEntries;
+
+        /*
+         * Literal children, sorted by hash to allow an allocation-free lookup of a request segment.
+         */
+        private int[] literalHashes = new int[0];
+        private String[] literals = new String[0];
+        private List<Node<T>> literalNodes = new ArrayList<>();
+
+        /*
+         * Distinct lengths of the literal children, sorted, used to find the literals which are a prefix of a request
+         * segment.
+         */
+        private int[] literalLengths = new int[0];
+
+        private final List<Pattern> regexes = new ArrayList<>();
+        private final List<Node<T>> regexNodes = new ArrayList<>();
+
+        private Node<T> parameterNode;
+
+        private Node<T> emptyNode;
+
+        private void register(Entry<T> registered) {
+            if (entry == null) {
+                entry = registered;
+            } else {
+                if (otherEntries == null) {
+                    otherEntries = new ArrayList<>();
+                }
+                otherEntries.add(registered);
+            }
+        }
+
+        private void offerTo(Result<T> result) {
+            result.offer(entry);
+            if (otherEntries != null) {
+                for (Entry<T> other : otherEntries) {
+                    result.offer(other);
+                }
+            }
+        }
+
+        /**
+         * The empty segments of a V1 path are ignored: the templates ending with empty segments after this node end
+         * at this node too.
+         */
+        private void offerPrefixTo(Result<T> result) {
+            offerTo(result);
+            if (emptyNode != null) {
+                emptyNode.offerPrefixTo(result);
+            }
+        }
+
+        private boolean hasPrefixEntry() {
+            return entry != null || (emptyNode != null && emptyNode.hasPrefixEntry());
+        }
+
+        private boolean hasChildren() {
+            return literals.length > 0 || !regexes.isEmpty() || parameterNode != null || emptyNode != null;
+        }
+
+        private Node<T> literalChild(String segment) {
+            final int h = PathTemplate.hash(segment, 0, segment.length());
+            final Node<T> existing = findLiteral(segment, 0, segment.length(), h);
+            if (existing != null) {
+                return existing;
+            }
+
+            int index = Arrays.binarySearch(literalHashes, h);
+            if (index < 0) {
+                index = -index - 1;
+            }
+
+            final Node<T> child = new Node<>();
+            literalHashes = insert(literalHashes, index, h);
+            literals = insert(literals, index, segment);
+            literalNodes.add(index, child);
+
+            int lengthIndex = Arrays.binarySearch(literalLengths, segment.length());
+            if (lengthIndex < 0) {
+                literalLengths = insert(literalLengths, -lengthIndex - 1, segment.length());
+            }
+            return child;
+        }
+
+        private Node<T> regexChild(PathTemplate.Segment segment) {
+            for (int i = 0; i < regexes.size(); i++) {
+                if (regexes.get(i).pattern().equals(segment.value)) {
+                    return regexNodes.get(i);
+                }
+            }
+
+            final Node<T> child = new Node<>();
+            regexes.add(segment.pattern);
+            regexNodes.add(child);
+            return child;
+        }
+
+        private Node<T> parameterChild() {
+            if (parameterNode == null) {
+                parameterNode = new Node<>();
+            }
+            return parameterNode;
+        }
+
+        private Node<T> emptyChild() {
+            if (emptyNode == null) {
+                emptyNode = new Node<>();
+            }
+            return emptyNode;
+        }
+
+        private Node<T> findLiteral(String path, int start, int end, int h) {
+            int index = Arrays.binarySearch(literalHashes, h);
+            if (index < 0) {
+                return null;
+            }
+
+            // Go back to the first literal having the same hash.
+            while (index > 0 && literalHashes[index - 1] == h) {
+                index--;
+            }
+
+            final int length = end - start;
+            for (; index < literalHashes.length && literalHashes[index] == h; index++) {
+                final String literal = literals[index];
+                if (literal.length() == length && path.regionMatches(start, literal, 0, length)) {
+                    return literalNodes.get(index);
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Match the children of this node against the path from <code>off</code>, right after a separator.
+         */
+        private void matchPrefix(String path, int off, Result<T> result) {
+            final int end = PathTemplate.segmentEnd(path, off);
+            final boolean separated = end < path.length();
+
+            if (literals.length > 0) {
+                // A literal matches the whole request segment, or only its beginning when it ends the template
+                int h = 0;
+                int hashed = off;
+                for (int length : literalLengths) {
+                    if (length > end - off) {
+                        break;
+                    }
+
+                    for (; hashed < off + length; hashed++) {
+                        h = 31 * h + path.charAt(hashed);
+                    }
+
+                    final Node<T> literal = findLiteral(path, off, off + length, h);
+                    if (literal != null) {
+                        literal.offerPrefixTo(result);
+                        if (off + length == end && separated && literal.hasChildren()) {
+                            literal.matchPrefix(path, end + 1, result);
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < regexes.size(); i++) {
+                final Pattern regex = regexes.get(i);
+                final Node<T> regexNode = regexNodes.get(i);
+
+                if (regexNode.hasPrefixEntry() && PathTemplate.Segment.lookingAt(regex, path, off, end)) {
+                    regexNode.offerPrefixTo(result);
+                }
+                if (separated && regexNode.hasChildren() && PathTemplate.Segment.matches(regex, path, off, end)) {
+                    regexNode.matchPrefix(path, end + 1, result);
+                }
+            }
+
+            if (parameterNode != null && off < path.length() && isParameterCharacter(path.charAt(off))) {
+                parameterNode.offerPrefixTo(result);
+
+                // A parameter may span several segments, the template going on after any separator it contains
+                if (parameterNode.hasChildren()) {
+                    for (int i = off + 1; i < path.length() && isParameterCharacter(path.charAt(i)); i++) {
+                        if (path.charAt(i) == URL_PATH_SEPARATOR) {
+                            parameterNode.matchPrefix(path, i + 1, result);
+                        }
+                    }
+                }
+            }
+
+            if (emptyNode != null) {
+                emptyNode.matchPrefix(path, off, result);
+            }
+        }
+
+        /**
+         * A template reaching this node has matched the path up to <code>end</code>: it matches the whole path if
+         * only separators are left, and its children are matched against the next segment.
+         *
+         * @param length the length of the path, including the separator the path is matched as if it ended with.
+         */
+        private void matched(String path, int length, int end, Result<T> result) {
+            if (entry != null && onlySeparators(path, end)) {
+                offerTo(result);
+            }
+
+            if (end < length && hasChildren()) {
+                match(path, length, end + 1, result);
+            }
+        }
+
+        /**
+         * Match the children of this node against the segment starting at <code>off</code>, right after a separator.
+         */
+        private void match(String path, int length, int off, Result<T> result) {
+            final int end = (off >= path.length()) ? off : PathTemplate.segmentEnd(path, off);
+
+            if (end > off && literals.length > 0) {
+                final Node<T> literal = findLiteral(path, off, end, PathTemplate.hash(path, off, end));
+                if (literal != null) {
+                    literal.matched(path, length, end, result);
+                }
+            }
+
+            for (int i = 0; i < regexes.size(); i++) {
+                final int regionEnd = Math.min(end, path.length());
+                if (PathTemplate.Segment.matches(regexes.get(i), path, Math.min(off, regionEnd), regionEnd)) {
+                    regexNodes.get(i).matched(path, length, end, result);
+                }
+            }
+
+            if (parameterNode != null) {
+                parameterNode.matched(path, length, end, result);
+            }
+
+            if (emptyNode != null && end == off) {
+                emptyNode.matched(path, length, end, result);
+            }
+        }
+
+        private static int[] insert(int[] array, int index, int value) {
+            final int[] result = new int[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static String[] insert(String[] array, int index, String value) {
+            final String[] result = Arrays.copyOf(array, array.length + 1);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+    }
+}
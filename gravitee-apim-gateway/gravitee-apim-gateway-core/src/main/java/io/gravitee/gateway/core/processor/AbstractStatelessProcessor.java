@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.processor;
+
+/**
+ * A {@link StatelessProcessor} which can still be used as a regular {@link Processor}.
+ *
+ * When part of a {@link io.gravitee.gateway.core.processor.provider.ProcessorChainTemplate}, only
+ * {@link #process(Object)} is called and the instance is shared by all the requests. Its handlers must then not be
+ * used from {@link #process(Object)}.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractStatelessProcessor<T> extends AbstractProcessor<T> implements StatelessProcessor<T> {
+
+    @Override
+    public final void handle(T data) {
+        process(data);
+        next.handle(data);
+    }
+}
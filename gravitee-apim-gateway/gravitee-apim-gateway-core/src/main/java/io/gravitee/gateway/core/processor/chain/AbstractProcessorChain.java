@@ -32,16 +32,23 @@ public abstract class AbstractProcessorChain<T, P extends Processor<T>> implemen
 
     @Override
     public void handle(T data) {
-        if (hasNext()) {
+        while (hasNext()) {
             P processor = next(data);
+
+            if (processor == null) {
+                // The step has already been executed by a stateless processor, continue with the next one
+                continue;
+            }
+
             processor
                 .handler(__ -> handle(data))
                 .errorHandler(failure -> errorHandler.handle(failure))
                 .exitHandler(stream -> exitHandler.handle(null))
                 .handle(data);
-        } else {
-            resultHandler.handle(data);
+            return;
         }
+
+        resultHandler.handle(data);
     }
 
     @Override
@@ -62,5 +69,12 @@ public abstract class AbstractProcessorChain<T, P extends Processor<T>> implemen
         return this;
     }
 
+    /**
+     * Prepare the next step of the chain.
+     *
+     * @param data the data going through the chain.
+     * @return the processor of the next step, or <code>null</code> if the step has been executed synchronously by a
+     * {@link io.gravitee.gateway.core.processor.StatelessProcessor}.
+     */
     protected abstract P next(T data);
 }
@@ -37,10 +37,15 @@ public abstract class AbstractStreamableProcessorChain<T, S, P extends Streamabl
 
     @Override
     public void handle(T data) {
-        if (hasNext()) {
-            try {
+        try {
+            while (hasNext()) {
                 P processor = next(data);
 
+                if (processor == null) {
+                    // The step has already been executed by a stateless processor, which lets the stream go through
+                    continue;
+                }
+
                 if (streamableProcessorChain == null) {
                     streamableProcessorChain = processor;
                 }
@@ -60,26 +65,28 @@ public abstract class AbstractStreamableProcessorChain<T, S, P extends Streamabl
                     .exitHandler(stream -> exitHandler.handle(null))
                     .streamErrorHandler(failure -> streamErrorHandler.handle(failure))
                     .handle(data);
-            } catch (Exception ex) {
-                errorHandler.handle(new RuntimeProcessorFailure(ex.getMessage()));
-            }
-        } else {
-            ReadWriteStream<S> tailPolicyStreamer = previousProcessor;
-            if (streamableProcessorChain != null && tailPolicyStreamer != null) {
-                tailPolicyStreamer.bodyHandler(
-                    bodyPart -> {
-                        if (bodyHandler != null) bodyHandler.handle(bodyPart);
-                    }
-                );
-                tailPolicyStreamer.endHandler(
-                    result -> {
-                        if (endHandler != null) endHandler.handle(result);
-                    }
-                );
+                return;
             }
+        } catch (Exception ex) {
+            errorHandler.handle(new RuntimeProcessorFailure(ex.getMessage()));
+            return;
+        }
 
-            resultHandler.handle(data);
+        ReadWriteStream<S> tailPolicyStreamer = previousProcessor;
+        if (streamableProcessorChain != null && tailPolicyStreamer != null) {
+            tailPolicyStreamer.bodyHandler(
+                bodyPart -> {
+                    if (bodyHandler != null) bodyHandler.handle(bodyPart);
+                }
+            );
+            tailPolicyStreamer.endHandler(
+                result -> {
+                    if (endHandler != null) endHandler.handle(result);
+                }
+            );
         }
+
+        resultHandler.handle(data);
     }
 
     private Handler<S> bodyHandler;
@@ -100,13 +107,22 @@ public abstract class AbstractStreamableProcessorChain<T, S, P extends Streamabl
 
     @Override
     public WriteStream<S> write(S chunk) {
-        streamableProcessorChain.write(chunk);
+        if (streamableProcessorChain != null) {
+            streamableProcessorChain.write(chunk);
+        } else if (bodyHandler != null) {
+            // Only stateless processors in the chain, the stream goes through as is
+            bodyHandler.handle(chunk);
+        }
         return this;
     }
 
     @Override
     public void end() {
-        streamableProcessorChain.end();
+        if (streamableProcessorChain != null) {
+            streamableProcessorChain.end();
+        } else if (endHandler != null) {
+            endHandler.handle(null);
+        }
     }
 
     @Override
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.processor.provider;
+
+import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.StatelessProcessor;
+import java.util.List;
+
+/**
+ * The immutable shape of a processor chain, built once (ie. when an API is deployed) and shared by all the chains
+ * created for the incoming requests.
+ *
+ * Each step of the template is either a {@link StatelessProcessor}, directly executed by the chain without any
+ * allocation, or a {@link ProcessorProvider} for the processors holding a state for the request (policy chains,
+ * logging, ...).
+ *
+ * @author GraviteeSource Team
+ */
+public final class ProcessorChainTemplate<T, P extends Processor<T>> {
+
+    private final ProcessorProvider<T, P>[] providers;
+    private final StatelessProcessor<T>[] processors;
+
+    @SuppressWarnings("unchecked")
+    private ProcessorChainTemplate(List<? extends ProcessorProvider<T, P>> providers) {
+        this.providers = new ProcessorProvider[providers.size()];
+        this.processors = new StatelessProcessor[providers.size()];
+
+        for (int i = 0; i < providers.size(); i++) {
+            final ProcessorProvider<T, P> provider = providers.get(i);
+            if (provider instanceof StatelessProcessorProvider) {
+                this.processors[i] = ((StatelessProcessorProvider<T, P>) provider).processor();
+            } else {
+                this.providers[i] = provider;
+            }
+        }
+    }
+
+    public static <T, P extends Processor<T>> ProcessorChainTemplate<T, P> of(List<? extends ProcessorProvider<T, P>> providers) {
+        return new ProcessorChainTemplate<>(providers);
+    }
+
+    public int size() {
+        return providers.length;
+    }
+
+    /**
+     * @return the shared processor of the given step, or <code>null</code> if the processor of this step has to be
+     * provided for each request.
+     */
+    StatelessProcessor<T> processor(int index) {
+        return processors[index];
+    }
+
+    ProcessorProvider<T, P> provider(int index) {
+        return providers[index];
+    }
+}
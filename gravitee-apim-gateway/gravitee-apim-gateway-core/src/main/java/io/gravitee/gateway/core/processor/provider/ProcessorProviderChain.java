@@ -16,8 +16,10 @@
 package io.gravitee.gateway.core.processor.provider;
 
 import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.StatelessProcessor;
 import io.gravitee.gateway.core.processor.chain.AbstractProcessorChain;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -27,27 +29,41 @@ import java.util.List;
  */
 public class ProcessorProviderChain<T> extends AbstractProcessorChain<T, Processor<T>> {
 
-    private final Iterator<ProcessorProvider<T, Processor<T>>> ite;
+    private final ProcessorChainTemplate<T, Processor<T>> template;
+    private int index;
     private Iterator<Processor<T>> iteProcessor;
-    private final List<Processor<T>> processors;
+    private List<Processor<T>> processors;
 
     public ProcessorProviderChain(List<ProcessorProvider<T, Processor<T>>> providers) {
-        this.ite = providers.iterator();
-        this.processors = new ArrayList<>(providers.size());
+        this(ProcessorChainTemplate.of(providers));
+    }
+
+    public ProcessorProviderChain(ProcessorChainTemplate<T, Processor<T>> template) {
+        this.template = template;
     }
 
     @Override
     protected Processor<T> next(T data) {
-        Processor<T> processor = ite.next().provide(data);
+        final int step = index++;
+        final StatelessProcessor<T> statelessProcessor = template.processor(step);
+        if (statelessProcessor != null) {
+            statelessProcessor.process(data);
+            return null;
+        }
+
+        Processor<T> processor = template.provider(step).provide(data);
+        if (processors == null) {
+            processors = new ArrayList<>(template.size());
+        }
         processors.add(processor);
         return processor;
     }
 
     @Override
     public boolean hasNext() {
-        boolean hasNext = ite.hasNext();
+        boolean hasNext = index < template.size();
         if (!hasNext && iteProcessor == null) {
-            iteProcessor = processors.iterator();
+            iteProcessor = (processors != null) ? processors.iterator() : Collections.emptyIterator();
             return false;
         } else if (!hasNext) {
             return iteProcessor.hasNext();
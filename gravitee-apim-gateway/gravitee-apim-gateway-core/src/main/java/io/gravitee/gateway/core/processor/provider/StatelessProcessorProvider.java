@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.processor.provider;
+
+import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.StatelessProcessor;
+import io.gravitee.gateway.core.processor.StreamableProcessor;
+import java.util.function.Function;
+
+/**
+ * Provides a {@link StatelessProcessor} shared by all the requests.
+ *
+ * Chains built from a {@link ProcessorChainTemplate} directly call the shared processor. When used as a regular
+ * provider, the shared processor is wrapped into a lightweight processor holding the handlers of the request.
+ *
+ * @author GraviteeSource Team
+ */
+public class StatelessProcessorProvider<T, P extends Processor<T>> implements ProcessorProvider<T, P> {
+
+    private final StatelessProcessor<T> processor;
+    private final Function<Processor<T>, P> adapter;
+
+    private StatelessProcessorProvider(StatelessProcessor<T> processor, Function<Processor<T>, P> adapter) {
+        this.processor = processor;
+        this.adapter = adapter;
+    }
+
+    public static <T> StatelessProcessorProvider<T, Processor<T>> of(StatelessProcessor<T> processor) {
+        return new StatelessProcessorProvider<>(processor, Function.identity());
+    }
+
+    public static <T, S> StatelessProcessorProvider<T, StreamableProcessor<T, S>> streamable(StatelessProcessor<T> processor) {
+        return new StatelessProcessorProvider<>(processor, StreamableProcessor::toStreamable);
+    }
+
+    public StatelessProcessor<T> processor() {
+        return processor;
+    }
+
+    @Override
+    public P provide(T data) {
+        return adapter.apply(
+            new AbstractProcessor<T>() {
+                @Override
+                public void handle(T data) {
+                    processor.process(data);
+                    next.handle(data);
+                }
+            }
+        );
+    }
+}
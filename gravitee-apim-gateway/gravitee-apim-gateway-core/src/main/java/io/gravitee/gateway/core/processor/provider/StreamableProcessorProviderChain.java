@@ -15,9 +15,9 @@
  */
 package io.gravitee.gateway.core.processor.provider;
 
+import io.gravitee.gateway.core.processor.StatelessProcessor;
 import io.gravitee.gateway.core.processor.StreamableProcessor;
 import io.gravitee.gateway.core.processor.chain.AbstractStreamableProcessorChain;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -26,20 +26,32 @@ import java.util.List;
  */
 public class StreamableProcessorProviderChain<T, S> extends AbstractStreamableProcessorChain<T, S, StreamableProcessor<T, S>> {
 
-    private final Iterator<ProcessorProvider<T, StreamableProcessor<T, S>>> ite;
+    private final ProcessorChainTemplate<T, StreamableProcessor<T, S>> template;
+    private int index;
 
     public StreamableProcessorProviderChain(List<ProcessorProvider<T, StreamableProcessor<T, S>>> providers) {
-        this.ite = providers.iterator();
+        this(ProcessorChainTemplate.of(providers));
+    }
+
+    public StreamableProcessorProviderChain(ProcessorChainTemplate<T, StreamableProcessor<T, S>> template) {
+        this.template = template;
     }
 
     @Override
     protected StreamableProcessor<T, S> next(T data) {
-        return ite.next().provide(data);
+        final int step = index++;
+        final StatelessProcessor<T> statelessProcessor = template.processor(step);
+        if (statelessProcessor != null) {
+            statelessProcessor.process(data);
+            return null;
+        }
+
+        return template.provider(step).provide(data);
     }
 
     @Override
     public boolean hasNext() {
-        return ite.hasNext();
+        return index < template.size();
     }
 
     @Override
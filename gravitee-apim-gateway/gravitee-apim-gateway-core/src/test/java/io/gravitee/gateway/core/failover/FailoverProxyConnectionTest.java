@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.failover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.processor.ProcessorFailure;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.buffer.netty.PooledBufferImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FailoverProxyConnectionTest {
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private ProxyConnection proxyConnection;
+
+    @Mock
+    private ProxyResponse proxyResponse;
+
+    private final List<ProxyResponse> responses = new ArrayList<>();
+
+    private PooledBufferImpl buffer;
+
+    private FailoverProxyConnection connection;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final List<Buffer> replayed = new ArrayList<>();
+        final FailoverRequest failoverRequest = new FailoverRequest(request, -1);
+        failoverRequest.bodyHandler(replayed::add);
+        failoverRequest.endHandler(result -> {});
+
+        failoverRequest.resume();
+        final ArgumentCaptor<Handler<Buffer>> bodyHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(request).bodyHandler(bodyHandler.capture());
+        bodyHandler.getValue().handle(Buffer.buffer("hello"));
+        failoverRequest.resume();
+        buffer = (PooledBufferImpl) replayed.get(1);
+
+        connection = new FailoverProxyConnection(proxyConnection, proxyResponse, failoverRequest);
+        connection.responseHandler(responses::add);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReleaseBufferWhenResponseEnds() {
+        connection.sendResponse();
+
+        final List<Void> ends = new ArrayList<>();
+        responses.get(0).endHandler(ends::add);
+        final ArgumentCaptor<Handler<Void>> endHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(proxyResponse).endHandler(endHandler.capture());
+
+        assertEquals(1, buffer.refCnt());
+
+        endHandler.getValue().handle(null);
+
+        assertEquals(0, buffer.refCnt());
+        assertEquals(1, ends.size());
+    }
+
+    @Test
+    public void shouldReleaseBufferWhenResponseIsCancelled() {
+        connection.sendResponse();
+
+        responses.get(0).cancel();
+
+        assertEquals(0, buffer.refCnt());
+        verify(proxyResponse).cancel();
+    }
+
+    @Test
+    public void shouldReleaseBufferWhenConnectionIsCancelled() {
+        connection.cancel();
+
+        assertEquals(0, buffer.refCnt());
+        verify(proxyConnection).cancel();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReleaseBufferWhenConnectionFails() {
+        final List<Throwable> failures = new ArrayList<>();
+        connection.exceptionHandler(failures::add);
+        final ArgumentCaptor<Handler<Throwable>> exceptionHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(proxyConnection).exceptionHandler(exceptionHandler.capture());
+
+        final Exception failure = new Exception();
+        exceptionHandler.getValue().handle(failure);
+
+        assertEquals(0, buffer.refCnt());
+        assertSame(failure, failures.get(0));
+    }
+
+    @Test
+    public void shouldKeepProcessorFailures() {
+        final ProxyResponse failure = new FailureResponse();
+        connection = new FailoverProxyConnection(proxyConnection, failure, null);
+        connection.responseHandler(responses::add);
+
+        connection.sendResponse();
+
+        assertTrue(responses.get(0) instanceof ProcessorFailure);
+        assertEquals(504, ((ProcessorFailure) responses.get(0)).statusCode());
+    }
+
+    private static class FailureResponse implements ProxyResponse, ProcessorFailure {
+
+        @Override
+        public int status() {
+            return 504;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public ProxyResponse bodyHandler(Handler<Buffer> bodyHandler) {
+            return this;
+        }
+
+        @Override
+        public ProxyResponse endHandler(Handler<Void> endHandler) {
+            return this;
+        }
+
+        @Override
+        public int statusCode() {
+            return 504;
+        }
+
+        @Override
+        public String message() {
+            return "Gateway timeout";
+        }
+
+        @Override
+        public String key() {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return null;
+        }
+
+        @Override
+        public String contentType() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.failover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.buffer.netty.PooledBufferImpl;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FailoverRequestTest {
+
+    @Mock
+    private Request request;
+
+    private final List<String> chunks = new ArrayList<>();
+
+    private int ends;
+
+    @Before
+    public void setUp() {
+        chunks.clear();
+        ends = 0;
+    }
+
+    @Test
+    public void shouldReplayBodyOnRetry() {
+        final FailoverRequest failoverRequest = failoverRequest(10);
+
+        failoverRequest.resume();
+        send("hello", "world");
+
+        assertTrue(failoverRequest.replayable());
+
+        failoverRequest.resume();
+
+        verify(request, times(1)).resume();
+        assertEquals(3, chunks.size());
+        assertEquals("helloworld", chunks.get(2));
+        assertEquals(1, ends);
+    }
+
+    @Test
+    public void shouldNotBeReplayableWhenBodyExceedsMaxBufferSize() {
+        final FailoverRequest failoverRequest = failoverRequest(10);
+
+        failoverRequest.resume();
+        send("hello", "world", "!");
+
+        // The whole body is still sent to the first endpoint
+        assertEquals(3, chunks.size());
+        assertFalse(failoverRequest.replayable());
+
+        failoverRequest.resume();
+
+        // But a partial body is never replayed
+        assertEquals(3, chunks.size());
+        assertEquals(1, ends);
+    }
+
+    @Test
+    public void shouldBufferWholeBodyWithoutMaxBufferSize() {
+        final FailoverRequest failoverRequest = failoverRequest(-1);
+
+        failoverRequest.resume();
+        send("hello", "world", "!");
+
+        assertTrue(failoverRequest.replayable());
+
+        failoverRequest.resume();
+
+        assertEquals("helloworld!", chunks.get(3));
+    }
+
+    @Test
+    public void shouldReleaseBufferedBody() {
+        final List<Buffer> replayed = new ArrayList<>();
+        final FailoverRequest failoverRequest = new FailoverRequest(request, 10);
+        failoverRequest.bodyHandler(replayed::add);
+        failoverRequest.endHandler(result -> ends++);
+
+        failoverRequest.resume();
+        send("hello");
+        failoverRequest.resume();
+
+        final PooledBufferImpl buffer = (PooledBufferImpl) replayed.get(1);
+        assertEquals("hello", buffer.toString());
+        assertEquals(1, buffer.refCnt());
+
+        failoverRequest.releaseBuffer();
+        failoverRequest.releaseBuffer();
+
+        assertEquals(0, buffer.refCnt());
+    }
+
+    private FailoverRequest failoverRequest(long maxBufferSize) {
+        final FailoverRequest failoverRequest = new FailoverRequest(request, maxBufferSize);
+
+        failoverRequest.bodyHandler(chunk -> chunks.add(chunk.toString()));
+        failoverRequest.endHandler(result -> ends++);
+
+        return failoverRequest;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(String... contents) {
+        final ArgumentCaptor<Handler<Buffer>> bodyHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(request).bodyHandler(bodyHandler.capture());
+
+        for (String content : contents) {
+            bodyHandler.getValue().handle(Buffer.buffer(content));
+        }
+    }
+}
@@ -0,0 +1,515 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.common.util.LinkedMultiValueMap;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.api.stream.WriteStream;
+import io.gravitee.reporter.api.http.Metrics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class CoalescingInvokerTest {
+
+    private static final long MAX_BUFFER_SIZE = 16;
+
+    private Backend backend;
+
+    private CoalescingInvoker invoker;
+
+    @Before
+    public void setUp() {
+        backend = new Backend();
+        invoker = new CoalescingInvoker(backend, Collections.singletonList("X-Gravitee-Transaction-Id"), MAX_BUFFER_SIZE);
+    }
+
+    @Test
+    public void shouldCollapseIdenticalRequests() {
+        final List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            clients.add(invoke(HttpMethod.GET, "/books", "token"));
+        }
+
+        assertEquals(1, backend.requests.size());
+
+        backend.requests.get(0).respond(200, "hello ", "world");
+
+        for (Client client : clients) {
+            assertEquals(200, client.status);
+            assertEquals("hello world", client.body.toString());
+            assertTrue(client.ended);
+        }
+    }
+
+    @Test
+    public void shouldCollapseRequestsWithDifferentIgnoredHeaders() {
+        final Client first = invoke(HttpMethod.GET, "/books", headers("X-Gravitee-Transaction-Id", "first"), "app", false, true);
+        final Client second = invoke(HttpMethod.GET, "/books", headers("x-gravitee-transaction-id", "second"), "app", false, true);
+
+        assertEquals(1, backend.requests.size());
+
+        backend.requests.get(0).respond(200, "hello");
+        assertEquals("hello", first.body.toString());
+        assertEquals("hello", second.body.toString());
+    }
+
+    @Test
+    public void shouldNotCollapseRequestsWithDifferentHeaders() {
+        invoke(HttpMethod.GET, "/books", headers("X-Custom", "first"), "app", false, true);
+        invoke(HttpMethod.GET, "/books", headers("X-Custom", "second"), "app", false, true);
+        invoke(HttpMethod.GET, "/books", headers("X-Other", "first"), "app", false, true);
+
+        assertEquals(3, backend.requests.size());
+    }
+
+    @Test
+    public void shouldNotCollapseRequestsOfDifferentApplications() {
+        final Client first = invoke(HttpMethod.GET, "/books", headers("Authorization", "token"), "app", false, true);
+        final Client second = invoke(HttpMethod.GET, "/books", headers("Authorization", "token"), "other-app", false, true);
+
+        assertEquals(2, backend.requests.size());
+
+        backend.requests.get(0).respond(200, "first");
+        backend.requests.get(1).respond(200, "second");
+
+        assertEquals("first", first.body.toString());
+        assertEquals("second", second.body.toString());
+    }
+
+    @Test
+    public void shouldNotCollapseWebSocketRequests() {
+        invoke(HttpMethod.GET, "/books", headers("Authorization", "token"), "app", true, true);
+        invoke(HttpMethod.GET, "/books", headers("Authorization", "token"), "app", true, true);
+
+        assertEquals(2, backend.requests.size());
+    }
+
+    @Test
+    public void shouldNotCollapseRequestsWithDifferentAuthorizations() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "other-token");
+
+        assertEquals(2, backend.requests.size());
+
+        backend.requests.get(0).respond(200, "first");
+        backend.requests.get(1).respond(200, "second");
+
+        assertEquals("first", first.body.toString());
+        assertEquals("second", second.body.toString());
+    }
+
+    @Test
+    public void shouldNotCollapseRequestsWithDifferentPaths() {
+        invoke(HttpMethod.GET, "/books", "token");
+        invoke(HttpMethod.GET, "/authors", "token");
+
+        assertEquals(2, backend.requests.size());
+    }
+
+    @Test
+    public void shouldNotCollapsePostRequests() {
+        invoke(HttpMethod.POST, "/books", "token");
+        invoke(HttpMethod.POST, "/books", "token");
+
+        assertEquals(2, backend.requests.size());
+    }
+
+    @Test
+    public void shouldInvokeEndpointOnceResponseReceived() {
+        invoke(HttpMethod.GET, "/books", "token");
+        backend.requests.get(0).respond(200, "hello");
+
+        final Client client = invoke(HttpMethod.GET, "/books", "token");
+
+        assertEquals(2, backend.requests.size());
+        backend.requests.get(1).respond(200, "again");
+        assertEquals("again", client.body.toString());
+    }
+
+    @Test
+    public void shouldShareFailureWithAllRequests() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token");
+
+        final ProxyResponse failure = mock(ProxyResponse.class);
+        when(failure.connected()).thenReturn(false);
+        backend.requests.get(0).responseHandler.handle(failure);
+
+        assertSame(failure, first.response);
+        assertSame(failure, second.response);
+    }
+
+    @Test
+    public void shouldKeepEndpointRequestWhenLeadingRequestIsCancelled() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token");
+
+        first.connection.cancel();
+        final BackendRequest request = backend.requests.get(0);
+        assertFalse(request.cancelled);
+
+        request.respond(200, "hello");
+
+        assertNull(first.response);
+        assertEquals("hello", second.body.toString());
+    }
+
+    @Test
+    public void shouldCancelEndpointRequestWhenAllRequestsAreCancelled() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token");
+
+        first.connection.cancel();
+        second.connection.cancel();
+
+        assertTrue(backend.requests.get(0).cancelled);
+    }
+
+    @Test
+    public void shouldPauseEndpointResponseWhileARequestIsPaused() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token");
+
+        final BackendRequest request = backend.requests.get(0);
+        request.response(200);
+        assertFalse(request.response.paused);
+
+        second.response.pause();
+        assertTrue(request.response.paused);
+
+        request.response.send("hello");
+        assertEquals("hello", first.body.toString());
+        assertEquals("", second.body.toString());
+
+        second.response.resume();
+        assertFalse(request.response.paused);
+        assertEquals("hello", second.body.toString());
+    }
+
+    @Test
+    public void shouldConnectRequestsOnceLeadingRequestIsConnected() {
+        backend.connected = false;
+
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token");
+        assertNull(first.connection);
+        assertNull(second.connection);
+
+        backend.requests.get(0).connect("http://backend/books");
+
+        assertNotNull(first.connection);
+        assertNotNull(second.connection);
+        assertEquals("http://backend/books", second.metrics.getEndpoint());
+
+        final Client third = invoke(HttpMethod.GET, "/books", "token");
+        assertNotNull(third.connection);
+        assertEquals("http://backend/books", third.metrics.getEndpoint());
+        assertEquals(1, backend.requests.size());
+    }
+
+    @Test
+    public void shouldFailWhenTooManyChunksAreKept() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token", false);
+
+        final BackendRequest request = backend.requests.get(0);
+        request.response(200);
+        request.response.chunk("0123456789");
+        assertNull(second.failure);
+
+        // The second request has not started, it fails once the chunks kept exceed the limit
+        request.response.chunk("0123456789");
+        assertNotNull(second.failure);
+
+        request.response.end();
+        assertEquals("01234567890123456789", first.body.toString());
+        assertTrue(first.ended);
+
+        // The response headers have already been given to the second request, no other response is read for it
+        second.response.resume();
+        assertEquals(1, backend.requests.size());
+        assertEquals("", second.body.toString());
+        assertFalse(second.ended);
+    }
+
+    @Test
+    public void shouldCancelEndpointRequestWhenLastSharingRequestFails() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token", false);
+
+        final BackendRequest request = backend.requests.get(0);
+        request.response(200);
+        request.response.chunk("01234567890123456789");
+
+        assertNotNull(first.failure);
+        assertTrue(request.response.cancelled);
+    }
+
+    @Test
+    public void shouldKeepChunksWhileBelowLimit() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token", false);
+
+        backend.requests.get(0).respond(200, "hello ", "world");
+        assertEquals("hello world", first.body.toString());
+        assertEquals("", second.body.toString());
+
+        second.response.resume();
+        assertEquals(1, backend.requests.size());
+        assertEquals("hello world", second.body.toString());
+        assertTrue(second.ended);
+    }
+
+    @Test
+    public void shouldCancelEndpointRequestWhenNoRequestSharesTheResponse() {
+        final Client first = invoke(HttpMethod.GET, "/books", "token");
+        final Client second = invoke(HttpMethod.GET, "/books", "token", false);
+
+        final BackendRequest request = backend.requests.get(0);
+        request.response(200);
+        request.response.chunk("01234567890123456789");
+        assertFalse(request.response.cancelled);
+
+        first.connection.cancel();
+        assertTrue(request.response.cancelled);
+    }
+
+    private Client invoke(HttpMethod method, String path, String authorization) {
+        return invoke(method, path, authorization, true);
+    }
+
+    private Client invoke(HttpMethod method, String path, String authorization, boolean resume) {
+        final HttpHeaders headers = headers("Authorization", authorization);
+        headers.set("X-Gravitee-Transaction-Id", UUID.randomUUID().toString());
+        return invoke(method, path, headers, null, false, resume);
+    }
+
+    private Client invoke(HttpMethod method, String path, HttpHeaders headers, String application, boolean webSocket, boolean resume) {
+        final Request request = mock(Request.class);
+        when(request.method()).thenReturn(method);
+        when(request.path()).thenReturn(path);
+        when(request.headers()).thenReturn(headers);
+        when(request.parameters()).thenReturn(new LinkedMultiValueMap<>());
+        when(request.isWebSocket()).thenReturn(webSocket);
+
+        final Client client = new Client(resume);
+        when(request.metrics()).thenReturn(client.metrics);
+
+        final ExecutionContext context = mock(ExecutionContext.class);
+        when(context.request()).thenReturn(request);
+        when(context.getAttribute(ExecutionContext.ATTR_APPLICATION)).thenReturn(application);
+
+        invoker.invoke(context, mock(ReadStream.class, RETURNS_SELF), client);
+        return client;
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(name, value);
+        return headers;
+    }
+
+    /**
+     * An incoming request, handling the response as the API reactor does.
+     */
+    private static class Client implements Handler<ProxyConnection> {
+
+        private final Metrics metrics = Metrics.on(System.currentTimeMillis()).build();
+        private final StringBuilder body = new StringBuilder();
+        private final boolean resume;
+        private ProxyConnection connection;
+        private ProxyResponse response;
+        private int status;
+        private boolean ended;
+        private Throwable failure;
+
+        private Client(boolean resume) {
+            this.resume = resume;
+        }
+
+        @Override
+        public void handle(ProxyConnection connection) {
+            this.connection = connection;
+            connection.exceptionHandler(throwable -> failure = throwable);
+            connection.responseHandler(
+                response -> {
+                    this.response = response;
+                    this.status = response.status();
+
+                    if (response.connected()) {
+                        response.bodyHandler(chunk -> body.append(chunk.toString())).endHandler(aVoid -> ended = true);
+                        if (resume) {
+                            response.resume();
+                        }
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * A mock backend, keeping track of the requests it receives.
+     */
+    private static class Backend implements Invoker {
+
+        private final List<BackendRequest> requests = new ArrayList<>();
+        private boolean connected = true;
+
+        @Override
+        public void invoke(ExecutionContext context, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler) {
+            final BackendRequest request = new BackendRequest(context, connectionHandler);
+            requests.add(request);
+            if (connected) {
+                request.connect("http://backend" + context.request().path());
+            }
+        }
+    }
+
+    private static class BackendRequest implements ProxyConnection {
+
+        private final ExecutionContext context;
+        private final Handler<ProxyConnection> connectionHandler;
+        private Handler<ProxyResponse> responseHandler;
+        private BackendResponse response;
+        private boolean cancelled;
+
+        private BackendRequest(ExecutionContext context, Handler<ProxyConnection> connectionHandler) {
+            this.context = context;
+            this.connectionHandler = connectionHandler;
+        }
+
+        private void connect(String endpoint) {
+            context.request().metrics().setEndpoint(endpoint);
+            connectionHandler.handle(this);
+        }
+
+        private void response(int status) {
+            response = new BackendResponse(status);
+            responseHandler.handle(response);
+        }
+
+        private void respond(int status, String... chunks) {
+            response(status);
+            response.send(chunks);
+        }
+
+        @Override
+        public ProxyConnection responseHandler(Handler<ProxyResponse> responseHandler) {
+            this.responseHandler = responseHandler;
+            return this;
+        }
+
+        @Override
+        public ProxyConnection cancel() {
+            cancelled = true;
+            return this;
+        }
+
+        @Override
+        public WriteStream<Buffer> write(Buffer content) {
+            return this;
+        }
+
+        @Override
+        public void end() {}
+    }
+
+    private static class BackendResponse implements ProxyResponse {
+
+        private final int status;
+        private final HttpHeaders headers = new HttpHeaders();
+        private Handler<Buffer> bodyHandler;
+        private Handler<Void> endHandler;
+        private boolean paused = true;
+        private boolean cancelled;
+
+        private BackendResponse(int status) {
+            this.status = status;
+        }
+
+        private void send(String... chunks) {
+            for (String chunk : chunks) {
+                chunk(chunk);
+            }
+            end();
+        }
+
+        private void chunk(String chunk) {
+            bodyHandler.handle(Buffer.buffer(chunk));
+        }
+
+        private void end() {
+            endHandler.handle(null);
+        }
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+            this.bodyHandler = bodyHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            paused = true;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            paused = false;
+            return this;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
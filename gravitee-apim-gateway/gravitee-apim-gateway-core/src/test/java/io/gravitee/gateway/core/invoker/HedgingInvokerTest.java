@@ -0,0 +1,331 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.definition.model.Logging;
+import io.gravitee.definition.model.LoggingContent;
+import io.gravitee.definition.model.LoggingMode;
+import io.gravitee.definition.model.LoggingScope;
+import io.gravitee.gateway.api.Connector;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.endpoint.resolver.EndpointResolver;
+import io.gravitee.gateway.api.endpoint.resolver.ProxyEndpoint;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyRequest;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.core.logging.LoggingContext;
+import io.gravitee.reporter.api.http.Metrics;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class HedgingInvokerTest {
+
+    @Mock
+    private Vertx vertx;
+
+    @Mock
+    private EndpointResolver endpointResolver;
+
+    @Mock
+    private ExecutionContext context;
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private ProxyRequest proxyRequest;
+
+    @Mock
+    private ProxyEndpoint primaryEndpoint;
+
+    @Mock
+    private ProxyEndpoint secondaryEndpoint;
+
+    @Mock
+    private Connector secondaryConnector;
+
+    @Mock
+    private ProxyConnection primaryConnection;
+
+    @Mock
+    private ProxyConnection secondaryConnection;
+
+    private final RecordedLatency latency = warmedUpLatency();
+
+    @InjectMocks
+    private HedgingInvoker invoker = new HedgingInvoker(latency, 1);
+
+    @InjectMocks
+    private HedgingInvoker invokerWithoutHedgeBudget = new HedgingInvoker(warmedUpLatency(), 0);
+
+    private final List<ProxyResponse> responses = new ArrayList<>();
+
+    private io.vertx.core.Handler<Long> timer;
+
+    @Before
+    public void setUp() {
+        when(context.request()).thenReturn(request);
+        when(request.method()).thenReturn(HttpMethod.GET);
+        when(proxyRequest.method()).thenReturn(HttpMethod.GET);
+
+        when(primaryEndpoint.name()).thenReturn("primary");
+        when(secondaryEndpoint.name()).thenReturn("secondary");
+        when(secondaryEndpoint.available()).thenReturn(true);
+        when(secondaryEndpoint.connector()).thenReturn(secondaryConnector);
+        when(secondaryEndpoint.createProxyRequest(any(), any())).thenReturn(mock(ProxyRequest.class));
+        when(endpointResolver.resolve(any())).thenReturn(secondaryEndpoint);
+
+        doAnswer(
+                invocation -> {
+                    invocation.<Handler<ProxyConnection>>getArgument(2).handle(secondaryConnection);
+                    return null;
+                }
+            )
+            .when(secondaryConnector)
+            .request(any(), any(), any());
+
+        when(vertx.setTimer(anyLong(), any()))
+            .thenAnswer(
+                invocation -> {
+                    timer = invocation.getArgument(1);
+                    return 1L;
+                }
+            );
+    }
+
+    @Test
+    public void shouldSendResponseOfHedgedRequest() {
+        invoke();
+        timer.handle(1L);
+
+        verify(secondaryConnection).end();
+
+        final ProxyResponse secondaryResponse = response();
+        responseHandler(secondaryConnection).handle(secondaryResponse);
+
+        assertEquals(1, responses.size());
+        assertSame(secondaryResponse, responses.get(0));
+        verify(primaryConnection).cancel();
+
+        final ProxyResponse primaryResponse = response();
+        responseHandler(primaryConnection).handle(primaryResponse);
+
+        assertEquals(1, responses.size());
+        verify(primaryResponse).cancel();
+    }
+
+    @Test
+    public void shouldCancelHedgedRequestWhenPrimaryResponds() {
+        invoke();
+        timer.handle(1L);
+
+        final ProxyResponse primaryResponse = response();
+        responseHandler(primaryConnection).handle(primaryResponse);
+
+        assertEquals(1, responses.size());
+        assertSame(primaryResponse, responses.get(0));
+        verify(secondaryConnection).cancel();
+        verify(vertx, never()).cancelTimer(anyLong());
+    }
+
+    @Test
+    public void shouldCancelTimerWhenPrimaryResponds() {
+        invoke();
+
+        responseHandler(primaryConnection).handle(response());
+
+        verify(vertx).cancelTimer(1L);
+    }
+
+    @Test
+    public void shouldWaitForHedgedRequestWhenPrimaryFails() {
+        invoke();
+        timer.handle(1L);
+
+        final ProxyResponse failure = response();
+        when(failure.connected()).thenReturn(false);
+        responseHandler(primaryConnection).handle(failure);
+
+        assertTrue(responses.isEmpty());
+
+        final ProxyResponse secondaryResponse = response();
+        responseHandler(secondaryConnection).handle(secondaryResponse);
+
+        assertEquals(1, responses.size());
+        assertSame(secondaryResponse, responses.get(0));
+    }
+
+    @Test
+    public void shouldNotHedgeBeyondMaxRate() {
+        invoke(invokerWithoutHedgeBudget);
+        timer.handle(1L);
+
+        verify(secondaryConnector, never()).request(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotHedgeRequestWithoutEnd() {
+        final ProxyConnection connection = invoker.decorate(primaryEndpoint, proxyRequest, context, primaryConnection);
+        connection.responseHandler(responses::add);
+        timer.handle(1L);
+
+        verify(secondaryConnector, never()).request(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotHedgePostRequest() {
+        when(proxyRequest.method()).thenReturn(HttpMethod.POST);
+
+        assertSame(primaryConnection, invoker.decorate(primaryEndpoint, proxyRequest, context, primaryConnection));
+        verify(vertx, never()).setTimer(anyLong(), any());
+    }
+
+    @Test
+    public void shouldRecordLatencyOfPrimaryResponse() {
+        invoke();
+        timer.handle(1L);
+
+        responseHandler(primaryConnection).handle(response());
+
+        assertEquals(1, latency.samples.size());
+    }
+
+    @Test
+    public void shouldRecordElapsedTimeOfPrimaryWhenHedgedResponseWins() {
+        final long start = System.nanoTime();
+        invoke();
+        timer.handle(1L);
+
+        responseHandler(secondaryConnection).handle(response());
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(1, latency.samples.size());
+        assertTrue(latency.samples.get(0) <= elapsed);
+    }
+
+    @Test
+    public void shouldNotRecordLatencyOfFailedResponse() {
+        invoke();
+        timer.handle(1L);
+
+        final ProxyResponse failure = response();
+        when(failure.connected()).thenReturn(false);
+        responseHandler(primaryConnection).handle(failure);
+        responseHandler(secondaryConnection).handle(failure);
+
+        assertTrue(latency.samples.isEmpty());
+    }
+
+    @Test
+    public void shouldLogWinningResponse() {
+        final Logging logging = new Logging();
+        logging.setMode(LoggingMode.PROXY);
+        logging.setScope(LoggingScope.NONE);
+        logging.setContent(LoggingContent.NONE);
+        final LoggingContext loggingContext = new LoggingContext(logging);
+        loggingContext.setMaxSizeLogMessage(-1);
+        when(context.getAttribute(LoggingContext.LOGGING_ATTRIBUTE)).thenReturn(loggingContext);
+
+        final Metrics metrics = Metrics.on(System.currentTimeMillis()).build();
+        when(request.metrics()).thenReturn(metrics);
+
+        invoke();
+        timer.handle(1L);
+
+        final ProxyResponse secondaryResponse = response();
+        when(secondaryResponse.status()).thenReturn(200);
+        responseHandler(secondaryConnection).handle(secondaryResponse);
+
+        final ProxyResponse primaryResponse = response();
+        when(primaryResponse.status()).thenReturn(500);
+        responseHandler(primaryConnection).handle(primaryResponse);
+
+        assertEquals(1, responses.size());
+        assertEquals(200, responses.get(0).status());
+        assertEquals(200, metrics.getLog().getProxyResponse().getStatus());
+        verify(primaryResponse).cancel();
+    }
+
+    private void invoke() {
+        invoke(invoker);
+    }
+
+    private void invoke(HedgingInvoker invoker) {
+        final ProxyConnection connection = invoker.decorate(primaryEndpoint, proxyRequest, context, primaryConnection);
+        connection.responseHandler(responses::add);
+        connection.end();
+    }
+
+    private static Handler<ProxyResponse> responseHandler(ProxyConnection connection) {
+        final ArgumentCaptor<Handler<ProxyResponse>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(connection).responseHandler(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ProxyResponse response() {
+        final ProxyResponse response = mock(ProxyResponse.class);
+        when(response.connected()).thenReturn(true);
+        return response;
+    }
+
+    private static RecordedLatency warmedUpLatency() {
+        final RecordedLatency latency = new RecordedLatency();
+        for (int i = 0; i < 10; i++) {
+            latency.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        latency.samples.clear();
+        return latency;
+    }
+
+    /**
+     * A latency percentile keeping track of the samples it records.
+     */
+    private static class RecordedLatency extends LatencyPercentile {
+
+        private final List<Long> samples = new ArrayList<>();
+
+        private RecordedLatency() {
+            super(95, 10);
+        }
+
+        @Override
+        void record(long latency) {
+            samples.add(latency);
+            super.record(latency);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class LatencyPercentileTest {
+
+    @Test
+    public void shouldNotComputePercentileUntilWindowIsFull() {
+        final LatencyPercentile latency = new LatencyPercentile(90, 10);
+
+        for (int i = 1; i < 10; i++) {
+            latency.record(i);
+        }
+
+        assertEquals(-1, latency.value());
+    }
+
+    @Test
+    public void shouldComputePercentileOfLatestSamples() {
+        final LatencyPercentile latency = new LatencyPercentile(90, 10);
+
+        for (int i = 1; i <= 20; i++) {
+            latency.record(i);
+        }
+
+        assertEquals(19, latency.value());
+    }
+
+    @Test
+    public void shouldRecordSamplesFromSeveralThreads() throws InterruptedException {
+        final LatencyPercentile latency = new LatencyPercentile(50, 100);
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            final Thread thread = new Thread(
+                () -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        latency.record(42);
+                    }
+                }
+            );
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertEquals(42, latency.value());
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class LatencyAwareLoadBalancerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Service time of each simulated backend: the last one is 8 times slower than the others.
+     */
+    private static final long[] SERVICE_TIMES = { MS, MS, MS, 8 * MS };
+
+    /**
+     * A request is received every 0.5ms: the slow backend can not handle a quarter of them.
+     */
+    private static final long INTERVAL = MS / 2;
+
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    public void shouldSelectLeastLoadedOfTwoEndpoints() {
+        final Endpoint idle = endpoint("idle");
+        final Endpoint busy = endpoint("busy");
+        ((LoadAwareEndpoint) busy).load().start(0);
+
+        final LoadBalancer loadBalancer = new LeastRequestsLoadBalancer(Arrays.asList(idle, busy), () -> 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(idle, loadBalancer.next());
+        }
+    }
+
+    @Test
+    public void shouldPenalizeSlowEndpoint() {
+        final Endpoint fast = endpoint("fast");
+        final Endpoint slow = endpoint("slow");
+        final EndpointLoad fastLoad = ((LoadAwareEndpoint) fast).load();
+        final EndpointLoad slowLoad = ((LoadAwareEndpoint) slow).load();
+        fastLoad.end(fastLoad.start(0), MS);
+        slowLoad.end(slowLoad.start(0), 10 * MS);
+
+        final LoadBalancer loadBalancer = new PeakEwmaLoadBalancer(Arrays.asList(fast, slow), () -> 10 * MS);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(fast, loadBalancer.next());
+        }
+    }
+
+    @Test
+    public void shouldDecayResponseTime() {
+        final EndpointLoad load = new EndpointLoad();
+        load.end(load.start(0), 10 * MS);
+
+        assertEquals(10 * MS, load.cost(10 * MS), 1);
+        assertTrue(load.cost(10 * MS + 5 * EndpointLoad.DECAY_NANOS) < MS);
+    }
+
+    @Test
+    public void shouldKeepResponseTimeConsistentUnderConcurrentResponses() throws InterruptedException {
+        final EndpointLoad load = new EndpointLoad();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            final Thread thread = new Thread(
+                () -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        load.end(load.start(0), 10 * MS);
+                    }
+                }
+            );
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertEquals(0, load.inFlight());
+        assertEquals(10 * MS, load.cost(10 * MS), 1);
+    }
+
+    @Test
+    public void shouldLowerTailLatencyThanRoundRobin() {
+        final long roundRobin = p99((endpoints, clock) -> new RoundRobinLoadBalancer(endpoints));
+        final long leastRequests = p99(LeastRequestsLoadBalancer::new);
+        final long peakEwma = p99(PeakEwmaLoadBalancer::new);
+
+        assertTrue("least-requests p99 " + leastRequests + " vs round-robin p99 " + roundRobin, leastRequests * 10 < roundRobin);
+        assertTrue("peak-ewma p99 " + peakEwma + " vs round-robin p99 " + roundRobin, peakEwma * 10 < roundRobin);
+    }
+
+    /**
+     * Simulate backends processing their requests one at a time, in their arrival order, with a virtual clock.
+     *
+     * @return the 99th percentile of the response times.
+     */
+    private static long p99(BiFunction<List<Endpoint>, LongSupplier, LoadBalancer> factory) {
+        final long[] now = { 0 };
+        final List<Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < SERVICE_TIMES.length; i++) {
+            endpoints.add(endpoint("endpoint-" + i));
+        }
+        final LoadBalancer loadBalancer = factory.apply(endpoints, () -> now[0]);
+
+        final long[] availableAt = new long[SERVICE_TIMES.length];
+        // { end time, endpoint, start time }
+        final PriorityQueue<long[]> responses = new PriorityQueue<>(Comparator.comparingLong(response -> response[0]));
+        final long[] latencies = new long[REQUESTS];
+
+        for (int i = 0; i < REQUESTS; i++) {
+            now[0] = i * INTERVAL;
+            while (!responses.isEmpty() && responses.peek()[0] <= now[0]) {
+                final long[] response = responses.poll();
+                load(endpoints.get((int) response[1])).end(response[2], response[0]);
+            }
+
+            final int index = endpoints.indexOf(loadBalancer.next());
+            final long start = load(endpoints.get(index)).start(now[0]);
+            final long end = Math.max(now[0], availableAt[index]) + SERVICE_TIMES[index];
+            availableAt[index] = end;
+            responses.add(new long[] { end, index, start });
+            latencies[i] = end - start;
+        }
+
+        Arrays.sort(latencies);
+        return latencies[(int) (REQUESTS * 0.99)];
+    }
+
+    private static EndpointLoad load(Endpoint endpoint) {
+        return ((LoadAwareEndpoint) endpoint).load();
+    }
+
+    private static Endpoint endpoint(String name) {
+        final LoadAwareEndpoint endpoint = mock(LoadAwareEndpoint.class);
+        final EndpointLoad load = new EndpointLoad();
+        when(endpoint.name()).thenReturn(name);
+        when(endpoint.primary()).thenReturn(true);
+        when(endpoint.load()).thenReturn(load);
+        return endpoint;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Select endpoints from a single load balancer shared by several threads, as done by the event-loops of the gateway
+ * (<code>http.instances</code>) for an API.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class LoadBalancerBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] { 1, 2, 4, 8 }) {
+            Options opt = new OptionsBuilder().include(LoadBalancerBenchmark.class.getSimpleName()).threads(threads).build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({ "ROUND_ROBIN", "RANDOM", "WEIGHTED_ROUND_ROBIN", "WEIGHTED_RANDOM" })
+    private String type;
+
+    @Param({ "4" })
+    private int endpoints;
+
+    private LoadBalancerStrategy loadBalancer;
+
+    @Setup
+    public void setup() {
+        final List<Endpoint> list = new ArrayList<>();
+        for (int i = 0; i < endpoints; i++) {
+            final Endpoint endpoint = mock(Endpoint.class);
+            when(endpoint.name()).thenReturn("endpoint-" + i);
+            when(endpoint.primary()).thenReturn(true);
+            when(endpoint.weight()).thenReturn(i + 1);
+            list.add(endpoint);
+        }
+
+        switch (type) {
+            case "RANDOM":
+                loadBalancer = new RandomLoadBalancer(list);
+                break;
+            case "WEIGHTED_ROUND_ROBIN":
+                loadBalancer = new WeightedRoundRobinLoadBalancer(list);
+                break;
+            case "WEIGHTED_RANDOM":
+                loadBalancer = new WeightedRandomLoadBalancer(list);
+                break;
+            default:
+                loadBalancer = new RoundRobinLoadBalancer(list);
+        }
+    }
+
+    @Benchmark
+    public Endpoint bench_next() {
+        return loadBalancer.next();
+    }
+}
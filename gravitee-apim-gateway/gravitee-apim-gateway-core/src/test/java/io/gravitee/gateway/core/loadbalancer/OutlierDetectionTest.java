@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class OutlierDetectionTest {
+
+    private static final long EJECTION_TIME = 1000;
+
+    private final long[] now = { 0 };
+
+    private Endpoint first;
+    private Endpoint second;
+    private LoadBalancer loadBalancer;
+
+    @Before
+    public void setUp() {
+        first = endpoint("first", true);
+        second = endpoint("second", true);
+        loadBalancer = new RoundRobinLoadBalancer(Arrays.asList(first, second));
+        loadBalancer.setOutlierDetection(new OutlierDetection(3, EJECTION_TIME, 4 * EJECTION_TIME, () -> now[0]));
+    }
+
+    @Test
+    public void shouldEjectEndpointAfterConsecutiveFailures() {
+        failRequests(first, 3);
+
+        for (int i = 0; i < 4; i++) {
+            assertSame(second, loadBalancer.next());
+        }
+    }
+
+    @Test
+    public void shouldNotEjectEndpointWithSuccesses() {
+        failRequests(first, 2);
+        load(first).success();
+        failRequests(first, 2);
+
+        assertSame(first, loadBalancer.next());
+        assertSame(second, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldReinstateEndpointAfterEjectionTime() {
+        failRequests(first, 3);
+        assertSame(second, loadBalancer.next());
+        assertSame(second, loadBalancer.next());
+
+        now[0] = EJECTION_TIME;
+
+        assertSame(first, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldDoubleEjectionTimeOfConsecutiveEjections() {
+        failRequests(first, 3);
+        assertSame(second, loadBalancer.next());
+
+        now[0] = EJECTION_TIME;
+        failRequests(first, 3);
+        assertSame(second, loadBalancer.next());
+
+        now[0] = 2 * EJECTION_TIME;
+        assertSame(second, loadBalancer.next());
+        assertSame(second, loadBalancer.next());
+
+        now[0] = 3 * EJECTION_TIME;
+        assertSame(first, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldSelectEjectedEndpointWhenAllAreEjected() {
+        failRequests(first, 3);
+        failRequests(second, 3);
+
+        assertNotNull(loadBalancer.next());
+    }
+
+    @Test
+    public void shouldSelectBackupEndpointWhenAllAreEjected() {
+        final Endpoint backup = endpoint("backup", false);
+        loadBalancer.postAdd(backup);
+
+        failRequests(first, 3);
+        failRequests(second, 3);
+
+        assertSame(backup, loadBalancer.next());
+    }
+
+    private static void failRequests(Endpoint endpoint, int failures) {
+        for (int i = 0; i < failures; i++) {
+            load(endpoint).failure();
+        }
+    }
+
+    private static EndpointLoad load(Endpoint endpoint) {
+        return ((LoadAwareEndpoint) endpoint).load();
+    }
+
+    private static Endpoint endpoint(String name, boolean primary) {
+        final LoadAwareEndpoint endpoint = mock(LoadAwareEndpoint.class);
+        final EndpointLoad load = new EndpointLoad();
+        when(endpoint.name()).thenReturn(name);
+        when(endpoint.primary()).thenReturn(primary);
+        when(endpoint.load()).thenReturn(load);
+        return endpoint;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class WeightedRoundRobinLoadBalancerTest {
+
+    @Test
+    public void shouldInterleaveEndpointsByWeight() {
+        final Endpoint first = endpoint("first", 3, true);
+        final Endpoint second = endpoint("second", 7, true);
+        final LoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(Arrays.asList(first, second));
+
+        final List<Endpoint> selected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            selected.add(loadBalancer.next());
+        }
+
+        final List<Endpoint> cycle = Arrays.asList(first, second, first, second, first, second, second, second, second, second);
+        assertEquals(cycle, selected.subList(0, 10));
+        assertEquals(cycle, selected.subList(10, 20));
+    }
+
+    @Test
+    public void shouldSkipUnavailableEndpoint() {
+        final Endpoint first = endpoint("first", 3, true);
+        final Endpoint second = endpoint("second", 7, true);
+        final LoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(Arrays.asList(first, second));
+
+        loadBalancer.onAvailabilityChange(second, false);
+        for (int i = 0; i < 5; i++) {
+            assertSame(first, loadBalancer.next());
+        }
+
+        loadBalancer.onAvailabilityChange(second, true);
+        assertSame(first, loadBalancer.next());
+        assertSame(second, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldBoundCycleOfCoprimeWeights() {
+        final Endpoint first = endpoint("first", 1, true);
+        final Endpoint second = endpoint("second", 1_000_000, true);
+        final LoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(Arrays.asList(first, second));
+
+        int firstCount = 0;
+        for (int i = 0; i < WeightedRoundRobinLoadBalancer.MAX_CYCLE_LENGTH; i++) {
+            if (loadBalancer.next() == first) {
+                firstCount++;
+            }
+        }
+
+        assertEquals(1, firstCount);
+        assertSame(first, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldNotOverflowWithLargeWeights() {
+        final Endpoint first = endpoint("first", Integer.MAX_VALUE, true);
+        final Endpoint second = endpoint("second", Integer.MAX_VALUE - 1, true);
+        final Endpoint third = endpoint("third", Integer.MAX_VALUE / 2, true);
+
+        final int[] weights = WeightedRoundRobinLoadBalancer.boundedWeights(Arrays.asList(first, second, third));
+
+        assertEquals(409, weights[0]);
+        assertEquals(409, weights[1]);
+        assertEquals(204, weights[2]);
+
+        final LoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(Arrays.asList(first, second, third));
+        assertSame(first, loadBalancer.next());
+        assertSame(second, loadBalancer.next());
+        assertSame(third, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldSelectBackupEndpointWhenNoPrimaryIsAvailable() {
+        final Endpoint primary = endpoint("primary", 1, true);
+        final Endpoint backup = endpoint("backup", 1, false);
+        final LoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(Arrays.asList(primary, backup));
+
+        loadBalancer.onAvailabilityChange(primary, false);
+
+        assertSame(backup, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldRoundRobinWhenNoEndpointHasWeight() {
+        final Endpoint first = endpoint("first", 0, true);
+        final Endpoint second = endpoint("second", 0, true);
+        final LoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(Arrays.asList(first, second));
+
+        assertSame(first, loadBalancer.next());
+        assertSame(second, loadBalancer.next());
+        assertSame(first, loadBalancer.next());
+    }
+
+    private static Endpoint endpoint(String name, int weight, boolean primary) {
+        final Endpoint endpoint = mock(Endpoint.class);
+        when(endpoint.name()).thenReturn(name);
+        when(endpoint.weight()).thenReturn(weight);
+        when(endpoint.primary()).thenReturn(primary);
+        return endpoint;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PathTemplateMatcherTest {
+
+    private PathTemplateMatcher<String> matcher;
+
+    @Before
+    public void setUp() {
+        matcher = new PathTemplateMatcher<>();
+
+        register("/products");
+        register("/products/special");
+        register("/products/:productId");
+        register("/products/:productId/items");
+        register("/[0-9,;]+");
+    }
+
+    @Test
+    public void shouldMatchPrefix_deepestPath() {
+        assertEquals("/products/:productId/items", matcher.matchPrefix("/products/12/items/34"));
+        assertEquals("/products/:productId", matcher.matchPrefix("/products/12/other"));
+        assertEquals("/products", matcher.matchPrefix("/products"));
+        assertEquals("/products", matcher.matchPrefix("/products/"));
+    }
+
+    @Test
+    public void shouldMatchPrefix_firstRegisteredOnSameDepth() {
+        assertEquals("/products/special", matcher.matchPrefix("/products/special"));
+
+        matcher = new PathTemplateMatcher<>();
+        register("/stores/:storeId");
+        register("/stores/main");
+
+        assertEquals("/stores/:storeId", matcher.matchPrefix("/stores/main"));
+    }
+
+    @Test
+    public void shouldMatchPrefix_parameterSpanningSegments() {
+        assertEquals("/products/:productId/items", matcher.matchPrefix("/products/12/34/items"));
+        assertEquals("/products/:productId/items", matcher.matchPrefix("/products/12//items/56"));
+    }
+
+    @Test
+    public void shouldMatchPrefix_regexSegment() {
+        assertEquals("/[0-9,;]+", matcher.matchPrefix("/2124;2125/sub"));
+    }
+
+    @Test
+    public void shouldNotMatchPrefix_unknownPath() {
+        assertNull(matcher.matchPrefix("/stores"));
+        assertNull(matcher.matchPrefix("/Products"));
+        assertNull(matcher.matchPrefix("/product"));
+    }
+
+    @Test
+    public void shouldMatchPrefix_lastSegmentPrefix() {
+        assertEquals("/products", matcher.matchPrefix("/productsAndMore/12/items"));
+        assertEquals("/products/:productId/items", matcher.matchPrefix("/products/12/itemsAndMore"));
+        assertEquals("/products/special", matcher.matchPrefix("/products/specialOffer"));
+    }
+
+    @Test
+    public void shouldMatchPrefix_root() {
+        register("/");
+
+        assertEquals("/", matcher.matchPrefix("/stores"));
+        assertEquals("/", matcher.matchPrefix("/"));
+    }
+
+    @Test
+    public void shouldMatch_wholePath() {
+        assertEquals("/products/:productId", matcher.match("/products/12"));
+        assertEquals("/products/:productId", matcher.match("/products/12/"));
+        assertEquals("/products/:productId/items", matcher.match("/products/12/items"));
+        assertEquals("/products", matcher.match("/products/"));
+    }
+
+    @Test
+    public void shouldMatch_fewestParameters() {
+        assertEquals("/products/special", matcher.match("/products/special/"));
+    }
+
+    @Test
+    public void shouldMatch_firstRegisteredOnSameParameters() {
+        matcher = new PathTemplateMatcher<>();
+        register("/stores/:storeId/orders");
+        register("/stores/main/:orderId");
+
+        assertEquals("/stores/:storeId/orders", matcher.match("/stores/main/orders"));
+    }
+
+    @Test
+    public void shouldMatch_emptyParameter() {
+        matcher = new PathTemplateMatcher<>();
+        register("/stores/:storeId");
+        register("/stores/:storeId/orders");
+
+        assertEquals("/stores/:storeId", matcher.match("/stores"));
+        assertEquals("/stores/:storeId", matcher.match("/stores/"));
+        assertEquals("/stores/:storeId/orders", matcher.match("/stores//orders"));
+    }
+
+    @Test
+    public void shouldMatch_emptySegment() {
+        matcher = new PathTemplateMatcher<>();
+        register("/stores/:storeId/");
+
+        assertEquals("/stores/:storeId/", matcher.match("/stores/12"));
+        assertNull(matcher.match("/stores/"));
+        assertEquals("/stores/:storeId/", matcher.matchPrefix("/stores/12"));
+    }
+
+    @Test
+    public void shouldNotMatch_parameterSpanningSegments() {
+        assertNull(matcher.match("/products/12/34/items"));
+    }
+
+    @Test
+    public void shouldNotMatch_longerPath() {
+        assertNull(matcher.match("/products/12/other"));
+        assertNull(matcher.match("/stores"));
+    }
+
+    private void register(String template) {
+        matcher.register(template, template);
+    }
+}
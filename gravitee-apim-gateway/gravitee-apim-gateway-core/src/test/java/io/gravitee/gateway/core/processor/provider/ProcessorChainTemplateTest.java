@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.processor.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import io.gravitee.gateway.api.processor.ProcessorFailure;
+import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.EmptyStreamableProcessor;
+import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.StreamableProcessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ProcessorChainTemplateTest {
+
+    @Test
+    public void shouldExecuteStepsInOrder() {
+        final AtomicInteger provided = new AtomicInteger();
+        final ProcessorChainTemplate<StringBuilder, Processor<StringBuilder>> template = ProcessorChainTemplate.of(
+            Arrays.asList(
+                StatelessProcessorProvider.of(data -> data.append('a')),
+                new ProcessorSupplier<>(
+                    () -> {
+                        provided.incrementAndGet();
+                        return new AppendProcessor('b');
+                    }
+                ),
+                StatelessProcessorProvider.of(data -> data.append('c'))
+            )
+        );
+
+        for (int i = 1; i <= 2; i++) {
+            final StringBuilder data = new StringBuilder();
+            final AtomicReference<StringBuilder> result = new AtomicReference<>();
+
+            new ProcessorProviderChain<>(template).handler(result::set).handle(data);
+
+            assertEquals("abc", data.toString());
+            assertEquals(data, result.get());
+            assertEquals(i, provided.get());
+        }
+    }
+
+    @Test
+    public void shouldExecuteStatelessProcessorAsRegularProvider() {
+        final StringBuilder data = new StringBuilder();
+        final AtomicReference<StringBuilder> result = new AtomicReference<>();
+
+        StatelessProcessorProvider.<StringBuilder>of(d -> d.append('a')).provide(data).handler(result::set).handle(data);
+
+        assertEquals("a", data.toString());
+        assertEquals(data, result.get());
+    }
+
+    @Test
+    public void shouldStreamThroughStatelessProcessors() {
+        final List<String> chunks = new ArrayList<>();
+        final AtomicInteger ends = new AtomicInteger();
+
+        final StreamableProcessorProviderChain<StringBuilder, String> chain = new StreamableProcessorProviderChain<>(
+            ProcessorChainTemplate.of(
+                Arrays.asList(
+                    StatelessProcessorProvider.<StringBuilder, String>streamable(data -> data.append('a')),
+                    StatelessProcessorProvider.<StringBuilder, String>streamable(data -> data.append('b'))
+                )
+            )
+        );
+
+        final StringBuilder data = new StringBuilder();
+        chain.handler(__ -> {}).handle(data);
+        chain.bodyHandler(chunks::add).endHandler(__ -> ends.incrementAndGet());
+        chain.write("chunk");
+        chain.end();
+
+        assertEquals("ab", data.toString());
+        assertEquals(Arrays.asList("chunk"), chunks);
+        assertEquals(1, ends.get());
+    }
+
+    @Test
+    public void shouldStreamThroughProvidedProcessors() {
+        final List<String> chunks = new ArrayList<>();
+        final ProcessorProvider<StringBuilder, StreamableProcessor<StringBuilder, String>> provider = data -> new EmptyStreamableProcessor<>();
+
+        final StreamableProcessorProviderChain<StringBuilder, String> chain = new StreamableProcessorProviderChain<>(
+            ProcessorChainTemplate.of(
+                Arrays.asList(
+                    StatelessProcessorProvider.<StringBuilder, String>streamable(data -> data.append('a')),
+                    provider,
+                    StatelessProcessorProvider.<StringBuilder, String>streamable(data -> data.append('b'))
+                )
+            )
+        );
+
+        final StringBuilder data = new StringBuilder();
+        chain.handler(__ -> {}).handle(data);
+        chain.bodyHandler(chunks::add);
+        chain.write("chunk");
+
+        assertEquals("ab", data.toString());
+        assertEquals(Arrays.asList("chunk"), chunks);
+    }
+
+    @Test
+    public void shouldHandleStatelessProcessorFailure() {
+        final AtomicReference<ProcessorFailure> failure = new AtomicReference<>();
+
+        final StreamableProcessorProviderChain<StringBuilder, String> chain = new StreamableProcessorProviderChain<>(
+            ProcessorChainTemplate.<StringBuilder, StreamableProcessor<StringBuilder, String>>of(
+                Arrays.asList(
+                    StatelessProcessorProvider.streamable(
+                        data -> {
+                            throw new IllegalStateException("failure");
+                        }
+                    )
+                )
+            )
+        );
+
+        chain.handler(__ -> {}).errorHandler(failure::set).handle(new StringBuilder());
+
+        assertNotNull(failure.get());
+        assertTrue(failure.get().message().contains("failure"));
+    }
+
+    private static class AppendProcessor extends AbstractProcessor<StringBuilder> {
+
+        private final char value;
+
+        private AppendProcessor(char value) {
+            this.value = value;
+        }
+
+        @Override
+        public void handle(StringBuilder data) {
+            data.append(value);
+            next.handle(data);
+        }
+    }
+}
@@ -20,13 +20,20 @@ import io.gravitee.el.TemplateVariableProvider;
 import io.gravitee.el.TemplateVariableScope;
 import io.gravitee.el.annotations.TemplateVariable;
 import io.gravitee.gateway.dictionary.model.Dictionary;
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Dictionaries are deployed by the synchronization threads while their values are read by the expressions evaluated
+ * on the event loops. The values are therefore published as an immutable snapshot, replaced as a whole each time a
+ * dictionary is deployed or undeployed, and read without any lock nor copy through the <code>dictionaries</code>
+ * template variable.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -36,15 +43,18 @@ public class DictionaryTemplateProvider implements DictionaryManager, TemplateVa
     private final Logger LOGGER = LoggerFactory.getLogger(DictionaryTemplateProvider.class);
 
     private final Map<String, Dictionary> dictionaries = new HashMap<>();
-    private final Map<String, Map<String, String>> values = new HashMap<>();
+
+    private volatile Map<String, Map<String, String>> values = Collections.emptyMap();
+
+    private final Map<String, Map<String, String>> valuesView = new ValuesView();
 
     @Override
     public void provide(TemplateContext context) {
-        context.setVariable("dictionaries", values);
+        context.setVariable("dictionaries", valuesView);
     }
 
     @Override
-    public void deploy(Dictionary dictionary) {
+    public synchronized void deploy(Dictionary dictionary) {
         Dictionary oldDictionary = dictionaries.get(dictionary.getId());
         if (oldDictionary == null || dictionary.getDeployedAt().after(oldDictionary.getDeployedAt())) {
             if (dictionary.getProperties() == null) {
@@ -53,16 +63,53 @@ public class DictionaryTemplateProvider implements DictionaryManager, TemplateVa
 
             LOGGER.info("Dictionary {} has been deployed with {} properties", dictionary, dictionary.getProperties().size());
             dictionaries.put(dictionary.getId(), dictionary);
-            values.put(dictionary.getId(), dictionary.getProperties());
+
+            final Map<String, Map<String, String>> snapshot = new HashMap<>(values);
+            snapshot.put(dictionary.getId(), Collections.unmodifiableMap(new HashMap<>(dictionary.getProperties())));
+            values = Collections.unmodifiableMap(snapshot);
         }
     }
 
     @Override
-    public void undeploy(String dictionaryId) {
+    public synchronized void undeploy(String dictionaryId) {
         Dictionary dictionary = dictionaries.remove(dictionaryId);
         if (dictionary != null) {
-            values.remove(dictionaryId);
+            final Map<String, Map<String, String>> snapshot = new HashMap<>(values);
+            snapshot.remove(dictionaryId);
+            values = Collections.unmodifiableMap(snapshot);
             LOGGER.info("A dictionary has been undeployed: {}", dictionaryId);
         }
     }
+
+    /**
+     * A read-only view of the latest snapshot, so that the template variable can be provided once and still reflect
+     * the dictionaries deployed afterwards.
+     */
+    private class ValuesView extends AbstractMap<String, Map<String, String>> {
+
+        @Override
+        public Map<String, String> get(Object key) {
+            return values.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        @Override
+        public Set<Entry<String, Map<String, String>>> entrySet() {
+            return values.entrySet();
+        }
+    }
 }
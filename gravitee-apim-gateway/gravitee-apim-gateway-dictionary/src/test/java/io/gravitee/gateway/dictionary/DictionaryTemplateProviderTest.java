@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.dictionary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+import io.gravitee.el.TemplateContext;
+import io.gravitee.gateway.dictionary.model.Dictionary;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DictionaryTemplateProviderTest {
+
+    @Mock
+    private TemplateContext templateContext;
+
+    private DictionaryTemplateProvider provider;
+
+    private Map<String, Map<String, String>> dictionaries;
+
+    @Before
+    public void setUp() {
+        provider = new DictionaryTemplateProvider();
+        dictionaries = provide();
+    }
+
+    @Test
+    public void shouldSeeDeployedDictionary() {
+        provider.deploy(dictionary("dict", 1000, Collections.singletonMap("key", "value")));
+
+        assertEquals(1, dictionaries.size());
+        assertTrue(dictionaries.containsKey("dict"));
+        assertEquals("value", dictionaries.get("dict").get("key"));
+    }
+
+    @Test
+    public void shouldNotSeeUndeployedDictionary() {
+        provider.deploy(dictionary("dict", 1000, Collections.singletonMap("key", "value")));
+        provider.deploy(dictionary("other", 1000, Collections.singletonMap("key", "other")));
+
+        provider.undeploy("dict");
+
+        assertFalse(dictionaries.containsKey("dict"));
+        assertNull(dictionaries.get("dict"));
+        assertEquals("other", dictionaries.get("other").get("key"));
+    }
+
+    @Test
+    public void shouldSeeRedeployedDictionary() {
+        provider.deploy(dictionary("dict", 1000, Collections.singletonMap("key", "value")));
+        provider.deploy(dictionary("dict", 2000, Collections.singletonMap("key", "updated")));
+
+        assertEquals(1, dictionaries.size());
+        assertEquals("updated", dictionaries.get("dict").get("key"));
+    }
+
+    @Test
+    public void shouldIgnoreOlderDictionary() {
+        provider.deploy(dictionary("dict", 2000, Collections.singletonMap("key", "value")));
+        provider.deploy(dictionary("dict", 1000, Collections.singletonMap("key", "older")));
+
+        assertEquals("value", dictionaries.get("dict").get("key"));
+    }
+
+    @Test
+    public void shouldDeployDictionaryWithoutProperties() {
+        provider.deploy(dictionary("dict", 1000, null));
+
+        assertTrue(dictionaries.get("dict").isEmpty());
+    }
+
+    @Test
+    public void shouldSeeDictionariesDeployedAfterBeingProvided() {
+        provider.deploy(dictionary("dict", 1000, Collections.singletonMap("key", "value")));
+
+        assertEquals("value", dictionaries.get("dict").get("key"));
+        assertSame(dictionaries, provide());
+    }
+
+    @Test
+    public void shouldKeepValuesReadBeforeRedeploy() {
+        provider.deploy(dictionary("dict", 1000, Collections.singletonMap("key", "value")));
+        final Map<String, String> read = dictionaries.get("dict");
+
+        provider.deploy(dictionary("dict", 2000, Collections.singletonMap("key", "updated")));
+        provider.undeploy("dict");
+
+        assertEquals("value", read.get("key"));
+    }
+
+    @Test
+    public void shouldNotSeeChangesOfDeployedProperties() {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("key", "value");
+        provider.deploy(dictionary("dict", 1000, properties));
+
+        properties.put("key", "changed");
+        properties.put("other", "added");
+
+        assertEquals("value", dictionaries.get("dict").get("key"));
+        assertFalse(dictionaries.get("dict").containsKey("other"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotModifyDictionaries() {
+        dictionaries.put("dict", Collections.emptyMap());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotModifyDictionaryValues() {
+        provider.deploy(dictionary("dict", 1000, Collections.singletonMap("key", "value")));
+
+        dictionaries.get("dict").put("key", "changed");
+    }
+
+    @Test
+    public void shouldReadCompleteDictionariesWhileDeploying() throws InterruptedException {
+        final int deployments = 10_000;
+        final AtomicBoolean deploying = new AtomicBoolean(true);
+        final AtomicReference<String> inconsistency = new AtomicReference<>();
+        final CountDownLatch started = new CountDownLatch(1);
+
+        provider.deploy(dictionary("stable", 1000, Collections.singletonMap("key", "value")));
+
+        final Thread reader = new Thread(
+            () -> {
+                started.countDown();
+                while (deploying.get() && inconsistency.get() == null) {
+                    // A dictionary is read either before or after a deployment, never in between
+                    final Map<String, String> values = dictionaries.get("dict");
+                    if (values != null && !values.get("first").equals(values.get("second"))) {
+                        inconsistency.set("partially deployed dictionary: " + values);
+                    }
+
+                    if (!dictionaries.containsKey("stable")) {
+                        inconsistency.set("dictionary missing while another one is deployed");
+                    }
+                }
+            }
+        );
+        reader.start();
+        started.await();
+
+        for (int i = 1; i <= deployments; i++) {
+            final Map<String, String> properties = new HashMap<>();
+            properties.put("first", "v" + i);
+            properties.put("second", "v" + i);
+            provider.deploy(dictionary("dict", i, properties));
+        }
+        deploying.set(false);
+        reader.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertNull(inconsistency.get());
+        assertEquals("v" + deployments, dictionaries.get("dict").get("first"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, String>> provide() {
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        provider.provide(templateContext);
+        verify(templateContext, atLeastOnce()).setVariable(eq("dictionaries"), captor.capture());
+        return (Map<String, Map<String, String>>) captor.getValue();
+    }
+
+    private static Dictionary dictionary(String id, long deployedAt, Map<String, String> properties) {
+        final Dictionary dictionary = new Dictionary();
+        dictionary.setId(id);
+        dictionary.setDeployedAt(new Date(deployedAt));
+        dictionary.setProperties(properties);
+        return dictionary;
+    }
+}
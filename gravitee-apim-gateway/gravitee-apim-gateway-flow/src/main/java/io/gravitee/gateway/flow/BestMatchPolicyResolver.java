@@ -17,11 +17,11 @@ package io.gravitee.gateway.flow;
 
 import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.flow.condition.evaluation.PathPattern;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 /**
  * This flow provider is resolving only the {@link Flow} which best match according to the incoming request.
@@ -31,12 +31,7 @@ import java.util.regex.Pattern;
  */
 public class BestMatchPolicyResolver implements FlowResolver {
 
-    private final Map<String, Pattern> cache = new ConcurrentHashMap<>();
-
-    private static final char OPTIONAL_TRAILING_SEPARATOR = '?';
-    private static final String PATH_SEPARATOR = "/";
-    private static final String PATH_PARAM_PREFIX = ":";
-    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
+    private final Map<String, PathPattern> cache = new ConcurrentHashMap<>();
 
     private final FlowResolver flowResolver;
 
@@ -63,43 +58,20 @@ public class BestMatchPolicyResolver implements FlowResolver {
         List<Flow> filteredFlows = new ArrayList<>();
 
         for (Flow flow : flows) {
-            Pattern pattern = cache.computeIfAbsent(flow.getPath(), this::transform);
-            if (pattern.matcher(path).lookingAt()) {
-                int split = flow.getPath().split(PATH_SEPARATOR).length;
-                if (split >= pieces) {
-                    // If we found more matching, forget the previous one
-                    if (split > pieces) {
-                        filteredFlows.clear();
-                    }
-
-                    pieces = split;
-                    filteredFlows.add(flow);
-                }
-            }
-        }
-
-        return filteredFlows;
-    }
-
-    private Pattern transform(String path) {
-        String[] branches = path.split(PATH_SEPARATOR);
-        StringBuilder buffer = new StringBuilder(PATH_SEPARATOR);
-
-        for (final String branch : branches) {
-            if (!branch.isEmpty()) {
-                if (branch.startsWith(PATH_PARAM_PREFIX)) {
-                    buffer.append(PATH_PARAM_REGEX);
-                } else {
-                    buffer.append(branch);
+            // The depth of the path is computed once, when the path is compiled.
+            PathPattern pattern = cache.computeIfAbsent(flow.getPath(), PathPattern::compile);
+            int split = pattern.depth();
+            if (split >= pieces && pattern.startsWith(path)) {
+                // If we found more matching, forget the previous one
+                if (split > pieces) {
+                    filteredFlows.clear();
                 }
 
-                buffer.append(PATH_SEPARATOR);
+                pieces = split;
+                filteredFlows.add(flow);
             }
         }
 
-        // Last path separator is not required to match
-        buffer.append(OPTIONAL_TRAILING_SEPARATOR);
-
-        return Pattern.compile(buffer.toString());
+        return filteredFlows;
     }
 }
@@ -18,6 +18,7 @@ package io.gravitee.gateway.flow.condition;
 import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -42,4 +43,8 @@ public class CompositeConditionEvaluator implements ConditionEvaluator {
 
         return true;
     }
+
+    public List<ConditionEvaluator> getEvaluators() {
+        return Collections.unmodifiableList(evaluators);
+    }
 }
@@ -18,8 +18,8 @@ package io.gravitee.gateway.flow.condition;
 import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.flow.AbstractFlowResolver;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -29,18 +29,71 @@ public abstract class ConditionalFlowResolver extends AbstractFlowResolver {
 
     private final ConditionEvaluator evaluator;
 
+    /**
+     * The plan of the resolved flows, with the deployment it has been built for.
+     */
+    private volatile DeploymentPlan lastPlan;
+
     public ConditionalFlowResolver(ConditionEvaluator evaluator) {
         this.evaluator = evaluator;
     }
 
     @Override
     public List<Flow> resolve(ExecutionContext context) {
-        return resolve0(context)
-            .stream()
-            .filter(Flow::isEnabled)
-            .filter(flow -> evaluator.evaluate(flow, context))
-            .collect(Collectors.toList());
+        // Got before the flows, so that a plan is never kept for a deployment other than the one of its flows
+        final Object deployment = deployment(context);
+        final List<Flow> flows = resolve0(context);
+
+        if (flows == null || flows.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return plan(context, deployment, flows).resolve(context);
+    }
+
+    /**
+     * Get the resolution plan of the given flows. By default, the plan is built once for each deployment and reused
+     * until another deployment is resolved.
+     *
+     * @param context the execution context of the request.
+     * @param deployment the deployment the flows come from, as returned by {@link #deployment(ExecutionContext)}.
+     * @param flows the flows returned by {@link #resolve0(ExecutionContext)}.
+     * @return the resolution plan of the flows.
+     */
+    protected FlowResolutionPlan plan(ExecutionContext context, Object deployment, List<Flow> flows) {
+        DeploymentPlan plan = lastPlan;
+
+        if (plan == null || plan.deployment != deployment) {
+            plan = new DeploymentPlan(deployment, compile(flows));
+            lastPlan = plan;
+        }
+
+        return plan.plan;
     }
 
+    protected FlowResolutionPlan compile(List<Flow> flows) {
+        return FlowResolutionPlan.compile(flows, evaluator);
+    }
+
+    /**
+     * Get the deployment the resolved flows come from, such as the deployed API or organization. The flows of a
+     * deployment never change: deployments are compared by identity to know when the plan has to be rebuilt.
+     *
+     * @param context the execution context of the request.
+     * @return the current deployment.
+     */
+    protected abstract Object deployment(ExecutionContext context);
+
     protected abstract List<Flow> resolve0(ExecutionContext context);
+
+    private static final class DeploymentPlan {
+
+        private final Object deployment;
+        private final FlowResolutionPlan plan;
+
+        private DeploymentPlan(Object deployment, FlowResolutionPlan plan) {
+            this.deployment = deployment;
+            this.plan = plan;
+        }
+    }
 }
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.flow.condition;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.definition.model.flow.Flow;
+import io.gravitee.definition.model.flow.Operator;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.flow.condition.evaluation.HttpMethodConditionEvaluator;
+import io.gravitee.gateway.flow.condition.evaluation.PathBasedConditionEvaluator;
+import io.gravitee.gateway.flow.condition.evaluation.PathPattern;
+import io.gravitee.gateway.flow.condition.evaluation.el.ExpressionLanguageBasedConditionEvaluator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The flows of an API, a plan or an organization, prepared once to be resolved for each request.
+ *
+ * The well-known conditions of a {@link CompositeConditionEvaluator} are compiled when the plan is built:
+ * <ul>
+ *     <li>disabled flows are removed,</li>
+ *     <li>flows are indexed by HTTP method, so that a request only goes through the flows accepting its method,</li>
+ *     <li>flow paths are compiled once,</li>
+ *     <li>the expression language condition is only evaluated for the flows declaring one.</li>
+ * </ul>
+ * Any other {@link ConditionEvaluator} is still evaluated for each request. The resolved flows are the same, and in
+ * the same order, as evaluating the conditions of all the flows for each request.
+ *
+ * @author GraviteeSource Team
+ */
+public final class FlowResolutionPlan {
+
+    private static final Candidate[] NO_CANDIDATES = new Candidate[0];
+
+    /**
+     * The candidates of the requests whose method is not indexed, or all the candidates if the method of the flows is
+     * not part of the conditions.
+     */
+    private final Candidate[] candidates;
+
+    private final Map<HttpMethod, Candidate[]> candidatesByMethod;
+
+    private final ConditionEvaluator conditionEvaluator;
+
+    private final ConditionEvaluator[] evaluators;
+
+    private FlowResolutionPlan(
+        Candidate[] candidates,
+        Map<HttpMethod, Candidate[]> candidatesByMethod,
+        ConditionEvaluator conditionEvaluator,
+        ConditionEvaluator[] evaluators
+    ) {
+        this.candidates = candidates;
+        this.candidatesByMethod = candidatesByMethod;
+        this.conditionEvaluator = conditionEvaluator;
+        this.evaluators = evaluators;
+    }
+
+    /**
+     * Prepare the given flows to be resolved with the given evaluator.
+     *
+     * @param flows the flows to resolve.
+     * @param evaluator the evaluator of the flow conditions.
+     * @return the resolution plan of the flows.
+     */
+    public static FlowResolutionPlan compile(List<Flow> flows, ConditionEvaluator evaluator) {
+        final List<ConditionEvaluator> all = new ArrayList<>();
+        flatten(evaluator, all);
+
+        HttpMethodConditionEvaluator methodEvaluator = null;
+        PathBasedConditionEvaluator pathEvaluator = null;
+        ExpressionLanguageBasedConditionEvaluator conditionEvaluator = null;
+        final List<ConditionEvaluator> evaluators = new ArrayList<>();
+
+        for (ConditionEvaluator candidate : all) {
+            if (candidate instanceof HttpMethodConditionEvaluator && methodEvaluator == null) {
+                methodEvaluator = (HttpMethodConditionEvaluator) candidate;
+            } else if (candidate instanceof PathBasedConditionEvaluator && pathEvaluator == null) {
+                pathEvaluator = (PathBasedConditionEvaluator) candidate;
+            } else if (candidate instanceof ExpressionLanguageBasedConditionEvaluator && conditionEvaluator == null) {
+                conditionEvaluator = (ExpressionLanguageBasedConditionEvaluator) candidate;
+            } else {
+                evaluators.add(candidate);
+            }
+        }
+
+        final List<Candidate> candidates = new ArrayList<>();
+        final List<Candidate> anyMethodCandidates = new ArrayList<>();
+        final Map<HttpMethod, List<Candidate>> methodCandidates = new EnumMap<>(HttpMethod.class);
+        if (methodEvaluator != null) {
+            for (HttpMethod method : HttpMethod.values()) {
+                methodCandidates.put(method, new ArrayList<>());
+            }
+        }
+
+        if (flows != null) {
+            for (Flow flow : flows) {
+                if (!flow.isEnabled()) {
+                    continue;
+                }
+
+                final Candidate candidate = new Candidate(
+                    flow,
+                    (pathEvaluator != null) ? pathEvaluator.compile(flow) : null,
+                    conditionEvaluator != null && flow.getCondition() != null && !flow.getCondition().isEmpty()
+                );
+
+                if (methodEvaluator == null) {
+                    candidates.add(candidate);
+                } else if (flow.getMethods() == null || flow.getMethods().isEmpty()) {
+                    anyMethodCandidates.add(candidate);
+                    methodCandidates.values().forEach(methodCandidate -> methodCandidate.add(candidate));
+                } else {
+                    flow.getMethods().forEach(method -> methodCandidates.get(method).add(candidate));
+                }
+            }
+        }
+
+        Map<HttpMethod, Candidate[]> candidatesByMethod = null;
+        if (methodEvaluator != null) {
+            candidatesByMethod = new EnumMap<>(HttpMethod.class);
+            for (Map.Entry<HttpMethod, List<Candidate>> entry : methodCandidates.entrySet()) {
+                candidatesByMethod.put(entry.getKey(), entry.getValue().toArray(NO_CANDIDATES));
+            }
+        }
+
+        return new FlowResolutionPlan(
+            (methodEvaluator != null ? anyMethodCandidates : candidates).toArray(NO_CANDIDATES),
+            candidatesByMethod,
+            conditionEvaluator,
+            evaluators.toArray(new ConditionEvaluator[0])
+        );
+    }
+
+    /**
+     * Resolve the flows matching the incoming request.
+     *
+     * @param context the execution context of the request.
+     * @return the enabled flows whose conditions are fulfilled, in their declaration order.
+     */
+    public List<Flow> resolve(ExecutionContext context) {
+        Candidate[] matching = candidates;
+
+        if (candidatesByMethod != null) {
+            final HttpMethod method = context.request().method();
+            if (method != null) {
+                matching = candidatesByMethod.get(method);
+            }
+        }
+
+        final List<Flow> resolved = new ArrayList<>(matching.length);
+        if (matching.length == 0) {
+            return resolved;
+        }
+
+        final String path = (matching[0].path != null) ? context.request().pathInfo() : null;
+
+        for (Candidate candidate : matching) {
+            if (candidate.accept(path, context, evaluators, conditionEvaluator)) {
+                resolved.add(candidate.flow);
+            }
+        }
+
+        return resolved;
+    }
+
+    private static void flatten(ConditionEvaluator evaluator, List<ConditionEvaluator> evaluators) {
+        if (evaluator instanceof CompositeConditionEvaluator) {
+            ((CompositeConditionEvaluator) evaluator).getEvaluators().forEach(composed -> flatten(composed, evaluators));
+        } else if (evaluator != null) {
+            evaluators.add(evaluator);
+        }
+    }
+
+    private static final class Candidate {
+
+        private final Flow flow;
+        private final PathPattern path;
+        private final Operator operator;
+        private final boolean conditional;
+
+        private Candidate(Flow flow, PathPattern path, boolean conditional) {
+            this.flow = flow;
+            this.path = path;
+            this.operator = flow.getOperator();
+            this.conditional = conditional;
+        }
+
+        private boolean accept(
+            String requestPath,
+            ExecutionContext context,
+            ConditionEvaluator[] evaluators,
+            ConditionEvaluator conditionEvaluator
+        ) {
+            if (path != null && !path.matches(operator, requestPath)) {
+                return false;
+            }
+
+            for (ConditionEvaluator evaluator : evaluators) {
+                if (!evaluator.evaluate(flow, context)) {
+                    return false;
+                }
+            }
+
+            return !conditional || conditionEvaluator.evaluate(flow, context);
+        }
+    }
+}
@@ -21,7 +21,6 @@ import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.flow.condition.ConditionEvaluator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 /**
  * This {@link ConditionEvaluator} evaluates to true if the path of the request is matching the
@@ -32,41 +31,20 @@ import java.util.regex.Pattern;
  */
 public class PathBasedConditionEvaluator implements ConditionEvaluator {
 
-    private static final char OPTIONAL_TRAILING_SEPARATOR = '?';
-    private static final String PATH_SEPARATOR = "/";
-    private static final String PATH_PARAM_PREFIX = ":";
-    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
-
-    private final Map<String, Pattern> cache = new ConcurrentHashMap<>();
+    private final Map<String, PathPattern> cache = new ConcurrentHashMap<>();
 
     @Override
     public boolean evaluate(Flow flow, ExecutionContext context) {
-        Pattern pattern = cache.computeIfAbsent(flow.getPath(), this::transform);
-
-        return (flow.getOperator() == Operator.EQUALS)
-            ? pattern.matcher(context.request().pathInfo()).matches()
-            : pattern.matcher(context.request().pathInfo()).lookingAt();
+        return compile(flow).matches(flow.getOperator(), context.request().pathInfo());
     }
 
-    private Pattern transform(String path) {
-        String[] branches = path.split(PATH_SEPARATOR);
-        StringBuilder buffer = new StringBuilder(PATH_SEPARATOR);
-
-        for (final String branch : branches) {
-            if (!branch.isEmpty()) {
-                if (branch.startsWith(PATH_PARAM_PREFIX)) {
-                    buffer.append(PATH_PARAM_REGEX);
-                } else {
-                    buffer.append(branch);
-                }
-
-                buffer.append(PATH_SEPARATOR);
-            }
-        }
-
-        // Last path separator is not required to match
-        buffer.append(OPTIONAL_TRAILING_SEPARATOR);
-
-        return Pattern.compile(buffer.toString());
+    /**
+     * Compile the path of the given flow, so that it can be matched without looking up the cache for each request.
+     *
+     * @param flow the flow.
+     * @return the compiled path of the flow.
+     */
+    public PathPattern compile(Flow flow) {
+        return cache.computeIfAbsent(flow.getPath(), PathPattern::compile);
     }
 }
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.flow.condition.evaluation;
+
+import io.gravitee.definition.model.flow.Operator;
+import java.util.regex.Pattern;
+
+/**
+ * The compiled path of a flow, such as <code>/books/:bookId</code>.
+ *
+ * A path made of literal segments only is matched with plain string comparisons, otherwise it is transformed into a
+ * regular expression where each path parameter matches any sequence of path characters.
+ *
+ * @author GraviteeSource Team
+ */
+public final class PathPattern {
+
+    private static final char OPTIONAL_TRAILING_SEPARATOR = '?';
+    private static final char PATH_SEPARATOR_CHAR = '/';
+    private static final String PATH_SEPARATOR = "/";
+    private static final String PATH_PARAM_PREFIX = ":";
+    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
+    private static final String REGEX_META_CHARACTERS = "\\[](){}.*+?^$|";
+
+    private final String path;
+
+    /**
+     * The path without its trailing separator, used when the path is made of literal segments only.
+     */
+    private final String literal;
+
+    private final Pattern pattern;
+
+    private final int depth;
+
+    private PathPattern(String path, String literal, Pattern pattern) {
+        this.path = path;
+        this.literal = literal;
+        this.pattern = pattern;
+        this.depth = path.split(PATH_SEPARATOR).length;
+    }
+
+    public static PathPattern compile(String path) {
+        final StringBuilder regex = new StringBuilder(PATH_SEPARATOR);
+        final StringBuilder literal = new StringBuilder();
+        boolean literalOnly = true;
+
+        for (final String branch : path.split(PATH_SEPARATOR)) {
+            if (!branch.isEmpty()) {
+                if (branch.startsWith(PATH_PARAM_PREFIX)) {
+                    regex.append(PATH_PARAM_REGEX);
+                    literalOnly = false;
+                } else {
+                    regex.append(branch);
+                    literalOnly &= !containsRegexMetaCharacter(branch);
+                }
+
+                regex.append(PATH_SEPARATOR);
+                literal.append(PATH_SEPARATOR).append(branch);
+            }
+        }
+
+        if (literalOnly) {
+            return new PathPattern(path, literal.toString(), null);
+        }
+
+        // Last path separator is not required to match
+        regex.append(OPTIONAL_TRAILING_SEPARATOR);
+
+        return new PathPattern(path, null, Pattern.compile(regex.toString()));
+    }
+
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @return the number of elements of the path, used to find the most specific flows.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return <code>true</code> if the whole request path matches this path, a trailing separator being ignored.
+     */
+    public boolean matches(String requestPath) {
+        if (literal != null) {
+            return (
+                requestPath.equals(literal) ||
+                (
+                    requestPath.length() == literal.length() + 1 &&
+                    requestPath.charAt(literal.length()) == PATH_SEPARATOR_CHAR &&
+                    requestPath.startsWith(literal)
+                )
+            );
+        }
+
+        return pattern.matcher(requestPath).matches();
+    }
+
+    /**
+     * @return <code>true</code> if the request path starts with this path.
+     */
+    public boolean startsWith(String requestPath) {
+        if (literal != null) {
+            return requestPath.startsWith(literal);
+        }
+
+        return pattern.matcher(requestPath).lookingAt();
+    }
+
+    public boolean matches(Operator operator, String requestPath) {
+        return (operator == Operator.EQUALS) ? matches(requestPath) : startsWith(requestPath);
+    }
+
+    private static boolean containsRegexMetaCharacter(String branch) {
+        for (int i = 0; i < branch.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(branch.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
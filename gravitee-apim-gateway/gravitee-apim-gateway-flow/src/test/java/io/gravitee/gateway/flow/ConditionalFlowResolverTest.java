@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.flow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.definition.model.flow.Flow;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.flow.condition.ConditionalFlowResolver;
+import io.gravitee.gateway.flow.condition.FlowResolutionPlan;
+import io.gravitee.gateway.flow.condition.evaluation.HttpMethodConditionEvaluator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConditionalFlowResolverTest {
+
+    @Mock
+    private ExecutionContext context;
+
+    @Mock
+    private Request request;
+
+    private final DeployedFlowResolver resolver = new DeployedFlowResolver();
+
+    @Before
+    public void setUp() {
+        when(context.request()).thenReturn(request);
+        when(request.method()).thenReturn(HttpMethod.GET);
+    }
+
+    @Test
+    public void shouldBuildPlanOncePerDeployment() {
+        resolver.deploy(new Object(), new Flow());
+
+        assertEquals(1, resolver.resolve(context).size());
+        assertEquals(1, resolver.resolve(context).size());
+        assertEquals(1, resolver.compiled);
+    }
+
+    @Test
+    public void shouldRebuildPlanOnNewDeployment() {
+        final Flow flow = new Flow();
+        resolver.deploy(new Object(), flow);
+        assertSame(flow, resolver.resolve(context).get(0));
+
+        final Flow redeployedFlow = new Flow();
+        resolver.deploy(new Object(), redeployedFlow);
+        assertSame(redeployedFlow, resolver.resolve(context).get(0));
+        assertEquals(2, resolver.compiled);
+    }
+
+    private static class DeployedFlowResolver extends ConditionalFlowResolver {
+
+        private Object deployment;
+        private List<Flow> flows;
+        private int compiled;
+
+        private DeployedFlowResolver() {
+            super(new HttpMethodConditionEvaluator());
+        }
+
+        private void deploy(Object deployment, Flow flow) {
+            this.deployment = deployment;
+            this.flows = Collections.singletonList(flow);
+        }
+
+        @Override
+        protected Object deployment(ExecutionContext context) {
+            return deployment;
+        }
+
+        @Override
+        protected List<Flow> resolve0(ExecutionContext context) {
+            // A new list for each request, as returned by a defensive copy
+            return new ArrayList<>(flows);
+        }
+
+        @Override
+        protected FlowResolutionPlan compile(List<Flow> flows) {
+            compiled++;
+            return super.compile(flows);
+        }
+    }
+}
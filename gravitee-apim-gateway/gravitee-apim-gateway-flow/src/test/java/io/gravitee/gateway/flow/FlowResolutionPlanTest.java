@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.flow;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.definition.model.flow.Flow;
+import io.gravitee.definition.model.flow.Operator;
+import io.gravitee.definition.model.flow.PathOperator;
+import io.gravitee.el.TemplateEngine;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.flow.condition.CompositeConditionEvaluator;
+import io.gravitee.gateway.flow.condition.ConditionEvaluator;
+import io.gravitee.gateway.flow.condition.FlowResolutionPlan;
+import io.gravitee.gateway.flow.condition.evaluation.HttpMethodConditionEvaluator;
+import io.gravitee.gateway.flow.condition.evaluation.PathBasedConditionEvaluator;
+import io.gravitee.gateway.flow.condition.evaluation.el.ExpressionLanguageBasedConditionEvaluator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FlowResolutionPlanTest {
+
+    private final ConditionEvaluator evaluator = new CompositeConditionEvaluator(
+        new HttpMethodConditionEvaluator(),
+        new PathBasedConditionEvaluator(),
+        new ExpressionLanguageBasedConditionEvaluator()
+    );
+
+    @Mock
+    private ExecutionContext context;
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private TemplateEngine templateEngine;
+
+    @Before
+    public void setUp() {
+        when(context.request()).thenReturn(request);
+    }
+
+    @Test
+    public void shouldResolveAsConditionEvaluator() {
+        when(context.getTemplateEngine()).thenReturn(templateEngine);
+        when(templateEngine.getValue(eq("true"), eq(Boolean.class))).thenReturn(true);
+        when(templateEngine.getValue(eq("false"), eq(Boolean.class))).thenReturn(false);
+
+        final List<Flow> flows = new ArrayList<>();
+        for (String path : Arrays.asList("/", "/books", "/books/:bookId", "/books/:bookId/chapters")) {
+            for (Operator operator : Operator.values()) {
+                for (HttpMethod[] methods : Arrays.asList(new HttpMethod[0], new HttpMethod[] { HttpMethod.GET, HttpMethod.POST })) {
+                    for (String condition : Arrays.asList(null, "", "true", "false")) {
+                        flows.add(flow(path, operator, condition, true, methods));
+                    }
+                }
+            }
+        }
+        flows.add(flow("/books", Operator.STARTS_WITH, null, false));
+
+        final FlowResolutionPlan plan = FlowResolutionPlan.compile(flows, evaluator);
+
+        for (HttpMethod method : Arrays.asList(null, HttpMethod.GET, HttpMethod.PUT)) {
+            for (String path : Arrays.asList("/", "/books", "/books/", "/books/12", "/books2", "/books/12/chapters/1", "/other")) {
+                when(request.method()).thenReturn(method);
+                when(request.pathInfo()).thenReturn(path);
+
+                final List<Flow> expected = flows
+                    .stream()
+                    .filter(Flow::isEnabled)
+                    .filter(flow -> evaluator.evaluate(flow, context))
+                    .collect(Collectors.toList());
+
+                assertEquals("method [" + method + "], path [" + path + "]", expected, plan.resolve(context));
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotEvaluateCondition_flowsWithoutCondition() {
+        when(request.method()).thenReturn(HttpMethod.GET);
+        when(request.pathInfo()).thenReturn("/books");
+
+        final Flow flow = flow("/books", Operator.STARTS_WITH, null, true);
+        final FlowResolutionPlan plan = FlowResolutionPlan.compile(Collections.singletonList(flow), evaluator);
+
+        assertEquals(Collections.singletonList(flow), plan.resolve(context));
+        verify(context, never()).getTemplateEngine();
+    }
+
+    @Test
+    public void shouldEvaluateOtherEvaluators() {
+        when(request.pathInfo()).thenReturn("/books");
+
+        final Flow books = flow("/books", Operator.STARTS_WITH, null, true);
+        final Flow other = flow("/books", Operator.STARTS_WITH, null, true);
+        final FlowResolutionPlan plan = FlowResolutionPlan.compile(
+            Arrays.asList(books, other),
+            new CompositeConditionEvaluator(new PathBasedConditionEvaluator(), (flow, context) -> flow == books)
+        );
+
+        assertEquals(Collections.singletonList(books), plan.resolve(context));
+    }
+
+    private Flow flow(String path, Operator operator, String condition, boolean enabled, HttpMethod... methods) {
+        Flow flow = new Flow();
+        PathOperator pathOperator = new PathOperator();
+        pathOperator.setPath(path);
+        pathOperator.setOperator(operator);
+        flow.setPathOperator(pathOperator);
+        flow.setCondition(condition);
+        flow.setEnabled(enabled);
+        flow.setMethods(new HashSet<>(Arrays.asList(methods)));
+        return flow;
+    }
+}
@@ -36,6 +36,11 @@ public class ApiFlowResolver extends ConditionalFlowResolver {
         this.api = api;
     }
 
+    @Override
+    protected Object deployment(ExecutionContext context) {
+        return api;
+    }
+
     @Override
     public List<Flow> resolve0(ExecutionContext context) {
         return api.getFlows() != null ? api.getFlows() : Collections.emptyList();
@@ -20,8 +20,11 @@ import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.flow.condition.ConditionEvaluator;
 import io.gravitee.gateway.flow.condition.ConditionalFlowResolver;
+import io.gravitee.gateway.flow.condition.FlowResolutionPlan;
 import io.gravitee.gateway.handlers.api.definition.Api;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -31,15 +34,37 @@ public class PlanFlowResolver extends ConditionalFlowResolver {
 
     private final Api api;
 
+    /**
+     * The resolution plans of the flows of each plan of the API, the requests of an API being spread over its plans.
+     * A resolver is bound to a single deployment of the API, so that the plans are built once.
+     */
+    private final Map<String, FlowResolutionPlan> plans = new ConcurrentHashMap<>();
+
     public PlanFlowResolver(Api api, ConditionEvaluator evaluator) {
         super(evaluator);
         this.api = api;
     }
 
+    @Override
+    protected Object deployment(ExecutionContext context) {
+        return api;
+    }
+
     @Override
     public List<Flow> resolve0(ExecutionContext context) {
         Plan plan = api.getPlan(context.request().metrics().getPlan());
 
         return (plan != null) ? plan.getFlows() : null;
     }
+
+    @Override
+    protected FlowResolutionPlan plan(ExecutionContext context, Object deployment, List<Flow> flows) {
+        final String plan = context.request().metrics().getPlan();
+
+        if (plan == null) {
+            return super.plan(context, deployment, flows);
+        }
+
+        return plans.computeIfAbsent(plan, ignore -> compile(flows));
+    }
 }
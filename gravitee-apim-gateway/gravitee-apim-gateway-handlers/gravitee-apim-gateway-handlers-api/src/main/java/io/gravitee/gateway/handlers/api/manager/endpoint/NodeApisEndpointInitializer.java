@@ -34,8 +34,12 @@ public class NodeApisEndpointInitializer implements InitializingBean {
     @Autowired
     private ApiManagementEndpoint apiManagementEndpoint;
 
+    @Autowired
+    private JwtTokenCacheManagementEndpoint jwtTokenCacheManagementEndpoint;
+
     public void afterPropertiesSet() {
         managementEndpointManager.register(apisManagementEndpoint);
         managementEndpointManager.register(apiManagementEndpoint);
+        managementEndpointManager.register(jwtTokenCacheManagementEndpoint);
     }
 }
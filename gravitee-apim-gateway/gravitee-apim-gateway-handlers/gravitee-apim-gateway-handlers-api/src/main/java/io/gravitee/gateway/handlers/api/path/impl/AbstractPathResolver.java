@@ -17,6 +17,7 @@ package io.gravitee.gateway.handlers.api.path.impl;
 
 import io.gravitee.definition.model.Rule;
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.core.path.PathTemplateMatcher;
 import io.gravitee.gateway.handlers.api.path.Path;
 import io.gravitee.gateway.handlers.api.path.PathParam;
 import io.gravitee.gateway.handlers.api.path.PathResolver;
@@ -41,6 +42,8 @@ public abstract class AbstractPathResolver implements PathResolver {
 
     private final List<Path> registeredPaths = new ArrayList<>();
 
+    private final PathTemplateMatcher<Path> matcher = new PathTemplateMatcher<>();
+
     private static final Path UNKNOWN_PATH = new Path() {
         @Override
         public String getPath() {
@@ -65,19 +68,8 @@ public abstract class AbstractPathResolver implements PathResolver {
             path = QueryStringDecoder.decodeComponent(path, Charset.defaultCharset());
         } catch (IllegalArgumentException iae) {}
 
-        int pieces = -1;
-        Path bestPath = null;
-
-        // TODO PERF: We must navigate from the longest path to the shortest to avoid counting pieces.
-        for (Path registerPath : registeredPaths) {
-            if (registerPath.getPattern().matcher(path).lookingAt()) {
-                int split = registerPath.getPath().split(URL_PATH_SEPARATOR).length;
-                if (split > pieces) {
-                    pieces = split;
-                    bestPath = registerPath;
-                }
-            }
-        }
+        // The deepest registered path matching the beginning of the request path wins.
+        final Path bestPath = matcher.matchPrefix(path);
 
         return (bestPath != null) ? bestPath : UNKNOWN_PATH;
     }
@@ -108,5 +100,6 @@ public abstract class AbstractPathResolver implements PathResolver {
         path.setParameters(parameters);
 
         registeredPaths.add(path);
+        matcher.register(path.getPath(), path);
     }
 }
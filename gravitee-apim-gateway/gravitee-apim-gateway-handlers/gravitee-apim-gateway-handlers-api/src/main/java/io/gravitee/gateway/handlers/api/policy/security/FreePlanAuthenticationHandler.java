@@ -21,8 +21,10 @@ import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
 import io.gravitee.gateway.security.core.AuthenticationPolicy;
 import io.gravitee.gateway.security.core.PluginAuthenticationPolicy;
+import io.gravitee.gateway.security.core.TokenType;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -45,6 +47,11 @@ public class FreePlanAuthenticationHandler implements AuthenticationHandler {
         return handler.canHandle(authenticationContext);
     }
 
+    @Override
+    public Set<TokenType> tokenTypes() {
+        return handler.tokenTypes();
+    }
+
     @Override
     public String name() {
         return handler.name();
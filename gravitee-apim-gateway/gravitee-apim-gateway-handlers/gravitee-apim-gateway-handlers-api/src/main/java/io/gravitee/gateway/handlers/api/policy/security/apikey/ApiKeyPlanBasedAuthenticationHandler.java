@@ -20,9 +20,11 @@ import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
 import io.gravitee.gateway.security.core.AuthenticationPolicy;
+import io.gravitee.gateway.security.core.TokenType;
 import io.gravitee.repository.management.model.ApiKey;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -57,6 +59,11 @@ public class ApiKeyPlanBasedAuthenticationHandler implements AuthenticationHandl
         return optApikey != null && optApikey.isPresent() && optApikey.get().getPlan().equals(plan.getId());
     }
 
+    @Override
+    public Set<TokenType> tokenTypes() {
+        return handler.tokenTypes();
+    }
+
     @Override
     public String name() {
         return handler.name();
@@ -20,44 +20,72 @@ import io.gravitee.gateway.api.el.EvaluableRequest;
 import io.gravitee.gateway.handlers.api.policy.security.PlanBasedAuthenticationHandler;
 import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
+ * A {@link PlanBasedAuthenticationHandler} only selected when the selection rule of its plan is fulfilled.
+ *
+ * The selection rule is parsed once, when the handler is created for the deployed API, and is then shared by all the
+ * requests. Once it has been evaluated enough times, it is compiled to byte code, falling back to interpretation if it
+ * can not be.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class SelectionRulePlanBasedAuthenticationHandler extends PlanBasedAuthenticationHandler {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SelectionRulePlanBasedAuthenticationHandler.class);
+
     private static final String EXPRESSION_REGEX = "\\{([^#|T|(])";
     private static final String EXPRESSION_REGEX_SUBSTITUTE = "{'{'}$1";
 
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, SelectionRulePlanBasedAuthenticationHandler.class.getClassLoader())
+    );
+
+    /**
+     * The parsed selection rule, <code>null</code> if it is not a valid expression.
+     */
+    private final Expression selectionRule;
+
     public SelectionRulePlanBasedAuthenticationHandler(final AuthenticationHandler handler, final Plan plan) {
         super(handler, plan);
+        this.selectionRule = parse(plan);
     }
 
     @Override
     public boolean canHandle(AuthenticationContext context) {
         boolean handle = handler.canHandle(context);
 
-        if (!handle) {
+        if (!handle || selectionRule == null) {
             return false;
         }
 
         try {
-            Expression expression = new SpelExpressionParser()
-            .parseExpression(plan.getSelectionRule().replaceAll(EXPRESSION_REGEX, EXPRESSION_REGEX_SUBSTITUTE));
-
             StandardEvaluationContext evaluation = new StandardEvaluationContext();
             evaluation.setVariable("request", new EvaluableRequest(context.request()));
             evaluation.setVariable("context", new EvaluableAuthenticationContext(context));
 
-            return expression.getValue(evaluation, Boolean.class);
-        } catch (ParseException | EvaluationException ex) {
+            return Boolean.TRUE.equals(selectionRule.getValue(evaluation, Boolean.class));
+        } catch (EvaluationException ex) {
             return false;
         }
     }
+
+    private static Expression parse(Plan plan) {
+        try {
+            return EXPRESSION_PARSER.parseExpression(plan.getSelectionRule().replaceAll(EXPRESSION_REGEX, EXPRESSION_REGEX_SUBSTITUTE));
+        } catch (ParseException ex) {
+            LOGGER.warn("The selection rule of plan [{}] is not a valid expression, the plan can not be selected", plan.getName());
+            return null;
+        }
+    }
 }
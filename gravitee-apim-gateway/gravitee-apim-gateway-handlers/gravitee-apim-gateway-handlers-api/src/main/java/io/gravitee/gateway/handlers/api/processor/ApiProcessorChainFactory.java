@@ -18,10 +18,13 @@ package io.gravitee.gateway.handlers.api.processor;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.StatelessProcessor;
 import io.gravitee.gateway.core.processor.StreamableProcessor;
 import io.gravitee.gateway.core.processor.chain.ProcessorChainFactory;
 import io.gravitee.gateway.core.processor.chain.StreamableProcessorChain;
+import io.gravitee.gateway.core.processor.provider.ProcessorChainTemplate;
 import io.gravitee.gateway.core.processor.provider.ProcessorProvider;
+import io.gravitee.gateway.core.processor.provider.StatelessProcessorProvider;
 import io.gravitee.gateway.core.processor.provider.StreamableProcessorProviderChain;
 import io.gravitee.gateway.core.processor.provider.StreamableProcessorSupplier;
 import io.gravitee.gateway.flow.policy.PolicyChainFactory;
@@ -54,6 +57,11 @@ public abstract class ApiProcessorChainFactory
 
     private final List<ProcessorProvider<ExecutionContext, StreamableProcessor<ExecutionContext, Buffer>>> providers = new ArrayList<>();
 
+    /**
+     * The immutable shape of the chain, built from the providers once they have all been added.
+     */
+    private volatile ProcessorChainTemplate<ExecutionContext, StreamableProcessor<ExecutionContext, Buffer>> template;
+
     ApplicationContext applicationContext;
 
     @Override
@@ -73,8 +81,21 @@ public abstract class ApiProcessorChainFactory
         add(new StreamableProcessorSupplier<>(supplier));
     }
 
+    /**
+     * Add a processor which is shared by all the requests of the API.
+     */
+    protected void addStateless(StatelessProcessor<ExecutionContext> processor) {
+        add(StatelessProcessorProvider.streamable(processor));
+    }
+
     @Override
     public StreamableProcessorChain<ExecutionContext, Buffer, StreamableProcessor<ExecutionContext, Buffer>> create() {
-        return new StreamableProcessorProviderChain<>(providers);
+        ProcessorChainTemplate<ExecutionContext, StreamableProcessor<ExecutionContext, Buffer>> template = this.template;
+        if (template == null) {
+            template = ProcessorChainTemplate.of(providers);
+            this.template = template;
+        }
+
+        return new StreamableProcessorProviderChain<>(template);
     }
 }
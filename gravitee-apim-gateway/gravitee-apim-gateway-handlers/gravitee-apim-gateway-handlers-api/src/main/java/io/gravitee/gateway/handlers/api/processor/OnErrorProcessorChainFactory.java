@@ -33,7 +33,7 @@ public class OnErrorProcessorChainFactory extends ApiProcessorChainFactory {
         }
 
         if (api.getPathMappings() != null && !api.getPathMappings().isEmpty()) {
-            add(() -> new PathMappingProcessor(api.getPathMappings()));
+            addStateless(new PathMappingProcessor(PathMappingProcessor.compile(api.getPathMappings())));
         }
 
         if (api.getResponseTemplates() != null && !api.getResponseTemplates().isEmpty()) {
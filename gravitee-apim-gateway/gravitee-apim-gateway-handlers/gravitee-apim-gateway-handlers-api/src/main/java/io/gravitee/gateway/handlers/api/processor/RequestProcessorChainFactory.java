@@ -114,11 +114,11 @@ public class RequestProcessorChainFactory extends ApiProcessorChainFactory {
         }
 
         if (overrideXForwardedPrefix) {
-            add(XForwardedPrefixProcessor::new);
+            addStateless(new XForwardedPrefixProcessor());
         }
 
         if (api.getDefinitionVersion() == DefinitionVersion.V1) {
-            add(() -> new PathParametersIndexProcessor(new ApiPathResolverImpl(api)));
+            addStateless(new PathParametersIndexProcessor(new ApiPathResolverImpl(api)));
             add(new PlanPolicyChainProvider(StreamType.ON_REQUEST, new PlanPolicyResolver(api), chainFactory));
             add(new ApiPolicyChainProvider(StreamType.ON_REQUEST, new ApiPolicyResolver(), chainFactory));
         } else if (api.getDefinitionVersion() == DefinitionVersion.V2) {
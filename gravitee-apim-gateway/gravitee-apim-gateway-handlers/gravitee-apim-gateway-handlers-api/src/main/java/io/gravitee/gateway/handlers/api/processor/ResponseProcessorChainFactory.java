@@ -104,7 +104,7 @@ public class ResponseProcessorChainFactory extends ApiProcessorChainFactory {
         }
 
         if (api.getPathMappings() != null && !api.getPathMappings().isEmpty()) {
-            add(() -> new PathMappingProcessor(api.getPathMappings()));
+            addStateless(new PathMappingProcessor(PathMappingProcessor.compile(api.getPathMappings())));
         }
     }
 }
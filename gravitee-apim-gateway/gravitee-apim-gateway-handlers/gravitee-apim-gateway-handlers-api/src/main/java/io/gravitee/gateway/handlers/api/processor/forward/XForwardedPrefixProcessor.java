@@ -17,19 +17,17 @@ package io.gravitee.gateway.handlers.api.processor.forward;
 
 import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 
 /**
  * @author Yann TAVERNIER (yann.tavernier at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class XForwardedPrefixProcessor extends AbstractProcessor<ExecutionContext> {
+public class XForwardedPrefixProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     @Override
-    public void handle(ExecutionContext context) {
+    public void process(ExecutionContext context) {
         // Override the X-Forwarded-Prefix with context path
         context.request().headers().set(HttpHeaders.X_FORWARDED_PREFIX, context.request().contextPath());
-
-        next.handle(context);
     }
 }
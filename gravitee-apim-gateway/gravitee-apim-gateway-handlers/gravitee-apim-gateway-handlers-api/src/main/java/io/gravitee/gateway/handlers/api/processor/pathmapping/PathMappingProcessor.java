@@ -15,11 +15,9 @@
  */
 package io.gravitee.gateway.handlers.api.processor.pathmapping;
 
-import static java.util.Comparator.comparing;
-
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
-import java.util.Comparator;
+import io.gravitee.gateway.core.path.PathTemplateMatcher;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -27,34 +25,34 @@ import java.util.regex.Pattern;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class PathMappingProcessor extends AbstractProcessor<ExecutionContext> {
+public class PathMappingProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
-    private final Map<String, Pattern> mapping;
+    private final PathTemplateMatcher<String> mapping;
 
-    public PathMappingProcessor(final Map<String, Pattern> mapping) {
+    public PathMappingProcessor(final PathTemplateMatcher<String> mapping) {
         this.mapping = mapping;
     }
 
-    @Override
-    public void handle(ExecutionContext result) {
-        String path = result.request().pathInfo();
-        if (path.length() == 0 || path.charAt(path.length() - 1) != '/') {
-            path += '/';
-        }
-
-        String finalPath = path;
-        mapping
-            .entrySet()
-            .stream()
-            .filter(regexMappedPath -> regexMappedPath.getValue().matcher(finalPath).matches())
-            .map(Map.Entry::getKey)
-            .min(comparing(o -> countOccurrencesOf(o, ":")))
-            .ifPresent(resolvedMappedPath -> result.request().metrics().setMappedPath(resolvedMappedPath));
-
-        next.handle(null);
+    /**
+     * Compile the path mappings of an API. This must be done once, when the API is deployed, and the result shared
+     * by all the processors of this API.
+     *
+     * @param mapping the path mappings as defined by the API.
+     * @return a matcher resolving a request path to its mapped path.
+     */
+    public static PathTemplateMatcher<String> compile(final Map<String, Pattern> mapping) {
+        final PathTemplateMatcher<String> matcher = new PathTemplateMatcher<>();
+        mapping.keySet().forEach(mappedPath -> matcher.register(mappedPath, mappedPath));
+        return matcher;
     }
 
-    private Integer countOccurrencesOf(String str, String sub) {
-        return str.length() - str.replace(sub, "").length();
+    @Override
+    public void process(ExecutionContext result) {
+        // When several mapped paths match, the one having the fewest path parameters is selected.
+        final String resolvedMappedPath = mapping.match(result.request().pathInfo());
+
+        if (resolvedMappedPath != null) {
+            result.request().metrics().setMappedPath(resolvedMappedPath);
+        }
     }
 }
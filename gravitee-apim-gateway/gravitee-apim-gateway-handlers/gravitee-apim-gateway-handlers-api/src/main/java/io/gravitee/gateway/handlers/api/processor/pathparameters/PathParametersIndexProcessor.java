@@ -16,7 +16,7 @@
 package io.gravitee.gateway.handlers.api.processor.pathparameters;
 
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 import io.gravitee.gateway.handlers.api.path.Path;
 import io.gravitee.gateway.handlers.api.path.PathParam;
 import io.gravitee.gateway.handlers.api.path.PathResolver;
@@ -29,7 +29,7 @@ import java.util.List;
  * @author Florent CHAMFROY (florent.chamfroy at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class PathParametersIndexProcessor extends AbstractProcessor<ExecutionContext> {
+public class PathParametersIndexProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     private static final char URL_PATH_SEPARATOR = '/';
 
@@ -40,7 +40,7 @@ public class PathParametersIndexProcessor extends AbstractProcessor<ExecutionCon
     }
 
     @Override
-    public void handle(ExecutionContext context) {
+    public void process(ExecutionContext context) {
         Path path = getResolvedPath(context);
         final List<PathParam> parameters = path.getParameters();
 
@@ -65,8 +65,6 @@ public class PathParametersIndexProcessor extends AbstractProcessor<ExecutionCon
             }
             context.request().pathParameters().add(currentParameter.getName(), pathInfo.substring(off));
         }
-
-        next.handle(context);
     }
 
     private Path getResolvedPath(ExecutionContext context) {
@@ -19,6 +19,7 @@ import io.gravitee.common.util.DataEncryptor;
 import io.gravitee.gateway.handlers.api.manager.ApiManager;
 import io.gravitee.gateway.handlers.api.manager.endpoint.ApiManagementEndpoint;
 import io.gravitee.gateway.handlers.api.manager.endpoint.ApisManagementEndpoint;
+import io.gravitee.gateway.handlers.api.manager.endpoint.JwtTokenCacheManagementEndpoint;
 import io.gravitee.gateway.handlers.api.manager.endpoint.NodeApisEndpointInitializer;
 import io.gravitee.gateway.handlers.api.manager.impl.ApiManagerImpl;
 import io.gravitee.gateway.policy.PolicyPluginFactory;
@@ -55,6 +56,11 @@ public class ApiHandlerConfiguration {
         return new ApiManagementEndpoint();
     }
 
+    @Bean
+    public JwtTokenCacheManagementEndpoint jwtTokenCacheManagementEndpoint() {
+        return new JwtTokenCacheManagementEndpoint();
+    }
+
     @Bean
     public NodeApisEndpointInitializer nodeApisEndpointInitializer() {
         return new NodeApisEndpointInitializer();
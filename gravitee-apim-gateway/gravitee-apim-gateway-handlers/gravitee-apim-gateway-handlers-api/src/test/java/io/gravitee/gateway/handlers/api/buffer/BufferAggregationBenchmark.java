@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.buffer;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
+import io.gravitee.gateway.buffer.netty.PooledBufferFactoryImpl;
+import io.gravitee.gateway.buffer.netty.PooledBufferImpl;
+import io.netty.buffer.Unpooled;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the aggregation of a body, as done by the failover to replay the request body or by the policies transforming
+ * the whole content, between the default unpooled buffers and the pooled composite buffers. The chunks are views over
+ * the received content, and the aggregated body is consumed as a native buffer, as when it is written to an endpoint.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BufferAggregationBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(BufferAggregationBenchmark.class.getSimpleName()).forks(1).build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({ "1024", "16384" })
+    private int chunkSize;
+
+    @Param({ "8", "128" })
+    private int chunks;
+
+    private final BufferFactoryImpl unpooledFactory = new BufferFactoryImpl();
+    private final PooledBufferFactoryImpl pooledFactory = new PooledBufferFactoryImpl();
+
+    private Buffer[] receivedChunks;
+
+    @Setup
+    public void setup() {
+        final byte[] content = new byte[chunkSize];
+        Arrays.fill(content, (byte) 'a');
+
+        receivedChunks = new Buffer[chunks];
+        for (int i = 0; i < chunks; i++) {
+            receivedChunks[i] = unpooledFactory.buffer(Unpooled.wrappedBuffer(content));
+        }
+    }
+
+    @Benchmark
+    public void bench_unpooled(Blackhole blackhole) {
+        final Buffer body = unpooledFactory.buffer();
+        for (Buffer chunk : receivedChunks) {
+            body.appendBuffer(chunk);
+        }
+        blackhole.consume(body.getNativeBuffer());
+    }
+
+    @Benchmark
+    public void bench_pooled(Blackhole blackhole) {
+        final PooledBufferImpl body = pooledFactory.buffer();
+        for (Buffer chunk : receivedChunks) {
+            body.appendBuffer(chunk);
+        }
+        blackhole.consume(body.getNativeBuffer());
+        body.release();
+    }
+}
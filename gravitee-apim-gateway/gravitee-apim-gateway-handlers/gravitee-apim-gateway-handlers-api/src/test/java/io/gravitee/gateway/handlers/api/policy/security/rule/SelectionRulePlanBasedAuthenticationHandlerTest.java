@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.policy.security.rule;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.definition.model.Plan;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.security.core.AuthenticationContext;
+import io.gravitee.gateway.security.core.AuthenticationHandler;
+import io.gravitee.gateway.security.core.SimpleAuthenticationContext;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SelectionRulePlanBasedAuthenticationHandlerTest {
+
+    private AuthenticationHandler handler;
+
+    private Request request;
+
+    private HttpHeaders headers;
+
+    @Before
+    public void setUp() {
+        handler = mock(AuthenticationHandler.class);
+        when(handler.canHandle(any())).thenReturn(true);
+
+        request = mock(Request.class);
+        headers = new HttpHeaders();
+        when(request.headers()).thenReturn(headers);
+    }
+
+    @Test
+    public void shouldHandle_selectionRuleFulfilled() {
+        SelectionRulePlanBasedAuthenticationHandler authenticationHandler = new SelectionRulePlanBasedAuthenticationHandler(
+            handler,
+            plan("{#request.headers['X-Plan'][0] == 'gold'}")
+        );
+
+        headers.set("X-Plan", "gold");
+        assertTrue(authenticationHandler.canHandle(new SimpleAuthenticationContext(request)));
+
+        // The same parsed rule is evaluated against each request
+        headers.set("X-Plan", "silver");
+        assertFalse(authenticationHandler.canHandle(new SimpleAuthenticationContext(request)));
+    }
+
+    @Test
+    public void shouldHandle_selectionRuleOnContextAttributes() {
+        SelectionRulePlanBasedAuthenticationHandler authenticationHandler = new SelectionRulePlanBasedAuthenticationHandler(
+            handler,
+            plan("{#context.attributes['client_id'] == 'my-client'}")
+        );
+
+        AuthenticationContext context = new SimpleAuthenticationContext(request);
+        context.set("client_id", "my-client");
+
+        assertTrue(authenticationHandler.canHandle(context));
+    }
+
+    @Test
+    public void shouldNotHandle_invalidSelectionRule() {
+        SelectionRulePlanBasedAuthenticationHandler authenticationHandler = new SelectionRulePlanBasedAuthenticationHandler(
+            handler,
+            plan("{#request.headers[}")
+        );
+
+        assertFalse(authenticationHandler.canHandle(new SimpleAuthenticationContext(request)));
+    }
+
+    @Test
+    public void shouldNotHandle_handlerCanNotHandle() {
+        when(handler.canHandle(any())).thenReturn(false);
+        SelectionRulePlanBasedAuthenticationHandler authenticationHandler = new SelectionRulePlanBasedAuthenticationHandler(
+            handler,
+            plan("{true}")
+        );
+
+        assertFalse(authenticationHandler.canHandle(new SimpleAuthenticationContext(request)));
+        verify(request, never()).headers();
+    }
+
+    private static Plan plan(String selectionRule) {
+        Plan plan = new Plan();
+        plan.setId("plan-id");
+        plan.setName("My plan");
+        plan.setSelectionRule(selectionRule);
+        return plan;
+    }
+}
@@ -19,7 +19,6 @@ import io.gravitee.common.http.HttpVersion;
 import io.gravitee.common.http.IdGenerator;
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.Response;
-import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.http2.HttpFrame;
 import io.vertx.core.http.HttpServerRequest;
@@ -43,7 +42,8 @@ public class VertxHttp2ServerRequest extends VertxHttpServerRequest {
     public Request customFrameHandler(Handler<HttpFrame> frameHandler) {
         getNativeServerRequest()
             .customFrameHandler(
-                frame -> frameHandler.handle(HttpFrame.create(frame.type(), frame.flags(), Buffer.buffer(frame.payload().getBytes())))
+                frame ->
+                    frameHandler.handle(HttpFrame.create(frame.type(), frame.flags(), BUFFER_FACTORY.buffer(frame.payload().getByteBuf())))
             );
 
         return this;
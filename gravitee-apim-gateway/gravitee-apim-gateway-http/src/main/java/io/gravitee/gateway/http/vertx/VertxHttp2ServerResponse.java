@@ -18,6 +18,8 @@ package io.gravitee.gateway.http.vertx;
 import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.gateway.api.Response;
 import io.gravitee.gateway.api.http2.HttpFrame;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.MultiMap;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -31,24 +33,23 @@ public class VertxHttp2ServerResponse extends VertxHttpServerResponse {
 
     @Override
     public Response writeCustomFrame(HttpFrame frame) {
-        serverResponse.writeCustomFrame(frame.type(), frame.flags(), io.vertx.core.buffer.Buffer.buffer(frame.payload().getBytes()));
+        serverResponse.writeCustomFrame(
+            frame.type(),
+            frame.flags(),
+            io.vertx.core.buffer.Buffer.buffer((ByteBuf) frame.payload().getNativeBuffer())
+        );
 
         return this;
     }
 
     protected void writeHeaders() {
+        super.writeHeaders();
+
         // As per https://tools.ietf.org/html/rfc7540#section-8.1.2.2
         // connection-specific header fields must be remove from response headers
-        headers.forEach(
-            (headerName, headerValues) -> {
-                if (
-                    !headerName.equalsIgnoreCase(HttpHeaders.CONNECTION) &&
-                    !headerName.equalsIgnoreCase(HttpHeaders.KEEP_ALIVE) &&
-                    !headerName.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)
-                ) {
-                    serverResponse.putHeader(headerName, headerValues);
-                }
-            }
-        );
+        final MultiMap nativeHeaders = serverResponse.headers();
+        nativeHeaders.remove(HttpHeaders.CONNECTION);
+        nativeHeaders.remove(HttpHeaders.KEEP_ALIVE);
+        nativeHeaders.remove(HttpHeaders.TRANSFER_ENCODING);
     }
 }
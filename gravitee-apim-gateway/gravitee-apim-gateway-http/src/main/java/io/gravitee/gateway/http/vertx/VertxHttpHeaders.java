@@ -0,0 +1,618 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.vertx;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.MediaType;
+import io.vertx.core.MultiMap;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link HttpHeaders} backed by the native Vert.x headers of a request or a response, to avoid copying all the
+ * headers when only a few of them are read or written.
+ *
+ * Read-only operations, and the updates of a write-through view, go straight to the native headers. The values, key
+ * set and entries are views over the headers: updating them updates the headers as any other update does. The headers
+ * are only copied into this map, which is then <i>detached</i> from the native headers, when:
+ * <ul>
+ *     <li>a copy-on-write view is updated, including through its values, key set or entries,</li>
+ *     <li>a compound update is asked for, such as {@link #compute(String, BiFunction)} or
+ *     {@link #putIfAbsent(String, List)}.</li>
+ * </ul>
+ *
+ * @author GraviteeSource Team
+ */
+public class VertxHttpHeaders extends HttpHeaders {
+
+    private MultiMap nativeHeaders;
+
+    private final boolean writeThrough;
+
+    private VertxHttpHeaders(MultiMap nativeHeaders, boolean writeThrough) {
+        this.nativeHeaders = nativeHeaders;
+        this.writeThrough = writeThrough;
+    }
+
+    /**
+     * A view over headers which must be left untouched, such as the headers of the incoming request: they are copied
+     * on the first update.
+     */
+    static VertxHttpHeaders copyOnWrite(MultiMap nativeHeaders) {
+        return new VertxHttpHeaders(nativeHeaders, false);
+    }
+
+    /**
+     * A view over headers which are updated in place, such as the headers of the outgoing response.
+     */
+    static VertxHttpHeaders writeThrough(MultiMap nativeHeaders) {
+        return new VertxHttpHeaders(nativeHeaders, true);
+    }
+
+    /**
+     * @return <code>true</code> if the headers have been copied and are no longer backed by the native headers.
+     */
+    public boolean detached() {
+        return nativeHeaders == null;
+    }
+
+    private void detach() {
+        if (nativeHeaders != null) {
+            final MultiMap headers = nativeHeaders;
+            nativeHeaders = null;
+            for (Map.Entry<String, String> header : headers) {
+                super.add(header.getKey(), header.getValue());
+            }
+        }
+    }
+
+    private boolean updatable() {
+        if (nativeHeaders != null && !writeThrough) {
+            detach();
+        }
+        return nativeHeaders != null;
+    }
+
+    private static List<String> valuesOrNull(List<String> values) {
+        return values.isEmpty() ? null : values;
+    }
+
+    private List<String> nativeValues(Object key) {
+        return (key instanceof String) ? valuesOrNull(nativeHeaders.getAll((String) key)) : null;
+    }
+
+    /**
+     * @return the names of the native headers, in their order of insertion.
+     */
+    private List<String> nativeNames() {
+        final List<String> names = new ArrayList<>();
+        for (Map.Entry<String, String> header : nativeHeaders) {
+            if (!containsIgnoreCase(names, header.getKey())) {
+                names.add(header.getKey());
+            }
+        }
+        return names;
+    }
+
+    private static boolean containsIgnoreCase(List<String> names, String name) {
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a read-only copy of the native headers, grouped by name in their order of insertion.
+     */
+    private Map<String, List<String>> nativeMap() {
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        forEach(headers::put);
+        return Collections.unmodifiableMap(headers);
+    }
+
+    @Override
+    public String getFirst(String headerName) {
+        return (nativeHeaders != null) ? nativeHeaders.get(headerName) : super.getFirst(headerName);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (nativeHeaders != null) {
+            return key instanceof String && nativeHeaders.contains((String) key);
+        }
+        return super.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return (nativeHeaders != null) ? nativeHeaders.size() : super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (nativeHeaders != null) ? nativeHeaders.isEmpty() : super.isEmpty();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super List<String>> action) {
+        if (nativeHeaders == null) {
+            super.forEach(action);
+            return;
+        }
+
+        // Native headers are iterated value by value. Most names have a single value, only the names having several
+        // ones are remembered to be given once, at the place of their first value.
+        List<String> grouped = null;
+        for (Map.Entry<String, String> header : nativeHeaders) {
+            final String name = header.getKey();
+            final List<String> values = nativeHeaders.getAll(name);
+            if (values.size() > 1) {
+                if (grouped == null) {
+                    grouped = new ArrayList<>(2);
+                } else if (containsIgnoreCase(grouped, name)) {
+                    continue;
+                }
+                grouped.add(name);
+            }
+            action.accept(name, new HeaderValues(name, values));
+        }
+    }
+
+    @Override
+    public String contentType() {
+        return getFirst(CONTENT_TYPE);
+    }
+
+    @Override
+    public void add(String headerName, String headerValue) {
+        if (updatable()) {
+            nativeHeaders.add(headerName, headerValue);
+        } else {
+            super.add(headerName, headerValue);
+        }
+    }
+
+    @Override
+    public void set(String headerName, String headerValue) {
+        if (updatable()) {
+            nativeHeaders.set(headerName, headerValue);
+        } else {
+            super.set(headerName, headerValue);
+        }
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        if (updatable()) {
+            values.forEach(nativeHeaders::set);
+        } else {
+            super.setAll(values);
+        }
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        if (updatable()) {
+            final List<String> previous = nativeHeaders.getAll(key);
+            nativeHeaders.set(key, value);
+            return valuesOrNull(previous);
+        }
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<String>> map) {
+        if (updatable()) {
+            map.forEach(nativeHeaders::set);
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        if (nativeHeaders != null && !(key instanceof String)) {
+            return null;
+        }
+
+        if (updatable()) {
+            final List<String> previous = nativeHeaders.getAll((String) key);
+            nativeHeaders.remove((String) key);
+            return valuesOrNull(previous);
+        }
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        if (nativeHeaders != null && !writeThrough) {
+            nativeHeaders = null;
+        } else if (nativeHeaders != null) {
+            nativeHeaders.clear();
+        }
+        super.clear();
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (nativeHeaders != null) {
+            final List<String> values = nativeValues(key);
+            return (values != null) ? new HeaderValues((String) key, values) : null;
+        }
+        return super.get(key);
+    }
+
+    @Override
+    public List<String> getOrDefault(Object key, List<String> defaultValue) {
+        if (nativeHeaders != null) {
+            final List<String> values = get(key);
+            return (values != null) ? values : defaultValue;
+        }
+        return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return (nativeHeaders != null) ? nativeMap().containsValue(value) : super.containsValue(value);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return (nativeHeaders != null) ? new KeySet() : super.keySet();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        return (nativeHeaders != null) ? new Values() : super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        return (nativeHeaders != null) ? new EntrySet() : super.entrySet();
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        if (nativeHeaders != null) {
+            final Map<String, String> headers = new LinkedHashMap<>();
+            forEach((name, values) -> headers.put(name, values.get(0)));
+            return headers;
+        }
+        return super.toSingleValueMap();
+    }
+
+    @Override
+    public List<MediaType> getAccept() {
+        if (nativeHeaders != null) {
+            // Parsed from a copy of the accept header only
+            final HttpHeaders accept = new HttpHeaders();
+            nativeHeaders.getAll(ACCEPT).forEach(value -> accept.add(ACCEPT, value));
+            return accept.getAccept();
+        }
+        return super.getAccept();
+    }
+
+    @Override
+    public List<String> putIfAbsent(String key, List<String> value) {
+        detach();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        detach();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, List<String> oldValue, List<String> newValue) {
+        detach();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public List<String> replace(String key, List<String> value) {
+        detach();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super List<String>, ? extends List<String>> function) {
+        detach();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public List<String> computeIfAbsent(String key, Function<? super String, ? extends List<String>> mappingFunction) {
+        detach();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public List<String> computeIfPresent(
+        String key,
+        BiFunction<? super String, ? super List<String>, ? extends List<String>> remappingFunction
+    ) {
+        detach();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public List<String> compute(String key, BiFunction<? super String, ? super List<String>, ? extends List<String>> remappingFunction) {
+        detach();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public List<String> merge(
+        String key,
+        List<String> value,
+        BiFunction<? super List<String>, ? super List<String>, ? extends List<String>> remappingFunction
+    ) {
+        detach();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (nativeHeaders != null) {
+            return this == o || nativeMap().equals(o);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return (nativeHeaders != null) ? nativeMap().hashCode() : super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (nativeHeaders != null) ? nativeMap().toString() : super.toString();
+    }
+
+    /**
+     * The values of a header, read when the header was asked for. Updating them updates the header, detaching copy-on-write
+     * headers first.
+     */
+    private final class HeaderValues extends AbstractList<String> {
+
+        private final String name;
+
+        private final List<String> values;
+
+        private HeaderValues(String name, List<String> values) {
+            this.name = name;
+            this.values = values;
+        }
+
+        @Override
+        public String get(int index) {
+            return current().get(index);
+        }
+
+        @Override
+        public int size() {
+            return current().size();
+        }
+
+        @Override
+        public String set(int index, String value) {
+            final List<String> target = updatable();
+            final String previous = target.set(index, value);
+            updated(target);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, String value) {
+            final List<String> target = updatable();
+            target.add(index, value);
+            updated(target);
+        }
+
+        @Override
+        public String remove(int index) {
+            final List<String> target = updatable();
+            final String previous = target.remove(index);
+            updated(target);
+            return previous;
+        }
+
+        private List<String> current() {
+            if (nativeHeaders != null) {
+                return values;
+            }
+
+            final List<String> detached = VertxHttpHeaders.super.get(name);
+            return (detached != null) ? detached : Collections.emptyList();
+        }
+
+        private List<String> updatable() {
+            if (VertxHttpHeaders.this.updatable()) {
+                return values;
+            }
+
+            List<String> detached = VertxHttpHeaders.super.get(name);
+            if (detached == null) {
+                detached = new ArrayList<>();
+                VertxHttpHeaders.super.put(name, detached);
+            }
+            return detached;
+        }
+
+        private void updated(List<String> target) {
+            if (nativeHeaders != null) {
+                if (target.isEmpty()) {
+                    nativeHeaders.remove(name);
+                } else {
+                    nativeHeaders.set(name, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterates over the names of the native headers, removing a name removes the header.
+     */
+    private abstract class NameIterator<T> implements Iterator<T> {
+
+        private final Iterator<String> names = nativeNames().iterator();
+
+        private String current;
+
+        @Override
+        public boolean hasNext() {
+            return names.hasNext();
+        }
+
+        @Override
+        public T next() {
+            current = names.next();
+            return next(current);
+        }
+
+        protected abstract T next(String name);
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            VertxHttpHeaders.this.remove(current);
+            current = null;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            if (nativeHeaders == null) {
+                return VertxHttpHeaders.super.keySet().iterator();
+            }
+
+            return new NameIterator<String>() {
+                @Override
+                protected String next(String name) {
+                    return name;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return VertxHttpHeaders.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return VertxHttpHeaders.this.remove(o) != null;
+        }
+
+        @Override
+        public void clear() {
+            VertxHttpHeaders.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<List<String>> {
+
+        @Override
+        public Iterator<List<String>> iterator() {
+            if (nativeHeaders == null) {
+                return VertxHttpHeaders.super.values().iterator();
+            }
+
+            return new NameIterator<List<String>>() {
+                @Override
+                protected List<String> next(String name) {
+                    return new HeaderValues(name, nativeHeaders.getAll(name));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return VertxHttpHeaders.this.size();
+        }
+
+        @Override
+        public void clear() {
+            VertxHttpHeaders.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, List<String>>> {
+
+        @Override
+        public Iterator<Map.Entry<String, List<String>>> iterator() {
+            if (nativeHeaders == null) {
+                return VertxHttpHeaders.super.entrySet().iterator();
+            }
+
+            return new NameIterator<Map.Entry<String, List<String>>>() {
+                @Override
+                protected Map.Entry<String, List<String>> next(String name) {
+                    return new HeaderEntry(name, new HeaderValues(name, nativeHeaders.getAll(name)));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return VertxHttpHeaders.this.size();
+        }
+
+        @Override
+        public void clear() {
+            VertxHttpHeaders.this.clear();
+        }
+    }
+
+    private final class HeaderEntry extends AbstractMap.SimpleEntry<String, List<String>> {
+
+        private HeaderEntry(String name, List<String> values) {
+            super(name, values);
+        }
+
+        @Override
+        public List<String> setValue(List<String> value) {
+            super.setValue(value);
+            return put(getKey(), value);
+        }
+    }
+}
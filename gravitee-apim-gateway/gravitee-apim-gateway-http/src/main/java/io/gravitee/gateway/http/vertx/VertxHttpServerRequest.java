@@ -28,11 +28,10 @@ import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.http2.HttpFrame;
 import io.gravitee.gateway.api.ws.WebSocket;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
 import io.gravitee.reporter.api.http.Metrics;
-import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.net.SocketAddress;
-import java.util.Map;
 import javax.net.ssl.SSLSession;
 
 /**
@@ -44,6 +43,12 @@ import javax.net.ssl.SSLSession;
  */
 public class VertxHttpServerRequest implements Request {
 
+    /**
+     * Chunks received by Vert.x are already copied from the Netty pooled buffers to unpooled heap buffers, they are
+     * then wrapped as is, without any further copy nor release.
+     */
+    static final BufferFactoryImpl BUFFER_FACTORY = new BufferFactoryImpl();
+
     private final String id;
     private final long timestamp;
 
@@ -125,11 +130,7 @@ public class VertxHttpServerRequest implements Request {
     @Override
     public HttpHeaders headers() {
         if (headers == null) {
-            MultiMap vertxHeaders = serverRequest.headers();
-            headers = new HttpHeaders(vertxHeaders.size());
-            for (Map.Entry<String, String> header : vertxHeaders) {
-                headers.add(header.getKey(), header.getValue());
-            }
+            headers = VertxHttpHeaders.copyOnWrite(serverRequest.headers());
         }
 
         return headers;
@@ -195,7 +196,7 @@ public class VertxHttpServerRequest implements Request {
         if (!serverRequest.isEnded()) {
             serverRequest.handler(
                 event -> {
-                    bodyHandler.handle(Buffer.buffer(event.getBytes()));
+                    bodyHandler.handle(BUFFER_FACTORY.buffer(event.getByteBuf()));
                     metrics.setRequestContentLength(metrics.getRequestContentLength() + event.length());
                 }
             );
@@ -33,13 +33,14 @@ public class VertxHttpServerResponse implements Response {
 
     protected final HttpServerResponse serverResponse;
     private final Request serverRequest;
-    protected final HttpHeaders headers = new HttpHeaders();
+    protected final VertxHttpHeaders headers;
 
     protected HttpHeaders trailers;
 
     public VertxHttpServerResponse(final VertxHttpServerRequest serverRequest) {
         this.serverRequest = serverRequest;
         this.serverResponse = serverRequest.getNativeServerRequest().response();
+        this.headers = VertxHttpHeaders.writeThrough(serverResponse.headers());
     }
 
     @Override
@@ -159,7 +160,13 @@ public class VertxHttpServerResponse implements Response {
         return !serverResponse.closed() && !serverResponse.ended();
     }
 
+    /**
+     * Headers are written in place, unless they had to be copied in the meantime.
+     */
     protected void writeHeaders() {
-        headers.forEach(serverResponse::putHeader);
+        if (headers.detached()) {
+            serverResponse.headers().clear();
+            headers.forEach(serverResponse::putHeader);
+        }
     }
 }
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.vertx;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.vertx.core.MultiMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class VertxHttpHeadersTest {
+
+    private MultiMap nativeHeaders;
+
+    @Before
+    public void setUp() {
+        nativeHeaders = MultiMap.caseInsensitiveMultiMap();
+        nativeHeaders.add("Content-Type", "application/json");
+        nativeHeaders.add("Accept", "text/plain");
+        nativeHeaders.add("Accept", "application/json");
+    }
+
+    @Test
+    public void shouldReadThroughNativeHeaders() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+
+        assertEquals(Arrays.asList("text/plain", "application/json"), headers.get("Accept"));
+        assertEquals(Collections.singletonList("application/json"), headers.getOrDefault("Content-Type", null));
+        assertNull(headers.get("Authorization"));
+        assertEquals("application/json", headers.getFirst("Content-Type"));
+        assertEquals("application/json", headers.contentType());
+        assertTrue(headers.containsKey("Accept"));
+        assertEquals(2, headers.keySet().size());
+        assertEquals(2, headers.entrySet().size());
+        assertEquals("text/plain", headers.toSingleValueMap().get("Accept"));
+        assertNotNull(headers.toString());
+        headers.hashCode();
+
+        assertFalse(headers.detached());
+    }
+
+    @Test
+    public void shouldSeeNativeHeadersUpdatedAfterCreation() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+
+        nativeHeaders.set("Authorization", "Bearer token");
+
+        assertEquals(Collections.singletonList("Bearer token"), headers.get("Authorization"));
+    }
+
+    @Test
+    public void shouldCopyOnUpdateOfValues() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+
+        final List<String> accept = headers.get("Accept");
+        accept.add("text/html");
+
+        assertTrue(headers.detached());
+        assertEquals(Arrays.asList("text/plain", "application/json", "text/html"), accept);
+        assertEquals(Arrays.asList("text/plain", "application/json", "text/html"), headers.get("Accept"));
+        assertEquals(2, nativeHeaders.getAll("Accept").size());
+    }
+
+    @Test
+    public void shouldCopyOnUpdateOfKeySet() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+
+        headers.keySet().removeIf(name -> name.equalsIgnoreCase("Accept"));
+
+        assertTrue(headers.detached());
+        assertFalse(headers.containsKey("Accept"));
+        assertEquals(1, headers.size());
+        assertTrue(nativeHeaders.contains("Accept"));
+    }
+
+    @Test
+    public void shouldWriteThroughValues() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.writeThrough(nativeHeaders);
+
+        headers.get("Accept").add("text/html");
+        headers.get("Content-Type").set(0, "text/plain");
+
+        assertFalse(headers.detached());
+        assertEquals(Arrays.asList("text/plain", "application/json", "text/html"), nativeHeaders.getAll("Accept"));
+        assertEquals("text/plain", nativeHeaders.get("Content-Type"));
+
+        headers.get("Content-Type").clear();
+
+        assertFalse(nativeHeaders.contains("Content-Type"));
+    }
+
+    @Test
+    public void shouldWriteThroughKeySetAndEntries() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.writeThrough(nativeHeaders);
+        nativeHeaders.add("X-Custom", "value");
+
+        headers.keySet().removeIf(name -> name.equalsIgnoreCase("Accept"));
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase("X-Custom")) {
+                header.setValue(Collections.singletonList("updated"));
+            }
+        }
+        headers.values().removeIf(values -> values.contains("application/json"));
+
+        assertFalse(headers.detached());
+        assertFalse(nativeHeaders.contains("Accept"));
+        assertFalse(nativeHeaders.contains("Content-Type"));
+        assertEquals("updated", nativeHeaders.get("X-Custom"));
+        assertEquals(Collections.singleton("X-Custom"), headers.keySet());
+    }
+
+    @Test
+    public void shouldSeeDetachedHeadersThroughViews() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+        final Set<String> names = headers.keySet();
+        final List<String> accept = headers.get("Accept");
+
+        headers.set("X-Custom", "value");
+
+        assertTrue(headers.detached());
+        assertEquals(3, names.size());
+        assertTrue(names.contains("X-Custom"));
+        assertEquals(Arrays.asList("text/plain", "application/json"), accept);
+    }
+
+    @Test
+    public void shouldCopyOnFirstWrite() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+
+        headers.set("X-Custom", "value");
+        headers.remove("Content-Type");
+
+        assertTrue(headers.detached());
+        assertEquals("value", headers.getFirst("X-Custom"));
+        assertNull(headers.getFirst("Content-Type"));
+        assertEquals(Arrays.asList("text/plain", "application/json"), headers.get("Accept"));
+
+        // The native headers are left untouched
+        assertNull(nativeHeaders.get("X-Custom"));
+        assertEquals("application/json", nativeHeaders.get("Content-Type"));
+    }
+
+    @Test
+    public void shouldUpdateValuesOnceDetached() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+
+        headers.add("X-Custom", "value");
+        headers.get("Accept").add("text/html");
+
+        assertEquals(Arrays.asList("text/plain", "application/json", "text/html"), headers.get("Accept"));
+        assertEquals(2, nativeHeaders.getAll("Accept").size());
+    }
+
+    @Test
+    public void shouldWriteThroughNativeHeaders() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.writeThrough(nativeHeaders);
+
+        headers.set("X-Custom", "value");
+        headers.put("X-Values", Arrays.asList("first", "second"));
+        headers.remove("Content-Type");
+
+        assertFalse(headers.detached());
+        assertEquals("value", nativeHeaders.get("X-Custom"));
+        assertEquals(Arrays.asList("first", "second"), nativeHeaders.getAll("X-Values"));
+        assertFalse(nativeHeaders.contains("Content-Type"));
+    }
+
+    @Test
+    public void shouldDetachOnCompoundUpdate() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.writeThrough(nativeHeaders);
+
+        headers.computeIfAbsent("X-Custom", name -> Collections.singletonList("value"));
+
+        assertTrue(headers.detached());
+        assertEquals(Collections.singletonList("value"), headers.get("X-Custom"));
+        assertFalse(nativeHeaders.contains("X-Custom"));
+    }
+
+    @Test
+    public void shouldIgnoreCaseOfNames() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.copyOnWrite(nativeHeaders);
+
+        assertEquals("application/json", headers.getFirst("content-type"));
+        assertEquals(2, headers.get("ACCEPT").size());
+        assertTrue(headers.containsKey("accept"));
+
+        headers.set("x-custom", "value");
+
+        assertTrue(headers.detached());
+        assertEquals("application/json", headers.getFirst("content-type"));
+        assertEquals(2, headers.get("ACCEPT").size());
+        assertEquals("value", headers.getFirst("X-Custom"));
+    }
+
+    @Test
+    public void shouldGroupValuesByName() {
+        final VertxHttpHeaders headers = VertxHttpHeaders.writeThrough(nativeHeaders);
+        nativeHeaders.add("content-type", "text/plain");
+
+        final Map<String, List<String>> copy = new HttpHeaders();
+        headers.forEach(copy::put);
+
+        assertEquals(2, copy.size());
+        assertEquals(Arrays.asList("application/json", "text/plain"), copy.get("Content-Type"));
+    }
+}
@@ -45,6 +45,12 @@ public class OrganizationFlowResolver extends ConditionalFlowResolver {
         this.organizationManager = organizationManager;
     }
 
+    @Override
+    protected Object deployment(ExecutionContext context) {
+        // A new organization is registered on each deployment
+        return organizationManager.getCurrentOrganization();
+    }
+
     @Override
     protected List<Flow> resolve0(ExecutionContext context) {
         Organization currentOrganization = organizationManager.getCurrentOrganization();
@@ -17,7 +17,6 @@ package io.gravitee.gateway.platform;
 
 import io.gravitee.definition.model.Policy;
 import io.gravitee.gateway.policy.PolicyFactory;
-import io.gravitee.gateway.policy.impl.CachedPolicyConfigurationFactory;
 import io.gravitee.gateway.policy.impl.DefaultPolicyManager;
 import java.util.HashSet;
 import java.util.Set;
@@ -53,16 +52,6 @@ public class PlatformPolicyManager extends DefaultPolicyManager {
         }
     }
 
-    @Override
-    protected void doStop() throws Exception {
-        super.doStop();
-        // TODO: how /when to clear cache
-        // policyFactory.clearCache();
-        if (policyConfigurationFactory instanceof CachedPolicyConfigurationFactory) {
-            ((CachedPolicyConfigurationFactory) policyConfigurationFactory).clear();
-        }
-    }
-
     @Override
     public Set<Policy> dependencies() {
         return dependencies;
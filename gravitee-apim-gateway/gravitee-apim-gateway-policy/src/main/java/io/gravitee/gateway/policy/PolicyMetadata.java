@@ -37,5 +37,25 @@ public interface PolicyMetadata {
 
     Method method(Class<? extends Annotation> type);
 
+    /**
+     * The invoker of the policy method annotated with the given type, prepared once for all the instances of the policy.
+     *
+     * @param type the annotation of the method.
+     * @return the invoker of the method or <code>null</code> if there is no such method or it has not been prepared.
+     */
+    default PolicyMethodInvoker invoker(Class<? extends Annotation> type) {
+        return null;
+    }
+
     boolean accept(StreamType stream);
+
+    /**
+     * Whether the policy does not keep any state between two executions, in which case a single instance of the policy
+     * is created for a given configuration and shared between requests.
+     *
+     * @return <code>true</code> if the policy instances can be reused.
+     */
+    default boolean stateless() {
+        return false;
+    }
 }
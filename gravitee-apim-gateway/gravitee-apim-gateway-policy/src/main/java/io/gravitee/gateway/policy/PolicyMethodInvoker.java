@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.policy;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.Response;
+import io.gravitee.policy.api.PolicyChain;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes an annotated method of a policy (ie. <code>@OnRequest</code>).
+ *
+ * The arguments of a policy method are picked by type among the policy chain, the execution context, the request and
+ * the response. This layout is resolved once, when the invoker is created, and bound to a {@link MethodHandle}, so
+ * that invoking the policy method does not require any reflective lookup nor argument array.
+ *
+ * @author GraviteeSource Team
+ */
+public class PolicyMethodInvoker {
+
+    private static final Class<?>[] ARGUMENT_TYPES = { PolicyChain.class, ExecutionContext.class, Request.class, Response.class };
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(
+        Object.class,
+        Object.class,
+        Object.class,
+        Object.class,
+        Object.class,
+        Object.class
+    );
+
+    private final Method method;
+
+    /**
+     * Invoker taking <code>(policy, chain, context, request, response)</code> arguments, or <code>null</code> if the
+     * parameters of the method can only be resolved at invocation time.
+     */
+    private final MethodHandle invoker;
+
+    public PolicyMethodInvoker(Method method) {
+        this.method = method;
+        this.invoker = bind(method);
+    }
+
+    public Method method() {
+        return method;
+    }
+
+    public Object invoke(Object policy, PolicyChain chain, ExecutionContext context) throws PolicyException {
+        if (invoker == null) {
+            return invokeReflectively(policy, chain, context, context.request(), context.response());
+        }
+
+        try {
+            return (Object) invoker.invokeExact(
+                policy,
+                (Object) chain,
+                (Object) context,
+                (Object) context.request(),
+                (Object) context.response()
+            );
+        } catch (Throwable t) {
+            // Keep the same failure as a reflective invocation of the policy method.
+            throw new PolicyException(new InvocationTargetException(t));
+        }
+    }
+
+    private static MethodHandle bind(Method method) {
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+
+        // The receiver of the method is always the first argument of the invoker.
+        final int[] reorder = new int[parameterTypes.length + 1];
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            final int argument = argumentIndex(parameterTypes[i]);
+            if (argument == -1) {
+                return null;
+            }
+            reorder[i + 1] = argument + 1;
+        }
+
+        try {
+            final MethodHandle handle = MethodHandles
+                .lookup()
+                .unreflect(method)
+                .asType(MethodType.genericMethodType(parameterTypes.length + 1));
+
+            return MethodHandles.permuteArguments(handle, INVOKER_TYPE, reorder);
+        } catch (IllegalAccessException iae) {
+            return null;
+        }
+    }
+
+    private static int argumentIndex(Class<?> parameterType) {
+        for (int i = 0; i < ARGUMENT_TYPES.length; i++) {
+            if (parameterType.isAssignableFrom(ARGUMENT_TYPES[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private Object invokeReflectively(Object policy, Object... args) throws PolicyException {
+        Class<?>[] parametersType = method.getParameterTypes();
+        Object[] parameters = new Object[parametersType.length];
+
+        int idx = 0;
+
+        // Map parameters according to parameter's type
+        for (Class<?> paramType : parametersType) {
+            parameters[idx++] = getParameterAssignableTo(paramType, args);
+        }
+
+        try {
+            return method.invoke(policy, parameters);
+        } catch (Exception ex) {
+            throw new PolicyException(ex);
+        }
+    }
+
+    private <T> T getParameterAssignableTo(Class<T> paramType, Object... args) {
+        for (Object arg : args) {
+            if (paramType.isAssignableFrom(arg.getClass())) {
+                return (T) arg;
+            }
+        }
+
+        return null;
+    }
+}
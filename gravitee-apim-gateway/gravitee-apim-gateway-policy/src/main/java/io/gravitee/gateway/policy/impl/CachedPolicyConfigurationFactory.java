@@ -15,17 +15,34 @@
  */
 package io.gravitee.gateway.policy.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.gravitee.policy.api.PolicyConfiguration;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Objects;
 
 /**
+ * A {@link io.gravitee.gateway.policy.PolicyConfigurationFactory} keeping the parsed configurations, keyed by
+ * configuration class and content.
+ *
+ * An instance is expected to be bound to a single deployment (an API or the organization) and to be cleared when it is
+ * undeployed. The number of parsed configurations is bounded, the least recently used ones being evicted first.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class CachedPolicyConfigurationFactory extends PolicyConfigurationFactoryImpl {
 
-    private final ConcurrentMap<Integer, PolicyConfiguration> cachedPolicyConfiguration = new ConcurrentHashMap<>();
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Cache<ConfigurationKey, PolicyConfiguration> cachedPolicyConfiguration;
+
+    public CachedPolicyConfigurationFactory() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CachedPolicyConfigurationFactory(long maximumSize) {
+        this.cachedPolicyConfiguration = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
 
     @Override
     public <T extends PolicyConfiguration> T create(Class<T> policyConfigurationClass, String configuration) {
@@ -33,12 +50,12 @@ public class CachedPolicyConfigurationFactory extends PolicyConfigurationFactory
             return null;
         }
 
-        Integer hash = configuration.hashCode();
-        PolicyConfiguration config = cachedPolicyConfiguration.get(hash);
+        ConfigurationKey key = new ConfigurationKey(policyConfigurationClass, configuration);
+        PolicyConfiguration config = cachedPolicyConfiguration.getIfPresent(key);
         if (config == null) {
             config = super.create(policyConfigurationClass, configuration);
             if (config != null) {
-                cachedPolicyConfiguration.put(hash, config);
+                cachedPolicyConfiguration.put(key, config);
             }
         }
 
@@ -46,6 +63,51 @@ public class CachedPolicyConfigurationFactory extends PolicyConfigurationFactory
     }
 
     public void clear() {
-        cachedPolicyConfiguration.clear();
+        cachedPolicyConfiguration.invalidateAll();
+    }
+
+    /**
+     * @return the number of configurations found in the cache.
+     */
+    public long hitCount() {
+        return cachedPolicyConfiguration.stats().hitCount();
+    }
+
+    /**
+     * @return the number of configurations which had to be parsed.
+     */
+    public long missCount() {
+        return cachedPolicyConfiguration.stats().missCount();
+    }
+
+    /**
+     * @return the number of configurations currently in the cache.
+     */
+    public long size() {
+        return cachedPolicyConfiguration.size();
+    }
+
+    private static final class ConfigurationKey {
+
+        private final Class<?> configurationClass;
+        private final String configuration;
+
+        private ConfigurationKey(Class<?> configurationClass, String configuration) {
+            this.configurationClass = configurationClass;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ConfigurationKey that = (ConfigurationKey) o;
+            return configurationClass == that.configurationClass && configuration.equals(that.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(configurationClass, configuration);
+        }
     }
 }
@@ -22,6 +22,7 @@ import io.gravitee.gateway.reactor.Reactable;
 import io.gravitee.gateway.resource.ResourceLifecycleManager;
 import io.gravitee.plugin.core.api.ConfigurablePluginManager;
 import io.gravitee.plugin.core.api.PluginClassLoader;
+import io.gravitee.plugin.core.api.PluginManifest;
 import io.gravitee.plugin.policy.PolicyClassLoaderFactory;
 import io.gravitee.plugin.policy.PolicyPlugin;
 import io.gravitee.plugin.policy.internal.PolicyMethodResolver;
@@ -33,7 +34,9 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +53,11 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
 
     private final Logger logger = LoggerFactory.getLogger(DefaultPolicyManager.class);
 
+    /**
+     * Property of the policy plugin manifest declaring that the policy does not keep any state between executions.
+     */
+    private static final String STATELESS_PROPERTY = "stateless";
+
     @Autowired
     protected ApplicationContext applicationContext;
 
@@ -60,6 +68,12 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
 
     private final Map<String, PolicyMetadata> policies = new HashMap<>();
 
+    /**
+     * Instances of the stateless policies, created once for each configuration and shared between requests until the
+     * policy manager is stopped.
+     */
+    private final Map<PolicyKey, io.gravitee.gateway.policy.Policy> statelessPolicies = new ConcurrentHashMap<>();
+
     public DefaultPolicyManager(PolicyFactory policyFactory) {
         this.policyFactory = policyFactory;
     }
@@ -130,7 +144,20 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
             );
 
         // Be sure to remove all references to policies
+        statelessPolicies.clear();
         policies.clear();
+
+        // And to their parsed configurations
+        if (policyConfigurationFactory instanceof CachedPolicyConfigurationFactory) {
+            CachedPolicyConfigurationFactory cachedFactory = (CachedPolicyConfigurationFactory) policyConfigurationFactory;
+            logger.debug(
+                "Releasing {} policy configurations (hits: {}, misses: {})",
+                cachedFactory.size(),
+                cachedFactory.hitCount(),
+                cachedFactory.missCount()
+            );
+            cachedFactory.clear();
+        }
     }
 
     protected Set<Policy> dependencies() {
@@ -193,7 +220,8 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
                         builder
                             .setPolicy(policyClass)
                             .setClassLoader(policyClassLoader)
-                            .setMethods(new PolicyMethodResolver().resolve(policyClass));
+                            .setMethods(new PolicyMethodResolver().resolve(policyClass))
+                            .setStateless(isStateless(policyPlugin));
 
                         if (policyPlugin.configuration() != null) {
                             builder.setConfiguration(
@@ -253,6 +281,16 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
             );
     }
 
+    private boolean isStateless(PolicyPlugin policyPlugin) {
+        final PluginManifest manifest = policyPlugin.manifest();
+
+        return (
+            manifest != null &&
+            manifest.properties() != null &&
+            Boolean.parseBoolean(manifest.properties().get(STATELESS_PROPERTY))
+        );
+    }
+
     public ApplicationContext getRootContext() {
         ApplicationContext rootContext = applicationContext;
         while (rootContext.getParent() != null) {
@@ -270,11 +308,52 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
         PolicyMetadata metadata = policies.get(policy);
 
         if (metadata != null && metadata.accept(streamType)) {
-            PolicyConfiguration policyConfiguration = policyConfigurationFactory.create(metadata.configuration(), configuration);
-
-            return policyFactory.create(streamType, metadata, policyConfiguration);
+            if (metadata.stateless()) {
+                return statelessPolicies.computeIfAbsent(
+                    new PolicyKey(streamType, policy, configuration),
+                    key -> create(streamType, metadata, configuration)
+                );
+            }
+
+            return create(streamType, metadata, configuration);
         }
 
         return null;
     }
+
+    private io.gravitee.gateway.policy.Policy create(StreamType streamType, PolicyMetadata metadata, String configuration) {
+        PolicyConfiguration policyConfiguration = policyConfigurationFactory.create(metadata.configuration(), configuration);
+
+        return policyFactory.create(streamType, metadata, policyConfiguration);
+    }
+
+    private static final class PolicyKey {
+
+        private final StreamType streamType;
+        private final String policy;
+        private final String configuration;
+
+        private PolicyKey(StreamType streamType, String policy, String configuration) {
+            this.streamType = streamType;
+            this.policy = policy;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PolicyKey policyKey = (PolicyKey) o;
+            return (
+                streamType == policyKey.streamType &&
+                policy.equals(policyKey.policy) &&
+                Objects.equals(configuration, policyKey.configuration)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(streamType, policy, configuration);
+        }
+    }
 }
@@ -20,8 +20,8 @@ import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.stream.ReadWriteStream;
 import io.gravitee.gateway.policy.Policy;
 import io.gravitee.gateway.policy.PolicyException;
+import io.gravitee.gateway.policy.PolicyMethodInvoker;
 import io.gravitee.policy.api.PolicyChain;
-import java.lang.reflect.Method;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -31,9 +31,9 @@ public class ExecutablePolicy implements Policy {
 
     private final String id;
     private final Object policy;
-    private final Method headMethod, streamMethod;
+    private final PolicyMethodInvoker headMethod, streamMethod;
 
-    ExecutablePolicy(String id, Object policy, Method headMethod, Method streamMethod) {
+    ExecutablePolicy(String id, Object policy, PolicyMethodInvoker headMethod, PolicyMethodInvoker streamMethod) {
         this.id = id;
         this.policy = policy;
         this.headMethod = headMethod;
@@ -47,12 +47,12 @@ public class ExecutablePolicy implements Policy {
 
     @Override
     public void execute(PolicyChain chain, ExecutionContext context) throws PolicyException {
-        invoke(headMethod, chain, context, context.request(), context.response());
+        invoke(headMethod, chain, context);
     }
 
     @Override
     public ReadWriteStream<Buffer> stream(PolicyChain chain, ExecutionContext context) throws PolicyException {
-        Object stream = invoke(streamMethod, chain, context, context.request(), context.response());
+        Object stream = invoke(streamMethod, chain, context);
         return (stream != null) ? (ReadWriteStream<Buffer>) stream : null;
     }
 
@@ -66,33 +66,9 @@ public class ExecutablePolicy implements Policy {
         return headMethod != null;
     }
 
-    private Object invoke(Method invokedMethod, Object... args) throws PolicyException {
-        if (invokedMethod != null) {
-            Class<?>[] parametersType = invokedMethod.getParameterTypes();
-            Object[] parameters = new Object[parametersType.length];
-
-            int idx = 0;
-
-            // Map parameters according to parameter's type
-            for (Class<?> paramType : parametersType) {
-                parameters[idx++] = getParameterAssignableTo(paramType, args);
-            }
-
-            try {
-                return invokedMethod.invoke(policy, parameters);
-            } catch (Exception ex) {
-                throw new PolicyException(ex);
-            }
-        }
-
-        return null;
-    }
-
-    private <T> T getParameterAssignableTo(Class<T> paramType, Object... args) {
-        for (Object arg : args) {
-            if (paramType.isAssignableFrom(arg.getClass())) {
-                return (T) arg;
-            }
+    private Object invoke(PolicyMethodInvoker invoker, PolicyChain chain, ExecutionContext context) throws PolicyException {
+        if (invoker != null) {
+            return invoker.invoke(policy, chain, context);
         }
 
         return null;
@@ -21,6 +21,7 @@ import io.gravitee.policy.api.annotations.OnRequest;
 import io.gravitee.policy.api.annotations.OnRequestContent;
 import io.gravitee.policy.api.annotations.OnResponse;
 import io.gravitee.policy.api.annotations.OnResponseContent;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 
 /**
@@ -39,15 +40,29 @@ public class PolicyFactoryImpl implements PolicyFactory {
     public Policy create(StreamType streamType, PolicyMetadata policyMetadata, PolicyConfiguration policyConfiguration) {
         Object policy = policyPluginFactory.create(policyMetadata.policy(), policyConfiguration);
 
-        Method headMethod, streamMethod;
+        PolicyMethodInvoker headMethod, streamMethod;
         if (streamType == StreamType.ON_REQUEST) {
-            headMethod = policyMetadata.method(OnRequest.class);
-            streamMethod = policyMetadata.method(OnRequestContent.class);
+            headMethod = invoker(policyMetadata, OnRequest.class);
+            streamMethod = invoker(policyMetadata, OnRequestContent.class);
         } else {
-            headMethod = policyMetadata.method(OnResponse.class);
-            streamMethod = policyMetadata.method(OnResponseContent.class);
+            headMethod = invoker(policyMetadata, OnResponse.class);
+            streamMethod = invoker(policyMetadata, OnResponseContent.class);
         }
 
         return new ExecutablePolicy(policyMetadata.id(), policy, headMethod, streamMethod);
     }
+
+    private PolicyMethodInvoker invoker(PolicyMetadata policyMetadata, Class<? extends Annotation> type) {
+        PolicyMethodInvoker invoker = policyMetadata.invoker(type);
+
+        if (invoker == null) {
+            // The invoker has not been prepared with the policy metadata, bind the method for this instance only.
+            Method method = policyMetadata.method(type);
+            if (method != null) {
+                invoker = new PolicyMethodInvoker(method);
+            }
+        }
+
+        return invoker;
+    }
 }
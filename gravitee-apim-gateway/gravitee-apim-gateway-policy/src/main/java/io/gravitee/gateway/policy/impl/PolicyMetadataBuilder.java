@@ -16,6 +16,7 @@
 package io.gravitee.gateway.policy.impl;
 
 import io.gravitee.gateway.policy.PolicyMetadata;
+import io.gravitee.gateway.policy.PolicyMethodInvoker;
 import io.gravitee.gateway.policy.StreamType;
 import io.gravitee.policy.api.PolicyConfiguration;
 import io.gravitee.policy.api.PolicyContext;
@@ -25,6 +26,7 @@ import io.gravitee.policy.api.annotations.OnResponse;
 import io.gravitee.policy.api.annotations.OnResponseContent;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -45,6 +47,8 @@ public class PolicyMetadataBuilder {
 
     private ClassLoader classLoader;
 
+    private boolean stateless;
+
     public PolicyMetadataBuilder setId(String id) {
         this.id = id;
         return this;
@@ -75,7 +79,23 @@ public class PolicyMetadataBuilder {
         return this;
     }
 
+    public PolicyMetadataBuilder setStateless(boolean stateless) {
+        this.stateless = stateless;
+        return this;
+    }
+
     public PolicyMetadata build() {
+        final Map<Class<? extends Annotation>, PolicyMethodInvoker> invokers = new HashMap<>();
+        if (methods != null) {
+            methods.forEach(
+                (type, method) -> {
+                    if (method != null) {
+                        invokers.put(type, new PolicyMethodInvoker(method));
+                    }
+                }
+            );
+        }
+
         return new PolicyMetadata() {
             @Override
             public String id() {
@@ -107,6 +127,11 @@ public class PolicyMetadataBuilder {
                 return methods.get(type);
             }
 
+            @Override
+            public PolicyMethodInvoker invoker(Class<? extends Annotation> type) {
+                return invokers.get(type);
+            }
+
             @Override
             public boolean accept(StreamType stream) {
                 return (
@@ -114,6 +139,11 @@ public class PolicyMetadataBuilder {
                     (stream == StreamType.ON_RESPONSE && (method(OnResponse.class) != null || method(OnResponseContent.class) != null))
                 );
             }
+
+            @Override
+            public boolean stateless() {
+                return stateless;
+            }
         };
     }
 }
@@ -46,7 +46,7 @@ public class PolicyPluginFactoryImpl implements PolicyPluginFactory {
     public <T> T create(Class<T> policyClass, PolicyConfiguration policyConfiguration) {
         LOGGER.debug("Create a new policy instance for {}", policyClass.getName());
 
-        //TODO: could we reuse policy instance ?
+        // Instances of stateless policies are reused by the policy manager, see PolicyMetadata#stateless()
         return createInstance(policyClass, policyConfiguration);
     }
 
@@ -78,4 +78,56 @@ public class CachedPolicyConfigurationFactoryTest {
         PolicyConfiguration policyConfiguration1 = policyConfigurationFactory.create(null, null);
         Assert.assertNull(policyConfiguration1);
     }
+
+    @Test
+    public void createPolicyConfigurationByClassFromCache() {
+        String configuration = "{\"value\": 123}";
+        DummyPolicyConfiguration policyConfiguration = policyConfigurationFactory.create(DummyPolicyConfiguration.class, configuration);
+        OtherPolicyConfiguration otherPolicyConfiguration = policyConfigurationFactory.create(
+            OtherPolicyConfiguration.class,
+            configuration
+        );
+
+        Assert.assertEquals(123, policyConfiguration.getValue());
+        Assert.assertEquals(123, otherPolicyConfiguration.getValue());
+    }
+
+    @Test
+    public void createPolicyConfigurationByContentFromCache() {
+        DummyPolicyConfiguration policyConfiguration = policyConfigurationFactory.create(DummyPolicyConfiguration.class, "{\"value\": 1}");
+        DummyPolicyConfiguration policyConfiguration2 = policyConfigurationFactory.create(DummyPolicyConfiguration.class, "{\"value\": 2}");
+
+        Assert.assertEquals(1, policyConfiguration.getValue());
+        Assert.assertEquals(2, policyConfiguration2.getValue());
+    }
+
+    @Test
+    public void recordCacheStatistics() {
+        CachedPolicyConfigurationFactory cachedFactory = new CachedPolicyConfigurationFactory(2);
+
+        cachedFactory.create(DummyPolicyConfiguration.class, "{\"value\": 1}");
+        cachedFactory.create(DummyPolicyConfiguration.class, "{\"value\": 1}");
+        cachedFactory.create(DummyPolicyConfiguration.class, "{\"value\": 2}");
+        cachedFactory.create(DummyPolicyConfiguration.class, "{\"value\": 3}");
+
+        Assert.assertEquals(1, cachedFactory.hitCount());
+        Assert.assertEquals(3, cachedFactory.missCount());
+        Assert.assertEquals(2, cachedFactory.size());
+
+        cachedFactory.clear();
+        Assert.assertEquals(0, cachedFactory.size());
+    }
+
+    public static class OtherPolicyConfiguration implements PolicyConfiguration {
+
+        private int value;
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            this.value = value;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.policy;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.definition.model.Policy;
+import io.gravitee.gateway.policy.impl.DefaultPolicyManager;
+import io.gravitee.gateway.resource.ResourceLifecycleManager;
+import io.gravitee.plugin.core.api.ConfigurablePluginManager;
+import io.gravitee.plugin.core.api.PluginManifest;
+import io.gravitee.plugin.policy.PolicyClassLoaderFactory;
+import io.gravitee.plugin.policy.PolicyPlugin;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ResolvableType;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultPolicyManagerTest {
+
+    private static final String POLICY_ID = "dummy";
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private ConfigurablePluginManager<PolicyPlugin> policyPluginManager;
+
+    @Mock
+    private PolicyPlugin policyPlugin;
+
+    @Mock
+    private PluginManifest manifest;
+
+    @Mock
+    private PolicyFactory policyFactory;
+
+    @Mock
+    private PolicyConfigurationFactory policyConfigurationFactory;
+
+    private DefaultPolicyManager policyManager;
+
+    @Before
+    public void setUp() {
+        when(applicationContext.getBeanNamesForType(any(ResolvableType.class))).thenReturn(new String[] { "policyPluginManager" });
+        when(applicationContext.getBean("policyPluginManager")).thenReturn(policyPluginManager);
+        when(applicationContext.getBean(PolicyClassLoaderFactory.class)).thenReturn(mock(PolicyClassLoaderFactory.class));
+        when(applicationContext.getBean(ResourceLifecycleManager.class)).thenReturn(mock(ResourceLifecycleManager.class));
+
+        when(policyPluginManager.get(POLICY_ID)).thenReturn(policyPlugin);
+        when(policyPlugin.id()).thenReturn(POLICY_ID);
+        when(policyPlugin.policy()).thenReturn(DummyPolicy.class);
+        when(policyPlugin.manifest()).thenReturn(manifest);
+
+        when(policyFactory.create(any(), any(), any())).thenAnswer(invocation -> mock(io.gravitee.gateway.policy.Policy.class));
+
+        final Policy policy = new Policy();
+        policy.setName(POLICY_ID);
+
+        policyManager =
+            new DefaultPolicyManager(policyFactory) {
+                {
+                    applicationContext = DefaultPolicyManagerTest.this.applicationContext;
+                    policyConfigurationFactory = DefaultPolicyManagerTest.this.policyConfigurationFactory;
+                }
+
+                @Override
+                protected Set<Policy> dependencies() {
+                    return Collections.singleton(policy);
+                }
+            };
+    }
+
+    @Test
+    public void shouldReuseStatelessPolicy() throws Exception {
+        declareStateless(true);
+        policyManager.start();
+
+        final io.gravitee.gateway.policy.Policy policy = policyManager.create(StreamType.ON_REQUEST, POLICY_ID, "{}");
+
+        assertSame(policy, policyManager.create(StreamType.ON_REQUEST, POLICY_ID, "{}"));
+        assertNotSame(policy, policyManager.create(StreamType.ON_REQUEST, POLICY_ID, "{\"other\":true}"));
+        assertNotSame(policy, policyManager.create(StreamType.ON_RESPONSE, POLICY_ID, "{}"));
+        verify(policyFactory, times(3)).create(any(), any(), any());
+    }
+
+    @Test
+    public void shouldCreatePolicyForEachRequest() throws Exception {
+        declareStateless(false);
+        policyManager.start();
+
+        final io.gravitee.gateway.policy.Policy policy = policyManager.create(StreamType.ON_REQUEST, POLICY_ID, "{}");
+
+        assertNotSame(policy, policyManager.create(StreamType.ON_REQUEST, POLICY_ID, "{}"));
+        verify(policyFactory, times(2)).create(any(), any(), any());
+    }
+
+    @Test
+    public void shouldReleaseStatelessPoliciesOnStop() throws Exception {
+        declareStateless(true);
+        policyManager.start();
+
+        final io.gravitee.gateway.policy.Policy policy = policyManager.create(StreamType.ON_REQUEST, POLICY_ID, "{}");
+
+        policyManager.stop();
+        policyManager.start();
+
+        assertNotSame(policy, policyManager.create(StreamType.ON_REQUEST, POLICY_ID, "{}"));
+    }
+
+    private void declareStateless(boolean stateless) {
+        final Map<String, String> properties = Collections.singletonMap("stateless", String.valueOf(stateless));
+        when(manifest.properties()).thenReturn(properties);
+    }
+}
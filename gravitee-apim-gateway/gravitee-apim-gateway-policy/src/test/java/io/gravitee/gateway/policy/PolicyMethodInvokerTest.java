@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.Response;
+import io.gravitee.policy.api.PolicyChain;
+import java.lang.reflect.InvocationTargetException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PolicyMethodInvokerTest {
+
+    @Mock
+    private PolicyChain policyChain;
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private Response response;
+
+    @Mock
+    private ExecutionContext context;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+
+        when(context.request()).thenReturn(request);
+        when(context.response()).thenReturn(response);
+    }
+
+    @Test
+    public void shouldInvokeWithParametersMappedByType() throws Exception {
+        DummyPolicy dummyPolicy = mock(DummyPolicy.class);
+
+        new PolicyMethodInvoker(DummyPolicy.class.getMethod("onRequest", PolicyChain.class, Request.class, Response.class))
+            .invoke(dummyPolicy, policyChain, context);
+        new PolicyMethodInvoker(DummyPolicy.class.getMethod("onResponse", Request.class, Response.class, PolicyChain.class))
+            .invoke(dummyPolicy, policyChain, context);
+
+        verify(dummyPolicy).onRequest(policyChain, request, response);
+        verify(dummyPolicy).onResponse(request, response, policyChain);
+    }
+
+    @Test
+    public void shouldReturnMethodResult() throws Exception {
+        PolicyMethodInvoker invoker = new PolicyMethodInvoker(StreamPolicy.class.getMethod("onRequestContent", ExecutionContext.class));
+
+        assertEquals(context, invoker.invoke(new StreamPolicy(), policyChain, context));
+    }
+
+    @Test
+    public void shouldWrapPolicyFailure() throws Exception {
+        PolicyMethodInvoker invoker = new PolicyMethodInvoker(StreamPolicy.class.getMethod("onResponseContent"));
+
+        try {
+            invoker.invoke(new StreamPolicy(), policyChain, context);
+        } catch (PolicyException pe) {
+            assertTrue(pe.getCause() instanceof InvocationTargetException);
+            assertTrue(pe.getCause().getCause() instanceof IllegalStateException);
+            return;
+        }
+
+        throw new AssertionError("A policy exception is expected");
+    }
+
+    public static class StreamPolicy {
+
+        public Object onRequestContent(ExecutionContext context) {
+            return context;
+        }
+
+        public Object onResponseContent() {
+            throw new IllegalStateException();
+        }
+    }
+}
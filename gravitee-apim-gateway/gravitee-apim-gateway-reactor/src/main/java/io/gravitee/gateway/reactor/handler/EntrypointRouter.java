@@ -0,0 +1,261 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler;
+
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.reactor.handler.impl.HandlerEntryPointComparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the registered entrypoints, indexed by host and by path in a radix tree.
+ *
+ * Routing a request walks the tree along the request path only, so the cost does not depend on the number of
+ * deployed entrypoints. The result is the same as iterating over the entrypoints sorted with
+ * {@link HandlerEntryPointComparator} and returning the first one accepting the request.
+ *
+ * A new router is built each time the registered entrypoints change and must be published as a whole, so that
+ * request threads never see a partially updated structure and never have to take a lock.
+ *
+ * @author GraviteeSource Team
+ */
+public final class EntrypointRouter {
+
+    private static final char URI_PATH_SEPARATOR_CHAR = '/';
+
+    public static final EntrypointRouter EMPTY = new EntrypointRouter(Collections.emptyList());
+
+    private final List<HandlerEntrypoint> entrypoints;
+
+    private final Map<String, Node> hostTrees;
+
+    private final Node defaultTree;
+
+    public EntrypointRouter(Collection<HandlerEntrypoint> entrypoints) {
+        final List<HandlerEntrypoint> sorted = new ArrayList<>(entrypoints);
+        sorted.sort(new HandlerEntryPointComparator());
+
+        this.entrypoints = Collections.unmodifiableList(sorted);
+        this.hostTrees = new HashMap<>();
+        this.defaultTree = new Node("");
+
+        for (int i = 0; i < sorted.size(); i++) {
+            final HandlerEntrypoint entrypoint = sorted.get(i);
+            final Node tree;
+
+            if (entrypoint.host() != null) {
+                tree = hostTrees.computeIfAbsent(entrypoint.host().toLowerCase(Locale.ROOT), host -> new Node(""));
+            } else {
+                tree = defaultTree;
+            }
+
+            tree.insert(entrypoint.path(), new IndexedEntrypoint(i, entrypoint));
+        }
+    }
+
+    /**
+     * The entrypoints of this snapshot, ordered with {@link HandlerEntryPointComparator}.
+     *
+     * @return an unmodifiable list of entrypoints.
+     */
+    public List<HandlerEntrypoint> entrypoints() {
+        return entrypoints;
+    }
+
+    /**
+     * Find the entrypoint handling the given request.
+     *
+     * @param request the incoming request.
+     * @return the matching entrypoint or <code>null</code> if none accepts the request.
+     */
+    public HandlerEntrypoint route(Request request) {
+        final String path = request.path();
+
+        if (path == null) {
+            return null;
+        }
+
+        // Entrypoints with a virtual host always take priority over the ones without.
+        if (!hostTrees.isEmpty() && request.host() != null) {
+            final Node hostTree = hostTrees.get(request.host().toLowerCase(Locale.ROOT));
+
+            if (hostTree != null) {
+                final IndexedEntrypoint found = hostTree.find(path, request);
+                if (found != null) {
+                    return found.entrypoint;
+                }
+            }
+        }
+
+        final IndexedEntrypoint found = defaultTree.find(path, request);
+        return found != null ? found.entrypoint : null;
+    }
+
+    private static final class IndexedEntrypoint {
+
+        private final int index;
+        private final HandlerEntrypoint entrypoint;
+
+        private IndexedEntrypoint(int index, HandlerEntrypoint entrypoint) {
+            this.index = index;
+            this.entrypoint = entrypoint;
+        }
+    }
+
+    /**
+     * A node of the radix tree. Each node is labelled by the part of the path leading to it from its parent and holds
+     * the entrypoints whose path ends exactly on it.
+     */
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final IndexedEntrypoint[] NO_ENTRYPOINTS = new IndexedEntrypoint[0];
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private IndexedEntrypoint[] entrypoints = NO_ENTRYPOINTS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char c) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private void addChild(Node child) {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+        }
+
+        private void addEntrypoint(IndexedEntrypoint entrypoint) {
+            // Entrypoints are inserted in sorted order, keep the array sorted by index.
+            entrypoints = Arrays.copyOf(entrypoints, entrypoints.length + 1);
+            entrypoints[entrypoints.length - 1] = entrypoint;
+        }
+
+        private void insert(String path, IndexedEntrypoint entrypoint) {
+            Node node = this;
+            int pos = 0;
+
+            while (pos < path.length()) {
+                Node child = node.child(path.charAt(pos));
+
+                if (child == null) {
+                    Node leaf = new Node(path.substring(pos));
+                    node.addChild(leaf);
+                    node = leaf;
+                    pos = path.length();
+                    break;
+                }
+
+                final String childLabel = child.label;
+                int common = 0;
+                while (
+                    common < childLabel.length() &&
+                    pos + common < path.length() &&
+                    childLabel.charAt(common) == path.charAt(pos + common)
+                ) {
+                    common++;
+                }
+
+                if (common < childLabel.length()) {
+                    // Split the child: the common part becomes a new intermediate node.
+                    Node split = new Node(childLabel.substring(common));
+                    split.children = child.children;
+                    split.entrypoints = child.entrypoints;
+
+                    child.label = childLabel.substring(0, common);
+                    child.children = new Node[] { split };
+                    child.entrypoints = NO_ENTRYPOINTS;
+                }
+
+                node = child;
+                pos += common;
+            }
+
+            node.addEntrypoint(entrypoint);
+        }
+
+        private IndexedEntrypoint find(String path, Request request) {
+            IndexedEntrypoint best = null;
+            Node node = this;
+            int pos = 0;
+
+            while (true) {
+                best = node.accept(request, best);
+
+                if (pos == path.length()) {
+                    // The request path may omit the trailing separator of the entrypoint path (ie. /teams for /teams/).
+                    Node child = node.child(URI_PATH_SEPARATOR_CHAR);
+                    if (child != null && child.label.length() == 1) {
+                        best = child.accept(request, best);
+                    }
+                    break;
+                }
+
+                Node child = node.child(path.charAt(pos));
+                if (child == null) {
+                    break;
+                }
+
+                final String childLabel = child.label;
+                final int remaining = path.length() - pos;
+
+                if (remaining >= childLabel.length() && path.regionMatches(pos, childLabel, 0, childLabel.length())) {
+                    pos += childLabel.length();
+                    node = child;
+                } else {
+                    if (
+                        remaining == childLabel.length() - 1 &&
+                        childLabel.charAt(remaining) == URI_PATH_SEPARATOR_CHAR &&
+                        path.regionMatches(pos, childLabel, 0, remaining)
+                    ) {
+                        best = child.accept(request, best);
+                    }
+                    break;
+                }
+            }
+
+            return best;
+        }
+
+        private IndexedEntrypoint accept(Request request, IndexedEntrypoint best) {
+            for (IndexedEntrypoint candidate : entrypoints) {
+                if (best != null && candidate.index >= best.index) {
+                    break;
+                }
+
+                if (candidate.entrypoint.accept(request)) {
+                    return candidate;
+                }
+            }
+
+            return best;
+        }
+    }
+}
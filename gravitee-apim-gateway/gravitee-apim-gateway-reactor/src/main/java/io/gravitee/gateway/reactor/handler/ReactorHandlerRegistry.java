@@ -40,4 +40,11 @@ public interface ReactorHandlerRegistry {
      * @return
      */
     Collection<HandlerEntrypoint> getEntrypoints();
+
+    /**
+     * The current immutable snapshot of the registered entrypoints, used to route incoming requests.
+     *
+     * @return
+     */
+    EntrypointRouter getRouter();
 }
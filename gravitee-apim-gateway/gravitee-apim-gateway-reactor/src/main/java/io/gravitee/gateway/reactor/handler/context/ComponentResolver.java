@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler.context;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Resolve the components asked by the policies of an API handler from its application context.
+ *
+ * Singleton components are only looked up once, and are then read from an immutable map replaced, on each new
+ * component, by a copy including it. The same components being asked again and again, lookups quickly stop
+ * updating the map. Other components (ie. prototypes) are still looked up each time.
+ *
+ * @author GraviteeSource Team
+ */
+final class ComponentResolver {
+
+    private final ApplicationContext applicationContext;
+
+    private volatile Map<Class<?>, Object> components = Collections.emptyMap();
+
+    ComponentResolver(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    <T> T getComponent(Class<T> componentClass) {
+        Object component = components.get(componentClass);
+        if (component == null) {
+            component = resolve(componentClass);
+        }
+
+        return componentClass.cast(component);
+    }
+
+    private <T> T resolve(Class<T> componentClass) {
+        final T component = applicationContext.getBean(componentClass);
+
+        if (isSingleton(componentClass)) {
+            synchronized (this) {
+                final Map<Class<?>, Object> resolved = new HashMap<>(components);
+                resolved.put(componentClass, component);
+                components = Collections.unmodifiableMap(resolved);
+            }
+        }
+
+        return component;
+    }
+
+    private boolean isSingleton(Class<?> componentClass) {
+        final String[] names = BeanFactoryUtils.beanNamesForTypeIncludingAncestors(applicationContext, componentClass);
+        for (String name : names) {
+            if (!applicationContext.isSingleton(name)) {
+                return false;
+            }
+        }
+
+        return names.length > 0;
+    }
+}
@@ -15,11 +15,9 @@
  */
 package io.gravitee.gateway.reactor.handler.context;
 
-import io.gravitee.el.TemplateVariableProvider;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.context.MutableExecutionContext;
 import io.gravitee.tracing.api.Tracer;
-import java.util.List;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -36,19 +34,22 @@ public class ExecutionContextFactory implements InitializingBean {
     @Autowired
     private TemplateVariableProviderFactory templateVariableProviderFactory;
 
-    private List<TemplateVariableProvider> providers;
+    private TemplateVariables templateVariables;
+
+    private ComponentResolver componentResolver;
 
     @Autowired
     private Tracer tracer;
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        providers = templateVariableProviderFactory.getTemplateVariableProviders();
+        templateVariables = TemplateVariables.of(templateVariableProviderFactory.getTemplateVariableProviders());
+        componentResolver = new ComponentResolver(applicationContext);
     }
 
     public ExecutionContext create(ExecutionContext wrapped) {
-        ReactableExecutionContext context = new ReactableExecutionContext((MutableExecutionContext) wrapped, tracer, applicationContext);
-        context.setProviders(providers);
+        ReactableExecutionContext context = new ReactableExecutionContext((MutableExecutionContext) wrapped, tracer, componentResolver);
+        context.setTemplateVariables(templateVariables);
         return context;
     }
 }
@@ -17,7 +17,6 @@ package io.gravitee.gateway.reactor.handler.context;
 
 import io.gravitee.el.TemplateContext;
 import io.gravitee.el.TemplateEngine;
-import io.gravitee.el.TemplateVariableProvider;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.Response;
@@ -25,10 +24,8 @@ import io.gravitee.gateway.api.context.MutableExecutionContext;
 import io.gravitee.gateway.api.el.EvaluableRequest;
 import io.gravitee.gateway.api.el.EvaluableResponse;
 import io.gravitee.tracing.api.Tracer;
-import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Map;
-import org.springframework.context.ApplicationContext;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -40,9 +37,9 @@ public class ReactableExecutionContext implements MutableExecutionContext {
     private static final String TEMPLATE_ATTRIBUTE_RESPONSE = "response";
     private static final String TEMPLATE_ATTRIBUTE_CONTEXT = "context";
 
-    private final ApplicationContext applicationContext;
+    private final ComponentResolver componentResolver;
 
-    private Collection<TemplateVariableProvider> providers;
+    private TemplateVariables templateVariables;
 
     private TemplateEngine templateEngine;
 
@@ -50,10 +47,10 @@ public class ReactableExecutionContext implements MutableExecutionContext {
 
     private final MutableExecutionContext context;
 
-    ReactableExecutionContext(final MutableExecutionContext context, final Tracer tracer, ApplicationContext applicationContext) {
+    ReactableExecutionContext(final MutableExecutionContext context, final Tracer tracer, ComponentResolver componentResolver) {
         this.context = context;
         this.tracer = tracer;
-        this.applicationContext = applicationContext;
+        this.componentResolver = componentResolver;
 
         setAttribute(ExecutionContext.ATTR_CONTEXT_PATH, context.request().contextPath());
     }
@@ -107,7 +104,7 @@ public class ReactableExecutionContext implements MutableExecutionContext {
 
     @Override
     public <T> T getComponent(Class<T> componentClass) {
-        return applicationContext.getBean(componentClass);
+        return componentResolver.getComponent(componentClass);
     }
 
     @Override
@@ -120,8 +117,8 @@ public class ReactableExecutionContext implements MutableExecutionContext {
             templateContext.setVariable(TEMPLATE_ATTRIBUTE_RESPONSE, new EvaluableResponse(response()));
             templateContext.setVariable(TEMPLATE_ATTRIBUTE_CONTEXT, new EvaluableExecutionContext(this));
 
-            if (providers != null) {
-                providers.forEach(templateVariableProvider -> templateVariableProvider.provide(templateContext));
+            if (templateVariables != null) {
+                templateVariables.provide(templateContext);
             }
         }
 
@@ -133,7 +130,7 @@ public class ReactableExecutionContext implements MutableExecutionContext {
         return tracer;
     }
 
-    void setProviders(Collection<TemplateVariableProvider> providers) {
-        this.providers = providers;
+    void setTemplateVariables(TemplateVariables templateVariables) {
+        this.templateVariables = templateVariables;
     }
 }
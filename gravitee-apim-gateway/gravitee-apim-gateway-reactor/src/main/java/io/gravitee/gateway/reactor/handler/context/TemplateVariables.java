@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler.context;
+
+import io.gravitee.el.TemplateContext;
+import io.gravitee.el.TemplateVariableProvider;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The variables of the {@link TemplateVariableProvider}s of an API handler, collected once when the API is deployed
+ * and then set on the template engine of each request.
+ *
+ * Providers must therefore provide values which do not depend on the request, and which reflect by themselves any
+ * later update (ie. the deployed dictionaries or the endpoints of the API).
+ *
+ * @author GraviteeSource Team
+ */
+final class TemplateVariables {
+
+    private final String[] names;
+    private final Object[] values;
+
+    private TemplateVariables(String[] names, Object[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    static TemplateVariables of(Collection<TemplateVariableProvider> providers) {
+        final Map<String, Object> variables = new LinkedHashMap<>();
+
+        if (providers != null) {
+            final TemplateContext collector = new TemplateContext() {
+                @Override
+                public void setVariable(String name, Object value) {
+                    variables.put(name, value);
+                }
+
+                @Override
+                public Object lookupVariable(String name) {
+                    return variables.get(name);
+                }
+            };
+
+            providers.forEach(provider -> provider.provide(collector));
+        }
+
+        return new TemplateVariables(variables.keySet().toArray(new String[0]), variables.values().toArray());
+    }
+
+    void provide(TemplateContext templateContext) {
+        for (int i = 0; i < names.length; i++) {
+            templateContext.setVariable(names[i], values[i]);
+        }
+    }
+}
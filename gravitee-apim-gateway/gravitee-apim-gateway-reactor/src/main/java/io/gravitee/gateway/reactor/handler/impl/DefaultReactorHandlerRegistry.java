@@ -40,8 +40,8 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
     private final Map<Reactable, ReactorHandler> handlers = new ConcurrentHashMap<>();
     private final Map<Reactable, List<HandlerEntrypoint>> entrypointByReactable = new ConcurrentHashMap<>();
 
-    private final List<HandlerEntrypoint> registeredEntrypoints = new ArrayList<>();
-    private final HandlerEntryPointComparator entryPointComparator = new HandlerEntryPointComparator();
+    private final Object entrypointsLock = new Object();
+    private volatile EntrypointRouter router = EntrypointRouter.EMPTY;
 
     @Override
     public void create(Reactable reactable) {
@@ -97,8 +97,10 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
             )
             .collect(Collectors.toList());
 
-        entrypointByReactable.put(handler.reactable(), reactableEntrypoints);
-        addEntrypoints(reactableEntrypoints);
+        synchronized (entrypointsLock) {
+            entrypointByReactable.put(handler.reactable(), reactableEntrypoints);
+            publishEntrypoints();
+        }
     }
 
     private ReactorHandler prepare(Reactable reactable) {
@@ -130,11 +132,12 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
             // Do not update handler if the new is not correctly initialized
             if (newHandler != null) {
                 ReactorHandler previousHandler = handlers.remove(reactable);
-                List<HandlerEntrypoint> previousEntrypoints = entrypointByReactable.remove(previousHandler.reactable());
 
-                // Register the new handler before removing the previous entrypoints to avoid 404, especially on high throughput.
-                register(newHandler);
-                removeEntrypoints(previousEntrypoints);
+                // Swap the previous entrypoints with the new ones in a single router update to avoid 404, especially on high throughput.
+                synchronized (entrypointsLock) {
+                    entrypointByReactable.remove(previousHandler.reactable());
+                    register(newHandler);
+                }
 
                 try {
                     logger.debug("Stopping previous handler for: {}", reactable);
@@ -173,10 +176,11 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
     private void remove(Reactable reactable, ReactorHandler handler, boolean remove) {
         if (handler != null) {
             try {
-                List<HandlerEntrypoint> previousEntrypoints = entrypointByReactable.remove(handler.reactable());
-
                 // Remove the entrypoints before stopping the handler to avoid 500 errors.
-                removeEntrypoints(previousEntrypoints);
+                synchronized (entrypointsLock) {
+                    entrypointByReactable.remove(handler.reactable());
+                    publishEntrypoints();
+                }
                 handler.stop();
 
                 if (remove) {
@@ -191,20 +195,21 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
 
     @Override
     public Collection<HandlerEntrypoint> getEntrypoints() {
-        return registeredEntrypoints;
+        return router.entrypoints();
     }
 
-    private void addEntrypoints(List<HandlerEntrypoint> reactableEntrypoints) {
-        synchronized (registeredEntrypoints) {
-            registeredEntrypoints.addAll(reactableEntrypoints);
-            registeredEntrypoints.sort(entryPointComparator);
-        }
+    @Override
+    public EntrypointRouter getRouter() {
+        return router;
     }
 
-    private void removeEntrypoints(List<HandlerEntrypoint> previousEntrypoints) {
-        synchronized (registeredEntrypoints) {
-            registeredEntrypoints.removeAll(previousEntrypoints);
-            registeredEntrypoints.sort(entryPointComparator);
-        }
+    /**
+     * Build a new router from the currently registered entrypoints and publish it at once.
+     * Must be called while holding the entrypoints lock.
+     */
+    private void publishEntrypoints() {
+        final List<HandlerEntrypoint> entrypoints = new ArrayList<>();
+        entrypointByReactable.values().forEach(entrypoints::addAll);
+        router = new EntrypointRouter(entrypoints);
     }
 }
@@ -17,17 +17,21 @@ package io.gravitee.gateway.reactor.processor;
 
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.processor.Processor;
-import io.gravitee.gateway.core.processor.chain.DefaultProcessorChain;
+import io.gravitee.gateway.core.processor.provider.ProcessorChainTemplate;
+import io.gravitee.gateway.core.processor.provider.ProcessorProviderChain;
+import io.gravitee.gateway.core.processor.provider.ProcessorSupplier;
+import io.gravitee.gateway.core.processor.provider.StatelessProcessorProvider;
 import io.gravitee.gateway.reactor.processor.notfound.NotFoundProcessor;
 import io.gravitee.gateway.reactor.processor.notfound.NotFoundReporter;
 import io.gravitee.gateway.reactor.processor.responsetime.ResponseTimeProcessor;
 import io.gravitee.gateway.report.ReporterService;
 import java.util.Arrays;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 
-public class NotFoundProcessorChainFactory {
+public class NotFoundProcessorChainFactory implements InitializingBean {
 
     @Autowired
     private ReporterService reporterService;
@@ -38,13 +42,22 @@ public class NotFoundProcessorChainFactory {
     @Value("${handlers.notfound.log.enabled:false}")
     private boolean logEnabled;
 
+    private ProcessorChainTemplate<ExecutionContext, Processor<ExecutionContext>> template;
+
+    @Override
+    public void afterPropertiesSet() {
+        template =
+            ProcessorChainTemplate.of(
+                Arrays.asList(
+                    StatelessProcessorProvider.of(new NotFoundProcessor(environment)),
+                    StatelessProcessorProvider.of(new ResponseTimeProcessor()),
+                    // The reporter may wait for the request body to be logged, it is created for each request
+                    new ProcessorSupplier<>(() -> new NotFoundReporter(reporterService, logEnabled))
+                )
+            );
+    }
+
     public Processor<ExecutionContext> create() {
-        return new DefaultProcessorChain<>(
-            Arrays.asList(
-                new NotFoundProcessor(environment),
-                new ResponseTimeProcessor(),
-                new NotFoundReporter(reporterService, logEnabled)
-            )
-        );
+        return new ProcessorProviderChain<>(template);
     }
 }
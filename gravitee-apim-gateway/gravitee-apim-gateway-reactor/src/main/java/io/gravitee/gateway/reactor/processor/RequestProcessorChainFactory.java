@@ -17,9 +17,10 @@ package io.gravitee.gateway.reactor.processor;
 
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.provider.ProcessorChainTemplate;
 import io.gravitee.gateway.core.processor.provider.ProcessorProvider;
 import io.gravitee.gateway.core.processor.provider.ProcessorProviderChain;
-import io.gravitee.gateway.core.processor.provider.ProcessorSupplier;
+import io.gravitee.gateway.core.processor.provider.StatelessProcessorProvider;
 import io.gravitee.gateway.reactor.processor.forward.XForwardForProcessor;
 import io.gravitee.gateway.reactor.processor.transaction.TraceContextProcessorFactory;
 import io.gravitee.gateway.reactor.processor.transaction.TransactionProcessorFactory;
@@ -44,22 +45,27 @@ public class RequestProcessorChainFactory implements InitializingBean {
     @Value("${handlers.request.trace-context.enabled:false}")
     private boolean traceContext;
 
-    private final List<ProcessorProvider<ExecutionContext, Processor<ExecutionContext>>> providers = new ArrayList<>();
+    private ProcessorChainTemplate<ExecutionContext, Processor<ExecutionContext>> template;
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        providers.add(new ProcessorSupplier<>(XForwardForProcessor::new));
+        final List<ProcessorProvider<ExecutionContext, Processor<ExecutionContext>>> providers = new ArrayList<>();
+
+        // All the processors of the chain are stateless, they are created once and shared by all the requests
+        providers.add(StatelessProcessorProvider.of(new XForwardForProcessor()));
 
         // Trace context is executed before the transaction to ensure that we can use the traceparent span value as the
         // transaction ID
         if (traceContext) {
-            providers.add(new ProcessorSupplier<>(() -> traceContextHandlerFactory.create()));
+            providers.add(StatelessProcessorProvider.of(traceContextHandlerFactory.create()));
         }
 
-        providers.add(new ProcessorSupplier<>(() -> transactionHandlerFactory.create()));
+        providers.add(StatelessProcessorProvider.of(transactionHandlerFactory.create()));
+
+        template = ProcessorChainTemplate.of(providers);
     }
 
     public Processor<ExecutionContext> create() {
-        return new ProcessorProviderChain<>(providers);
+        return new ProcessorProviderChain<>(template);
     }
 }
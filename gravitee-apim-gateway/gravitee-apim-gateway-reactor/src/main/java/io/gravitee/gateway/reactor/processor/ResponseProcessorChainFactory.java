@@ -17,7 +17,9 @@ package io.gravitee.gateway.reactor.processor;
 
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.processor.Processor;
-import io.gravitee.gateway.core.processor.chain.DefaultProcessorChain;
+import io.gravitee.gateway.core.processor.provider.ProcessorChainTemplate;
+import io.gravitee.gateway.core.processor.provider.ProcessorProviderChain;
+import io.gravitee.gateway.core.processor.provider.StatelessProcessorProvider;
 import io.gravitee.gateway.reactor.processor.alert.AlertProcessor;
 import io.gravitee.gateway.reactor.processor.reporter.ReporterProcessor;
 import io.gravitee.gateway.reactor.processor.responsetime.ResponseTimeProcessor;
@@ -25,6 +27,7 @@ import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.node.api.Node;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import java.util.Arrays;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -32,7 +35,7 @@ import org.springframework.beans.factory.annotation.Value;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ResponseProcessorChainFactory {
+public class ResponseProcessorChainFactory implements InitializingBean {
 
     @Autowired
     private ReporterService reporterService;
@@ -46,14 +49,22 @@ public class ResponseProcessorChainFactory {
     @Value("${http.port:8082}")
     private String port;
 
+    private ProcessorChainTemplate<ExecutionContext, Processor<ExecutionContext>> template;
+
+    @Override
+    public void afterPropertiesSet() {
+        template =
+            ProcessorChainTemplate.of(
+                Arrays.asList(
+                    StatelessProcessorProvider.of(new ResponseTimeProcessor()),
+                    StatelessProcessorProvider.of(new ReporterProcessor(reporterService)),
+                    //TODO: apply alert processor only if one plugin is installed
+                    StatelessProcessorProvider.of(new AlertProcessor(eventProducer, node, port))
+                )
+            );
+    }
+
     public Processor<ExecutionContext> create() {
-        return new DefaultProcessorChain<>(
-            Arrays.asList(
-                new ResponseTimeProcessor(),
-                new ReporterProcessor(reporterService),
-                //TODO: apply alert processor only if one plugin is installed
-                new AlertProcessor(eventProducer, node, port)
-            )
-        );
+        return new ProcessorProviderChain<>(template);
     }
 }
@@ -17,7 +17,7 @@ package io.gravitee.gateway.reactor.processor.alert;
 
 import io.gravitee.alert.api.event.Event;
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 import io.gravitee.node.api.Node;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import org.slf4j.Logger;
@@ -27,7 +27,7 @@ import org.slf4j.LoggerFactory;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class AlertProcessor extends AbstractProcessor<ExecutionContext> {
+public class AlertProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AlertProcessor.class);
 
@@ -78,7 +78,7 @@ public class AlertProcessor extends AbstractProcessor<ExecutionContext> {
     }
 
     @Override
-    public void handle(ExecutionContext context) {
+    public void process(ExecutionContext context) {
         try {
             eventProducer.send(
                 Event
@@ -111,8 +111,6 @@ public class AlertProcessor extends AbstractProcessor<ExecutionContext> {
             );
         } catch (Exception ex) {
             LOGGER.error("An error occurs while sending alert", ex);
-        } finally {
-            next.handle(context);
         }
     }
 
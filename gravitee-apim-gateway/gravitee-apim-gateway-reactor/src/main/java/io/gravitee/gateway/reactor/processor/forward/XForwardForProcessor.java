@@ -19,14 +19,14 @@ import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.context.MutableExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 import java.util.regex.Pattern;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class XForwardForProcessor extends AbstractProcessor<ExecutionContext> {
+public class XForwardForProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     /**
      * {@link java.util.regex.Pattern} for a comma delimited string that support whitespace characters
@@ -34,7 +34,7 @@ public class XForwardForProcessor extends AbstractProcessor<ExecutionContext> {
     private static final Pattern commaSeparatedValuesPattern = Pattern.compile("\\s*,\\s*");
 
     @Override
-    public void handle(ExecutionContext context) {
+    public void process(ExecutionContext context) {
         final Request request = context.request();
 
         String xForwardedForHeader = request.headers().getFirst(HttpHeaders.X_FORWARDED_FOR);
@@ -56,8 +56,6 @@ public class XForwardForProcessor extends AbstractProcessor<ExecutionContext> {
                 request.metrics().setRemoteAddress(xForwardFor);
             }
         }
-
-        next.handle(context);
     }
 
     /**
@@ -21,12 +21,12 @@ import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.common.http.MediaType;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.buffer.Buffer;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 
-public class NotFoundProcessor extends AbstractProcessor<ExecutionContext> {
+public class NotFoundProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     private final Logger LOGGER = LoggerFactory.getLogger(NotFoundProcessor.class);
 
@@ -37,7 +37,7 @@ public class NotFoundProcessor extends AbstractProcessor<ExecutionContext> {
     }
 
     @Override
-    public void handle(ExecutionContext context) {
+    public void process(ExecutionContext context) {
         LOGGER.warn("No handler can be found for request {}, returning NOT_FOUND (404)", context.request().path());
         // Send a NOT_FOUND HTTP status code (404)
         context.response().status(HttpStatusCode.NOT_FOUND_404);
@@ -52,6 +52,5 @@ public class NotFoundProcessor extends AbstractProcessor<ExecutionContext> {
         context.response().write(Buffer.buffer(message));
 
         context.response().end();
-        next.handle(context);
     }
 }
@@ -16,7 +16,7 @@
 package io.gravitee.gateway.reactor.processor.reporter;
 
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 import io.gravitee.gateway.report.ReporterService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,7 +25,7 @@ import org.slf4j.LoggerFactory;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ReporterProcessor extends AbstractProcessor<ExecutionContext> {
+public class ReporterProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReporterProcessor.class);
 
@@ -36,7 +36,7 @@ public class ReporterProcessor extends AbstractProcessor<ExecutionContext> {
     }
 
     @Override
-    public void handle(ExecutionContext context) {
+    public void process(ExecutionContext context) {
         try {
             reporterService.report(context.request().metrics());
 
@@ -47,7 +47,5 @@ public class ReporterProcessor extends AbstractProcessor<ExecutionContext> {
         } catch (Exception ex) {
             LOGGER.error("An error occurs while reporting metrics", ex);
         }
-
-        next.handle(context);
     }
 }
@@ -16,23 +16,20 @@
 package io.gravitee.gateway.reactor.processor.responsetime;
 
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ResponseTimeProcessor extends AbstractProcessor<ExecutionContext> {
+public class ResponseTimeProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     @Override
-    public void handle(ExecutionContext context) {
+    public void process(ExecutionContext context) {
         // Compute response-time and add it to the metrics
         long proxyResponseTimeInMs = System.currentTimeMillis() - context.request().metrics().timestamp().toEpochMilli();
         context.request().metrics().setStatus(context.response().status());
         context.request().metrics().setProxyResponseTimeMs(proxyResponseTimeInMs);
         context.request().metrics().setProxyLatencyMs(proxyResponseTimeInMs - context.request().metrics().getApiResponseTimeMs());
-
-        // Push response to the next handler
-        next.handle(context);
     }
 }
@@ -18,7 +18,7 @@ package io.gravitee.gateway.reactor.processor.transaction;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Request;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 
 /**
  * A {@link Request} processor used to set check the traceparent header as described
@@ -27,13 +27,13 @@ import io.gravitee.gateway.core.processor.AbstractProcessor;
  * @author Eric LELEU (eric.leleu at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class TraceContextProcessor extends AbstractProcessor<ExecutionContext> {
+public class TraceContextProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     static final String HEADER_TRACE_STATE = "tracestate";
     static final String HEADER_TRACE_PARENT = "traceparent";
 
     @Override
-    public void handle(final ExecutionContext context) {
+    public void process(final ExecutionContext context) {
         String traceparent = context.request().headers().getFirst(HEADER_TRACE_PARENT);
         if (traceparent == null) {
             traceparent = TraceparentHelper.buildTraceparentFrom(UUID.random());
@@ -49,7 +49,5 @@ public class TraceContextProcessor extends AbstractProcessor<ExecutionContext> {
             context.request().headers().remove(HEADER_TRACE_STATE);
         }
         context.response().headers().set(HEADER_TRACE_PARENT, traceparent);
-
-        next.handle(context);
     }
 }
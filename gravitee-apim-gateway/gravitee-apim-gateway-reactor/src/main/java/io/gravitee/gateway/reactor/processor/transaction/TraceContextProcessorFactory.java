@@ -16,7 +16,7 @@
 package io.gravitee.gateway.reactor.processor.transaction;
 
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.StatelessProcessor;
 
 /**
  * @author Eric Leleu (eric.leleu at graviteesource.com)
@@ -24,7 +24,7 @@ import io.gravitee.gateway.core.processor.Processor;
  */
 public class TraceContextProcessorFactory {
 
-    public Processor<ExecutionContext> create() {
+    public StatelessProcessor<ExecutionContext> create() {
         return new TraceContextProcessor();
     }
 }
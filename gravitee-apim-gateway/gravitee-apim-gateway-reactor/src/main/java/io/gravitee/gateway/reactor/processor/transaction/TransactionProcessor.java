@@ -18,7 +18,7 @@ package io.gravitee.gateway.reactor.processor.transaction;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.context.MutableExecutionContext;
-import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.AbstractStatelessProcessor;
 
 /**
  * A {@link Request} processor used to set the transaction ID of the request.
@@ -26,7 +26,7 @@ import io.gravitee.gateway.core.processor.AbstractProcessor;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class TransactionProcessor extends AbstractProcessor<ExecutionContext> {
+public class TransactionProcessor extends AbstractStatelessProcessor<ExecutionContext> {
 
     static final String DEFAULT_TRANSACTION_ID_HEADER = "X-Gravitee-Transaction-Id";
     static final String DEFAULT_REQUEST_ID_HEADER = "X-Gravitee-Request-Id";
@@ -42,7 +42,7 @@ public class TransactionProcessor extends AbstractProcessor<ExecutionContext> {
     }
 
     @Override
-    public void handle(final ExecutionContext context) {
+    public void process(final ExecutionContext context) {
         final String requestId = context.request().id();
         String transactionId = context.request().headers().getFirst(transactionHeader);
         if (transactionId == null) {
@@ -56,7 +56,5 @@ public class TransactionProcessor extends AbstractProcessor<ExecutionContext> {
         context.response().headers().set(requestHeader, requestId);
 
         ((MutableExecutionContext) context).request(new TransactionRequest(transactionId, context.request()));
-
-        next.handle(context);
     }
 }
@@ -16,7 +16,7 @@
 package io.gravitee.gateway.reactor.processor.transaction;
 
 import io.gravitee.gateway.api.ExecutionContext;
-import io.gravitee.gateway.core.processor.Processor;
+import io.gravitee.gateway.core.processor.StatelessProcessor;
 import org.springframework.beans.factory.annotation.Value;
 
 /**
@@ -31,7 +31,7 @@ public class TransactionProcessorFactory {
     @Value("${handlers.request.request.header:" + TransactionProcessor.DEFAULT_REQUEST_ID_HEADER + "}")
     private String requestHeader;
 
-    public Processor<ExecutionContext> create() {
+    public StatelessProcessor<ExecutionContext> create() {
         return new TransactionProcessor(transactionHeader, requestHeader);
     }
 }
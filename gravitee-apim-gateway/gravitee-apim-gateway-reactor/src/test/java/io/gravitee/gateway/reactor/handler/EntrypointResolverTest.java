@@ -80,7 +80,7 @@ public class EntrypointResolverTest {
 
         final ConcurrentSkipListSet<HandlerEntrypoint> handlerEntrypoints = new ConcurrentSkipListSet<>(new HandlerEntryPointComparator());
         handlerEntrypoints.addAll(Collections.singletonList(entrypoint1));
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
         when(request.path()).thenReturn("/teams");
 
         assertEquals(entrypoint1, handlerResolver.resolve(context));
@@ -93,7 +93,7 @@ public class EntrypointResolverTest {
 
         final ConcurrentSkipListSet<HandlerEntrypoint> handlerEntrypoints = new ConcurrentSkipListSet<>(new HandlerEntryPointComparator());
         handlerEntrypoints.addAll(Collections.singletonList(entrypoint1));
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
         when(request.path()).thenReturn("/team");
 
         assertNull(handlerResolver.resolve(context));
@@ -107,7 +107,7 @@ public class EntrypointResolverTest {
 
         final List<HandlerEntrypoint> handlerEntrypoints = Arrays.asList(entrypoint1, entrypoint2);
         handlerEntrypoints.sort(new HandlerEntryPointComparator());
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
         when(request.path()).thenReturn("/teams");
 
         assertEquals(entrypoint1, handlerResolver.resolve(context));
@@ -121,7 +121,7 @@ public class EntrypointResolverTest {
 
         final List<HandlerEntrypoint> handlerEntrypoints = Arrays.asList(entrypoint1, entrypoint2);
         handlerEntrypoints.sort(new HandlerEntryPointComparator());
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
 
         when(request.path()).thenReturn("/team");
 
@@ -136,7 +136,7 @@ public class EntrypointResolverTest {
 
         final ConcurrentSkipListSet<HandlerEntrypoint> handlerEntrypoints = new ConcurrentSkipListSet<>(new HandlerEntryPointComparator());
         handlerEntrypoints.addAll(Arrays.asList(entrypoint1, entrypoint2));
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
 
         when(request.path()).thenReturn("/teamss");
 
@@ -151,7 +151,7 @@ public class EntrypointResolverTest {
 
         final List<HandlerEntrypoint> handlerEntrypoints = Arrays.asList(entrypoint1, entrypoint2);
         handlerEntrypoints.sort(new HandlerEntryPointComparator());
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
 
         when(request.path()).thenReturn("/teams/");
 
@@ -166,7 +166,7 @@ public class EntrypointResolverTest {
 
         final List<HandlerEntrypoint> handlerEntrypoints = Arrays.asList(entrypoint1, entrypoint2);
         handlerEntrypoints.sort(new HandlerEntryPointComparator());
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
 
         when(request.path()).thenReturn("/teamss/");
 
@@ -213,7 +213,7 @@ public class EntrypointResolverTest {
         handlerEntrypoints.addAll(withHostAndPathABC);
         handlerEntrypoints.addAll(withHostAndNotPathABC);
         handlerEntrypoints.sort(new HandlerEntryPointComparator());
-        when(reactorHandlerRegistry.getEntrypoints()).thenReturn(handlerEntrypoints);
+        when(reactorHandlerRegistry.getRouter()).thenReturn(new EntrypointRouter(handlerEntrypoints));
 
         // Cases without host.
         for (final HandlerEntrypoint expected : noHosts) {
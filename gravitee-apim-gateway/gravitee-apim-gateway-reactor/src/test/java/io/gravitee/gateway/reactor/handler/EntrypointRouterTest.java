@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.reactor.handler.impl.HandlerEntryPointComparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EntrypointRouterTest {
+
+    @Test
+    public void shouldNotRouteWhenEmpty() {
+        assertNull(EntrypointRouter.EMPTY.route(request(null, "/teams")));
+    }
+
+    @Test
+    public void shouldRouteWithoutTrailingSeparator() {
+        HandlerEntrypoint teams = entrypoint(null, "/teams");
+        EntrypointRouter router = new EntrypointRouter(Arrays.asList(teams, entrypoint(null, "/teams-v2")));
+
+        assertEquals(teams, router.route(request(null, "/teams")));
+        assertEquals(teams, router.route(request(null, "/teams/")));
+        assertEquals(teams, router.route(request(null, "/teams/members")));
+        assertNull(router.route(request(null, "/team")));
+        assertNull(router.route(request(null, "/teamss")));
+    }
+
+    @Test
+    public void shouldRouteWithVirtualHostIgnoringCase() {
+        HandlerEntrypoint withHost = entrypoint("api.gravitee.io", "/teams");
+        HandlerEntrypoint withoutHost = entrypoint(null, "/teams");
+        EntrypointRouter router = new EntrypointRouter(Arrays.asList(withoutHost, withHost));
+
+        assertEquals(withHost, router.route(request("API.gravitee.io", "/teams/1")));
+        assertEquals(withoutHost, router.route(request("api1.gravitee.io", "/teams/1")));
+        assertEquals(withoutHost, router.route(request(null, "/teams/1")));
+    }
+
+    @Test
+    public void shouldRouteAsOrderedEntrypoints() {
+        final List<HandlerEntrypoint> entrypoints = new ArrayList<>();
+        final List<String> hosts = Arrays.asList(null, "api.gravitee.io", "api1.gravitee.io");
+        final List<String> paths = Arrays.asList("/", "/a", "/a/b", "/a/b/c", "/a/bc", "/a-v1", "/b/c1/sub", "/b/c1/sub2");
+
+        for (String host : hosts) {
+            for (String path : paths) {
+                entrypoints.add(entrypoint(host, path));
+            }
+        }
+
+        // Shuffle to ensure the router does not depend on the insertion order.
+        Collections.shuffle(entrypoints);
+        final EntrypointRouter router = new EntrypointRouter(entrypoints);
+
+        final List<HandlerEntrypoint> sorted = new ArrayList<>(entrypoints);
+        sorted.sort(new HandlerEntryPointComparator());
+        assertEquals(sorted, router.entrypoints());
+
+        final List<String> requestPaths = Arrays.asList(
+            "/",
+            "/a",
+            "/a/",
+            "/a/b",
+            "/a/b/c/d",
+            "/a/bc",
+            "/a/bcd",
+            "/a-v1",
+            "/a-v2",
+            "/b/c1/sub",
+            "/b/c1/sub3",
+            "/unknown"
+        );
+        final List<String> requestHosts = Arrays.asList(null, "api.gravitee.io", "api1.gravitee.io", "api2.gravitee.io");
+
+        for (String host : requestHosts) {
+            for (String path : requestPaths) {
+                final Request request = request(host, path);
+                assertEquals("host [" + host + "], path [" + path + "]", linearScan(sorted, request), router.route(request));
+            }
+        }
+    }
+
+    private HandlerEntrypoint linearScan(List<HandlerEntrypoint> entrypoints, Request request) {
+        for (HandlerEntrypoint entrypoint : entrypoints) {
+            if (entrypoint.accept(request)) {
+                return entrypoint;
+            }
+        }
+        return null;
+    }
+
+    private Request request(String host, String path) {
+        Request request = mock(Request.class);
+        when(request.host()).thenReturn(host);
+        when(request.path()).thenReturn(path);
+        return request;
+    }
+
+    private HandlerEntrypoint entrypoint(String host, String path) {
+        final VirtualHost virtualHost = new VirtualHost(host, path);
+
+        return new HandlerEntrypoint() {
+            @Override
+            public ReactorHandler target() {
+                return null;
+            }
+
+            @Override
+            public String path() {
+                return virtualHost.path();
+            }
+
+            @Override
+            public String host() {
+                return virtualHost.host();
+            }
+
+            @Override
+            public int priority() {
+                return virtualHost.priority();
+            }
+
+            @Override
+            public boolean accept(Request request) {
+                return virtualHost.accept(request);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler.context;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ComponentResolverTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private ComponentResolver componentResolver;
+
+    @Before
+    public void setUp() {
+        componentResolver = new ComponentResolver(applicationContext);
+    }
+
+    @Test
+    public void shouldResolveSingletonOnce() {
+        final SingletonComponent component = new SingletonComponent();
+        when(applicationContext.getBean(SingletonComponent.class)).thenReturn(component);
+        when(applicationContext.getBeanNamesForType(SingletonComponent.class)).thenReturn(new String[] { "singletonComponent" });
+        when(applicationContext.isSingleton("singletonComponent")).thenReturn(true);
+
+        assertSame(component, componentResolver.getComponent(SingletonComponent.class));
+        assertSame(component, componentResolver.getComponent(SingletonComponent.class));
+        verify(applicationContext, times(1)).getBean(SingletonComponent.class);
+    }
+
+    @Test
+    public void shouldResolvePrototypeEachTime() {
+        when(applicationContext.getBean(PrototypeComponent.class)).thenReturn(new PrototypeComponent(), new PrototypeComponent());
+        when(applicationContext.getBeanNamesForType(PrototypeComponent.class)).thenReturn(new String[] { "prototypeComponent" });
+        when(applicationContext.isSingleton("prototypeComponent")).thenReturn(false);
+
+        componentResolver.getComponent(PrototypeComponent.class);
+        componentResolver.getComponent(PrototypeComponent.class);
+        verify(applicationContext, times(2)).getBean(PrototypeComponent.class);
+    }
+
+    @Test(expected = NoSuchBeanDefinitionException.class)
+    public void shouldFailWhenComponentIsUnknown() {
+        when(applicationContext.getBean(String.class)).thenThrow(new NoSuchBeanDefinitionException(String.class));
+
+        componentResolver.getComponent(String.class);
+    }
+
+    private static class SingletonComponent {}
+
+    private static class PrototypeComponent {}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.gravitee.el.TemplateContext;
+import io.gravitee.el.TemplateVariableProvider;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TemplateVariablesTest {
+
+    @Mock
+    private TemplateContext templateContext;
+
+    @Test
+    public void shouldCollectProvidersOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final TemplateVariableProvider provider = context -> {
+            calls.incrementAndGet();
+            context.setVariable("node", "node-1");
+        };
+
+        final TemplateVariables templateVariables = TemplateVariables.of(Collections.singletonList(provider));
+        templateVariables.provide(templateContext);
+        templateVariables.provide(templateContext);
+
+        verify(templateContext, times(2)).setVariable("node", "node-1");
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldKeepLastValueOfAVariable() {
+        final TemplateVariables templateVariables = TemplateVariables.of(
+            Arrays.asList(
+                context -> {
+                    context.setVariable("api", "first");
+                    context.setVariable("properties", "props");
+                },
+                context -> context.setVariable("api", "second")
+            )
+        );
+
+        templateVariables.provide(templateContext);
+
+        final InOrder inOrder = inOrder(templateContext);
+        inOrder.verify(templateContext).setVariable("api", "second");
+        inOrder.verify(templateContext).setVariable("properties", "props");
+        verify(templateContext, never()).setVariable("api", "first");
+    }
+
+    @Test
+    public void shouldProvideNothingWithoutProviders() {
+        TemplateVariables.of(null).provide(templateContext);
+
+        verify(templateContext, never()).setVariable(any(), any());
+    }
+}
@@ -25,13 +25,16 @@ import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
 import io.gravitee.gateway.security.core.AuthenticationPolicy;
 import io.gravitee.gateway.security.core.PluginAuthenticationPolicy;
+import io.gravitee.gateway.security.core.TokenType;
 import io.gravitee.reporter.api.http.SecurityType;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiKeyRepository;
 import io.gravitee.repository.management.model.ApiKey;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -55,6 +58,8 @@ public class ApiKeyAuthenticationHandler implements AuthenticationHandler, Initi
 
     private static final List<AuthenticationPolicy> POLICIES = Collections.singletonList((PluginAuthenticationPolicy) () -> API_KEY_POLICY);
 
+    private static final Set<TokenType> TOKEN_TYPES = Collections.unmodifiableSet(EnumSet.of(TokenType.API_KEY));
+
     @Value("${policy.api-key.header:" + GraviteeHttpHeader.X_GRAVITEE_API_KEY + "}")
     private String apiKeyHeader = GraviteeHttpHeader.X_GRAVITEE_API_KEY;
 
@@ -101,6 +106,11 @@ public class ApiKeyAuthenticationHandler implements AuthenticationHandler, Initi
         return true;
     }
 
+    @Override
+    public Set<TokenType> tokenTypes() {
+        return TOKEN_TYPES;
+    }
+
     @Override
     public String name() {
         return "api_key";
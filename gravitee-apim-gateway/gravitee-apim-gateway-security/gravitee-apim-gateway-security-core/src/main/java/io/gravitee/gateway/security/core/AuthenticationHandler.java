@@ -16,13 +16,18 @@
 package io.gravitee.gateway.security.core;
 
 import io.gravitee.gateway.api.ExecutionContext;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public interface AuthenticationHandler {
+    Set<TokenType> ANY_TOKEN_TYPE = Collections.unmodifiableSet(EnumSet.allOf(TokenType.class));
+
     /**
      * The provider name.
      *
@@ -45,6 +50,16 @@ public interface AuthenticationHandler {
      */
     boolean canHandle(AuthenticationContext context);
 
+    /**
+     * The kinds of credential for which {@link #canHandle(AuthenticationContext)} may return <code>true</code>.
+     * The handler is not asked at all for requests carrying none of them.
+     *
+     * @return The token types accepted by the authentication system, all of them by default.
+     */
+    default Set<TokenType> tokenTypes() {
+        return ANY_TOKEN_TYPE;
+    }
+
     /**
      * Policies which will be run for each request after authentication method selection
      * The "Security policy chain" may be composed of
@@ -15,10 +15,20 @@
  */
 package io.gravitee.gateway.security.core;
 
+import io.gravitee.common.http.GraviteeHttpHeader;
 import io.gravitee.gateway.api.Request;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
+ * Select the first {@link AuthenticationHandler}, by order, able to handle the incoming request.
+ *
+ * The request is classified once according to the credential it carries (see {@link TokenType}), so that only the
+ * handlers accepting this kind of credential are asked, in the same order.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -27,12 +37,26 @@ public class DefaultAuthenticationHandlerSelector implements AuthenticationHandl
     @Autowired
     private AuthenticationHandlerManager providerManager;
 
+    @Value("${policy.api-key.header:" + GraviteeHttpHeader.X_GRAVITEE_API_KEY + "}")
+    private String apiKeyHeader = GraviteeHttpHeader.X_GRAVITEE_API_KEY;
+
+    @Value("${policy.api-key.param:api-key}")
+    private String apiKeyQueryParameter = "api-key";
+
+    private volatile HandlerIndex index;
+
     @Override
     public AuthenticationHandler select(Request request) {
+        final HandlerIndex handlerIndex = index(providerManager.getAuthenticationHandlers());
+
         // Prepare the authentication context
         final SimpleAuthenticationContext context = new SimpleAuthenticationContext(request);
 
-        for (AuthenticationHandler securityProvider : providerManager.getAuthenticationHandlers()) {
+        final AuthenticationHandler[] candidates = handlerIndex.classified()
+            ? handlerIndex.candidates(classify(request))
+            : handlerIndex.all;
+
+        for (AuthenticationHandler securityProvider : candidates) {
             if (securityProvider.canHandle(context)) {
                 return securityProvider;
             }
@@ -44,4 +68,110 @@ public class DefaultAuthenticationHandlerSelector implements AuthenticationHandl
     public void setProviderManager(AuthenticationHandlerManager providerManager) {
         this.providerManager = providerManager;
     }
+
+    /**
+     * @return the bit mask of the {@link TokenType}s carried by the request.
+     */
+    int classify(Request request) {
+        int mask = 0;
+
+        if (hasApiKey(request)) {
+            mask |= TokenType.API_KEY.mask();
+        }
+
+        final String token = TokenExtractor.extract(request);
+        if (token != null && !token.isEmpty()) {
+            mask |= TokenType.BEARER.mask();
+        }
+
+        return (mask == 0) ? TokenType.NONE.mask() : mask;
+    }
+
+    private boolean hasApiKey(Request request) {
+        // Same lookup as the api-key authentication handler: the header first, then the query parameter.
+        final String apiKey = request.headers() != null ? request.headers().getFirst(apiKeyHeader) : null;
+        if (apiKey != null && !apiKey.isEmpty()) {
+            return true;
+        }
+
+        return request.parameters() != null && request.parameters().getFirst(apiKeyQueryParameter) != null;
+    }
+
+    private HandlerIndex index(List<AuthenticationHandler> handlers) {
+        HandlerIndex handlerIndex = index;
+        if (handlerIndex == null || handlerIndex.handlers != handlers) {
+            handlerIndex = new HandlerIndex(handlers);
+            index = handlerIndex;
+        }
+        return handlerIndex;
+    }
+
+    /**
+     * The handlers to ask for each combination of token types, in their original order.
+     */
+    private static final class HandlerIndex {
+
+        private static final AuthenticationHandler[] NO_HANDLERS = new AuthenticationHandler[0];
+
+        private static final int ANY_MASK = (1 << TokenType.values().length) - 1;
+
+        private final List<AuthenticationHandler> handlers;
+
+        private final AuthenticationHandler[] all;
+
+        /**
+         * Indexed by the bit mask of the token types carried by the request, <code>null</code> when every handler
+         * accepts any token type, in which case the request does not even need to be classified.
+         */
+        private final AuthenticationHandler[][] byTokenTypes;
+
+        private HandlerIndex(List<AuthenticationHandler> handlers) {
+            this.handlers = handlers;
+            this.all = (handlers != null) ? handlers.toArray(NO_HANDLERS) : NO_HANDLERS;
+
+            final int[] masks = new int[all.length];
+            boolean restricted = false;
+            for (int i = 0; i < all.length; i++) {
+                masks[i] = mask(all[i].tokenTypes());
+                restricted |= masks[i] != ANY_MASK;
+            }
+
+            if (!restricted) {
+                byTokenTypes = null;
+                return;
+            }
+
+            byTokenTypes = new AuthenticationHandler[ANY_MASK + 1][];
+            for (int requestMask = 0; requestMask <= ANY_MASK; requestMask++) {
+                final List<AuthenticationHandler> candidates = new ArrayList<>(all.length);
+                for (int i = 0; i < all.length; i++) {
+                    if ((masks[i] & requestMask) != 0) {
+                        candidates.add(all[i]);
+                    }
+                }
+                byTokenTypes[requestMask] = candidates.toArray(NO_HANDLERS);
+            }
+        }
+
+        private boolean classified() {
+            return byTokenTypes != null;
+        }
+
+        private AuthenticationHandler[] candidates(int tokenTypes) {
+            return byTokenTypes[tokenTypes];
+        }
+
+        private static int mask(Set<TokenType> tokenTypes) {
+            // No declared token type (ie. a handler which is not aware of them) means any of them.
+            if (tokenTypes == null || tokenTypes.isEmpty()) {
+                return ANY_MASK;
+            }
+
+            int mask = 0;
+            for (TokenType tokenType : tokenTypes) {
+                mask |= tokenType.mask();
+            }
+            return mask;
+        }
+    }
 }
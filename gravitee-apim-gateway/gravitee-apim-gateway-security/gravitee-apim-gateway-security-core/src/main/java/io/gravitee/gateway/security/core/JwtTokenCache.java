@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of parsed JWT tokens, so that a token replayed by a client until it expires is only decoded once.
+ *
+ * Tokens are keyed by their SHA-256 digest, the raw tokens are never kept. Only the tokens declaring an expiration
+ * time (<code>exp</code> claim) are cached, and never after this expiration time. The least recently used tokens are
+ * evicted first once the maximum size is reached.
+ *
+ * Parsing a token does not validate it, cached tokens still go through the signature and claims validation of the
+ * security policies.
+ *
+ * @author GraviteeSource Team
+ */
+public final class JwtTokenCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final JwtTokenCache INSTANCE = new JwtTokenCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final Cache<ByteBuffer, ParsedToken> cache;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final AtomicLong estimatedMemory = new AtomicLong();
+
+    JwtTokenCache(long maximumSize) {
+        this.cache =
+            CacheBuilder
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .<ByteBuffer, ParsedToken>removalListener(notification -> estimatedMemory.addAndGet(-notification.getValue().weight))
+                .build();
+    }
+
+    /**
+     * @return the cache shared by all the JWT based authentication handlers of the gateway.
+     */
+    public static JwtTokenCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Parse the given token, or get it from the cache if it has already been parsed and is not yet expired.
+     *
+     * @param token the encoded token.
+     * @return the parsed token.
+     * @throws ParseException if the token is not a valid JWT.
+     */
+    ParsedToken parse(String token) throws ParseException {
+        final ByteBuffer key = digest(token);
+        final long now = System.currentTimeMillis();
+
+        ParsedToken parsedToken = cache.getIfPresent(key);
+        if (parsedToken != null) {
+            if (parsedToken.expiresAt > now) {
+                hits.increment();
+                return parsedToken;
+            }
+            cache.invalidate(key);
+        }
+
+        misses.increment();
+
+        final JWT jwt = JWTParser.parse(token);
+        final JWTClaimsSet claimsSet = jwt.getJWTClaimsSet();
+        final Date expirationTime = claimsSet != null ? claimsSet.getExpirationTime() : null;
+
+        final long expiresAt = expirationTime != null ? expirationTime.getTime() : 0;
+        final Map<String, Object> headers = jwt.getHeader() != null ? jwt.getHeader().toJSONObject() : null;
+        final Map<String, Object> claims = claimsSet != null ? claimsSet.getClaims() : null;
+
+        if (expiresAt <= now) {
+            return new ParsedToken(headers, claims, expiresAt, 0);
+        }
+
+        // Cached tokens are shared between requests, they must not be updated.
+        parsedToken = new ParsedToken(headers != null ? Collections.unmodifiableMap(headers) : null, claims, expiresAt, token.length());
+        estimatedMemory.addAndGet(parsedToken.weight);
+        cache.put(key, parsedToken);
+
+        return parsedToken;
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of tokens found in the cache.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of tokens which had to be parsed.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the ratio of tokens found in the cache, <code>1</code> if no token has been parsed yet.
+     */
+    public double hitRatio() {
+        final long hitCount = hitCount();
+        final long requestCount = hitCount + missCount();
+        return (requestCount == 0) ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of tokens currently in the cache.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the estimated memory used by the cached tokens, in bytes, approximated by the length of the encoded
+     * tokens.
+     */
+    public long estimatedMemory() {
+        return estimatedMemory.get();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException nsae) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    static final class ParsedToken {
+
+        private final Map<String, Object> headers;
+        private final Map<String, Object> claims;
+        private final long expiresAt;
+        private final long weight;
+
+        private ParsedToken(Map<String, Object> headers, Map<String, Object> claims, long expiresAt, long weight) {
+            this.headers = headers;
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+
+        Map<String, Object> headers() {
+            return headers;
+        }
+
+        Map<String, Object> claims() {
+            return claims;
+        }
+    }
+}
@@ -15,14 +15,15 @@
  */
 package io.gravitee.gateway.security.core;
 
-import com.nimbusds.jwt.JWT;
-import com.nimbusds.jwt.JWTParser;
 import java.text.ParseException;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * A JWT token which is only parsed when its headers or claims are read, the parsed tokens being shared through the
+ * {@link JwtTokenCache}.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -32,6 +33,8 @@ public class LazyJwtToken {
 
     private final String token;
 
+    private final JwtTokenCache cache;
+
     private Map<String, Object> headers;
 
     private Map<String, Object> claims;
@@ -39,7 +42,12 @@ public class LazyJwtToken {
     private boolean parsed = false;
 
     public LazyJwtToken(final String token) {
+        this(token, JwtTokenCache.getInstance());
+    }
+
+    LazyJwtToken(final String token, final JwtTokenCache cache) {
         this.token = token;
+        this.cache = cache;
     }
 
     public Map<String, Object> getHeaders() {
@@ -57,13 +65,9 @@ public class LazyJwtToken {
             parsed = true;
 
             try {
-                JWT jwt = JWTParser.parse(token);
-                if (jwt.getHeader() != null) {
-                    headers = jwt.getHeader().toJSONObject();
-                }
-                if (jwt.getJWTClaimsSet() != null) {
-                    claims = jwt.getJWTClaimsSet().getClaims();
-                }
+                JwtTokenCache.ParsedToken parsedToken = cache.parse(token);
+                headers = parsedToken.headers();
+                claims = parsedToken.claims();
             } catch (ParseException ex) {
                 // Nothing to do in case of a bad JWT token
                 logger.debug("Error while parsing JWT token", ex);
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.core;
+
+/**
+ * The kind of credential carried by an incoming request, used to select the {@link AuthenticationHandler}s able to
+ * handle it without asking all of them.
+ *
+ * @author GraviteeSource Team
+ */
+public enum TokenType {
+    /**
+     * The request does not carry any credential.
+     */
+    NONE,
+
+    /**
+     * An API key, from the API key header or query parameter.
+     */
+    API_KEY,
+
+    /**
+     * A bearer token, from the <code>Authorization</code> header or the <code>access_token</code> query parameter.
+     */
+    BEARER;
+
+    int mask() {
+        return 1 << ordinal();
+    }
+}
@@ -19,11 +19,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.gravitee.common.http.GraviteeHttpHeader;
+import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.gateway.api.Request;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -96,4 +101,62 @@ public class AuthenticationHandlerSelectorTest {
         AuthenticationHandler securityProvider = authenticationHandlerSelector.select(request);
         assertEquals(securityProvider2, securityProvider);
     }
+
+    @Test
+    public void shouldOnlyAskHandlersAcceptingTheRequestTokenType() {
+        AuthenticationHandler jwtHandler = handler(0, TokenType.BEARER);
+        AuthenticationHandler apiKeyHandler = handler(500, TokenType.API_KEY);
+        AuthenticationHandler keylessHandler = mock(AuthenticationHandler.class);
+        when(keylessHandler.tokenTypes()).thenReturn(AuthenticationHandler.ANY_TOKEN_TYPE);
+        when(keylessHandler.canHandle(any(AuthenticationContext.class))).thenReturn(true);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Arrays.asList(jwtHandler, apiKeyHandler, keylessHandler));
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(GraviteeHttpHeader.X_GRAVITEE_API_KEY, "my-api-key");
+        when(request.headers()).thenReturn(headers);
+
+        assertEquals(apiKeyHandler, authenticationHandlerSelector.select(request));
+        verify(jwtHandler, never()).canHandle(any(AuthenticationContext.class));
+    }
+
+    @Test
+    public void shouldPreserveOrderOfHandlersAcceptingTheRequestTokenType() {
+        AuthenticationHandler jwtHandler = handler(0, TokenType.BEARER);
+        AuthenticationHandler apiKeyHandler = handler(500, TokenType.API_KEY);
+        AuthenticationHandler keylessHandler = mock(AuthenticationHandler.class);
+        when(keylessHandler.canHandle(any(AuthenticationContext.class))).thenReturn(true);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Arrays.asList(jwtHandler, apiKeyHandler, keylessHandler));
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer my-token");
+        headers.set(GraviteeHttpHeader.X_GRAVITEE_API_KEY, "my-api-key");
+        when(request.headers()).thenReturn(headers);
+
+        assertEquals(jwtHandler, authenticationHandlerSelector.select(request));
+    }
+
+    @Test
+    public void shouldOnlyAskHandlersAcceptingAnyTokenType_noCredential() {
+        AuthenticationHandler jwtHandler = handler(0, TokenType.BEARER);
+        AuthenticationHandler apiKeyHandler = handler(500, TokenType.API_KEY);
+        AuthenticationHandler keylessHandler = mock(AuthenticationHandler.class);
+        when(keylessHandler.canHandle(any(AuthenticationContext.class))).thenReturn(true);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Arrays.asList(jwtHandler, apiKeyHandler, keylessHandler));
+        when(request.headers()).thenReturn(new HttpHeaders());
+
+        assertEquals(keylessHandler, authenticationHandlerSelector.select(request));
+        verify(jwtHandler, never()).canHandle(any(AuthenticationContext.class));
+        verify(apiKeyHandler, never()).canHandle(any(AuthenticationContext.class));
+    }
+
+    private AuthenticationHandler handler(int order, TokenType tokenType) {
+        AuthenticationHandler handler = mock(AuthenticationHandler.class);
+        when(handler.order()).thenReturn(order);
+        when(handler.tokenTypes()).thenReturn(EnumSet.of(tokenType));
+        when(handler.canHandle(any(AuthenticationContext.class))).thenReturn(true);
+        return handler;
+    }
 }
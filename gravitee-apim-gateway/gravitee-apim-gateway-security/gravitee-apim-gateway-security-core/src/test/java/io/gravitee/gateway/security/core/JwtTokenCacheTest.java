@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import java.text.ParseException;
+import java.util.Date;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class JwtTokenCacheTest {
+
+    private final JwtTokenCache cache = new JwtTokenCache(2);
+
+    @Test
+    public void shouldParseTokenOnlyOnce() throws ParseException {
+        final String token = token("client-1", new Date(System.currentTimeMillis() + 60_000));
+
+        final JwtTokenCache.ParsedToken first = cache.parse(token);
+        final JwtTokenCache.ParsedToken second = cache.parse(token);
+
+        assertSame(first, second);
+        assertEquals("client-1", second.claims().get("sub"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(0.5, cache.hitRatio(), 0.0);
+        assertEquals(1, cache.size());
+        assertEquals(token.length(), cache.estimatedMemory());
+    }
+
+    @Test
+    public void shouldNotCacheTokenWithoutExpiration() throws ParseException {
+        final String token = token("client-1", null);
+
+        assertNotSame(cache.parse(token), cache.parse(token));
+        assertEquals(0, cache.hitCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheExpiredToken() throws ParseException {
+        final String token = token("client-1", new Date(System.currentTimeMillis() - 1_000));
+
+        assertNotSame(cache.parse(token), cache.parse(token));
+        assertEquals(0, cache.hitCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldBoundCachedTokens() throws ParseException {
+        final Date expirationTime = new Date(System.currentTimeMillis() + 60_000);
+        for (int i = 0; i < 10; i++) {
+            cache.parse(token("client-" + i, expirationTime));
+        }
+
+        assertTrue(cache.size() <= 2);
+        assertTrue(cache.estimatedMemory() <= 2L * token("client-0", expirationTime).length());
+    }
+
+    @Test
+    public void shouldReleaseMemoryWhenCleared() throws ParseException {
+        cache.parse(token("client-1", new Date(System.currentTimeMillis() + 60_000)));
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.estimatedMemory());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotUpdateCachedToken() throws ParseException {
+        final String token = token("client-1", new Date(System.currentTimeMillis() + 60_000));
+
+        cache.parse(token).claims().put("sub", "client-2");
+    }
+
+    private static String token(String subject, Date expirationTime) {
+        return new PlainJWT(new JWTClaimsSet.Builder().subject(subject).expirationTime(expirationTime).build()).serialize();
+    }
+}
@@ -20,7 +20,10 @@ import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.security.core.*;
 import io.gravitee.gateway.security.jwt.policy.CheckSubscriptionPolicy;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -44,6 +47,8 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
         (HookAuthenticationPolicy) () -> CheckSubscriptionPolicy.class
     );
 
+    private static final Set<TokenType> TOKEN_TYPES = Collections.unmodifiableSet(EnumSet.of(TokenType.BEARER));
+
     @Override
     public boolean canHandle(AuthenticationContext context) {
         String token = readToken(context.request());
@@ -60,6 +65,11 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
         return true;
     }
 
+    @Override
+    public Set<TokenType> tokenTypes() {
+        return TOKEN_TYPES;
+    }
+
     private String readToken(Request request) {
         return TokenExtractor.extract(request);
     }
@@ -15,24 +15,42 @@
  */
 package io.gravitee.gateway.services.sync.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.gravitee.repository.management.model.ApiKey;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * API keys are cached using a combination of apiKey and apiId as cache key.
  *
+ * The api-keys which are not found are also remembered for a short time, in a bounded local cache, so that the
+ * repeated lookups of invalid or revoked api-keys do not go to the underlying (possibly distributed) cache. An unknown
+ * api-key is forgotten as soon as it is cached by a refresher, or once it expires for the gateways which do not
+ * refresh the api-keys themselves (ie. with a distributed synchronization).
+ *
  * @author GraviteeSource Team
  */
 public class ApiKeysCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiKeysCache.class);
 
+    static final long UNKNOWN_KEYS_MAXIMUM_SIZE = 100_000;
+    static final long UNKNOWN_KEYS_TTL_SECONDS = 10;
+
     protected Map<String, ApiKey> cache;
 
+    private final Cache<String, Boolean> unknownKeys;
+
     public ApiKeysCache(Map<String, ApiKey> cache) {
+        this(cache, UNKNOWN_KEYS_MAXIMUM_SIZE, UNKNOWN_KEYS_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    ApiKeysCache(Map<String, ApiKey> cache, long unknownKeysMaximumSize, long unknownKeysTtl, TimeUnit unit) {
         this.cache = cache;
+        this.unknownKeys = CacheBuilder.newBuilder().maximumSize(unknownKeysMaximumSize).expireAfterWrite(unknownKeysTtl, unit).build();
     }
 
     public void remove(ApiKey apiKey) {
@@ -47,11 +65,29 @@ public class ApiKeysCache {
 
     public void put(ApiKey apiKey) {
         LOGGER.debug("Caching an api-key [id: {}] [plan: {}] [app: {}]", apiKey.getId(), apiKey.getPlan(), apiKey.getApplication());
-        cache.put(buildCacheKey(apiKey), apiKey);
+        final String cacheKey = buildCacheKey(apiKey);
+        cache.put(cacheKey, apiKey);
+        unknownKeys.invalidate(cacheKey);
     }
 
     public ApiKey get(String api, String key) {
-        return cache.get(buildCacheKey(api, key));
+        final String cacheKey = buildCacheKey(api, key);
+        if (unknownKeys.getIfPresent(cacheKey) != null) {
+            return null;
+        }
+
+        final ApiKey apiKey = cache.get(cacheKey);
+        if (apiKey == null) {
+            unknownKeys.put(cacheKey, Boolean.TRUE);
+
+            // The api-key may have been cached in the meantime, before the unknown api-key was remembered
+            final ApiKey cachedApiKey = cache.get(cacheKey);
+            if (cachedApiKey != null) {
+                unknownKeys.invalidate(cacheKey);
+                return cachedApiKey;
+            }
+        }
+        return apiKey;
     }
 
     private String buildCacheKey(ApiKey apiKey) {
@@ -59,6 +95,6 @@ public class ApiKeysCache {
     }
 
     private String buildCacheKey(String api, String key) {
-        return String.format("%s.%s", api, key);
+        return api + '.' + key;
     }
 }
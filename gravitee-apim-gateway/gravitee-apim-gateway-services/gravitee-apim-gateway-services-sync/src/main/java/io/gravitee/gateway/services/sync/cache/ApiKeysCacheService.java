@@ -72,6 +72,12 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
 
     private ApiKeyRepository apiKeyRepository;
 
+    /**
+     * Shared by the repository wrapper and the refreshers, so that the api-keys cached by the refreshers are no longer
+     * considered as unknown by the wrapper.
+     */
+    private ApiKeysCache apiKeysCache;
+
     @Autowired
     @Qualifier("syncExecutor")
     private ThreadPoolExecutor executorService;
@@ -113,11 +119,10 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
 
         beanFactory.destroySingleton(oldBeanName);
 
+        apiKeysCache = new ApiKeysCache(cacheManager.getCache(API_KEY_CACHE_NAME));
+
         LOGGER.debug("Register API key repository implementation {}", ApiKeyRepositoryWrapper.class.getName());
-        beanFactory.registerSingleton(
-            ApiKeyRepository.class.getName(),
-            new ApiKeyRepositoryWrapper(this.apiKeyRepository, new ApiKeysCache(cacheManager.getCache(API_KEY_CACHE_NAME)))
-        );
+        beanFactory.registerSingleton(ApiKeyRepository.class.getName(), new ApiKeyRepositoryWrapper(this.apiKeyRepository, apiKeysCache));
 
         LOGGER.info("Associate a new HTTP handler on {}", PATH);
 
@@ -164,7 +169,7 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
                                     chunk
                                 );
                                 refresher.setApiKeyRepository(apiKeyRepository);
-                                refresher.setCache(new ApiKeysCache(cacheManager.getCache(API_KEY_CACHE_NAME)));
+                                refresher.setCache(apiKeysCache);
 
                                 return refresher;
                             }
@@ -279,7 +284,7 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
             if (clusterManager.isMasterNode() || (!clusterManager.isMasterNode() && !distributed)) {
                 final FullApiKeyRefresher refresher = new FullApiKeyRefresher(planIds);
                 refresher.setApiKeyRepository(apiKeyRepository);
-                refresher.setCache(new ApiKeysCache(cacheManager.getCache(API_KEY_CACHE_NAME)));
+                refresher.setCache(apiKeysCache);
 
                 CompletableFuture
                     .supplyAsync(refresher::call, executorService)
@@ -17,18 +17,73 @@ package io.gravitee.gateway.services.sync.cache;
 
 import com.hazelcast.core.HazelcastInstance;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
+ * Provide the caches of the synchronized API keys and subscriptions.
+ *
+ * By default, caches are Hazelcast maps, so that they can be shared by the gateways of a cluster, each lookup
+ * deserializing the cached entry. When the synchronization is not distributed, each gateway refreshes its own caches
+ * and they can be kept in memory (<code>services.sync.cache.type: memory</code>), the lookups then returning the
+ * entries stored by the refreshers as-is.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public final class CacheManager {
+public final class CacheManager implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheManager.class);
+
+    static final String TYPE_HAZELCAST = "hazelcast";
+    static final String TYPE_MEMORY = "memory";
 
     @Autowired
     private HazelcastInstance hzInstance;
 
+    @Value("${services.sync.cache.type:" + TYPE_HAZELCAST + "}")
+    private String type = TYPE_HAZELCAST;
+
+    @Value("${services.sync.distributed:false}")
+    private boolean distributed;
+
+    private boolean inMemory;
+
+    private final Map<String, Map<?, ?>> memoryCaches = new ConcurrentHashMap<>();
+
+    public CacheManager() {}
+
+    CacheManager(HazelcastInstance hzInstance, String type, boolean distributed) {
+        this.hzInstance = hzInstance;
+        this.type = type;
+        this.distributed = distributed;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (TYPE_MEMORY.equalsIgnoreCase(type)) {
+            if (distributed) {
+                LOGGER.warn("In memory caches can not be used with a distributed synchronization, fallback to {} caches", TYPE_HAZELCAST);
+            } else {
+                inMemory = true;
+            }
+        } else if (!TYPE_HAZELCAST.equalsIgnoreCase(type)) {
+            LOGGER.warn("Unknown cache type [{}], fallback to {} caches", type, TYPE_HAZELCAST);
+        }
+
+        LOGGER.debug("Synchronized data are cached using {} caches", inMemory ? TYPE_MEMORY : TYPE_HAZELCAST);
+    }
+
+    @SuppressWarnings("unchecked")
     public <K, V> Map<K, V> getCache(String name) {
+        if (inMemory) {
+            return (Map<K, V>) memoryCaches.computeIfAbsent(name, cacheName -> new ConcurrentHashMap<>());
+        }
+
         return hzInstance.getMap(name);
     }
 }
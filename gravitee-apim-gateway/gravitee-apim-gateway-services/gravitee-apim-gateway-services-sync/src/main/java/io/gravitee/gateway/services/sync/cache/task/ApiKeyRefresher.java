@@ -15,6 +15,8 @@
  */
 package io.gravitee.gateway.services.sync.cache.task;
 
+import static io.gravitee.gateway.services.sync.cache.task.Identifiers.intern;
+
 import io.gravitee.gateway.services.sync.cache.ApiKeysCache;
 import io.gravitee.repository.management.api.ApiKeyRepository;
 import io.gravitee.repository.management.api.search.ApiKeyCriteria;
@@ -51,10 +53,28 @@ public abstract class ApiKeyRefresher implements Callable<Result<Boolean>> {
         if (apiKey.isRevoked() || apiKey.isPaused()) {
             cache.remove(apiKey);
         } else {
-            cache.put(apiKey);
+            cache.put(compact(apiKey));
         }
     }
 
+    /**
+     * Only keep what the gateway needs to check an api-key: its key, API, plan, application, subscription, expiration
+     * and status.
+     */
+    private ApiKey compact(ApiKey apiKey) {
+        apiKey.setCreatedAt(null);
+        apiKey.setUpdatedAt(null);
+        apiKey.setRevokedAt(null);
+        apiKey.setDaysToExpirationOnLastNotification(null);
+
+        apiKey.setApi(intern(apiKey.getApi()));
+        apiKey.setPlan(intern(apiKey.getPlan()));
+        apiKey.setApplication(intern(apiKey.getApplication()));
+        apiKey.setSubscription(intern(apiKey.getSubscription()));
+
+        return apiKey;
+    }
+
     public void setCache(ApiKeysCache cache) {
         this.cache = cache;
     }
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.task;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * The identifiers of APIs, plans, applications and subscriptions are referenced by many cached api-keys and
+ * subscriptions. Each of them is read from the repository as a new string: they are interned so that the cached
+ * entries share a single instance of each identifier, released once no entry references it anymore.
+ *
+ * @author GraviteeSource Team
+ */
+final class Identifiers {
+
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+    private Identifiers() {}
+
+    static String intern(String identifier) {
+        return (identifier != null) ? INTERNER.intern(identifier) : null;
+    }
+}
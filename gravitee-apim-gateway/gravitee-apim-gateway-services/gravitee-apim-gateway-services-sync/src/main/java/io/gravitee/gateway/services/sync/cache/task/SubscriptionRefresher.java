@@ -15,6 +15,7 @@
  */
 package io.gravitee.gateway.services.sync.cache.task;
 
+import static io.gravitee.gateway.services.sync.cache.task.Identifiers.intern;
 import static io.gravitee.repository.management.model.Subscription.Status.*;
 
 import io.gravitee.repository.management.api.SubscriptionRepository;
@@ -70,14 +71,7 @@ public abstract class SubscriptionRefresher implements Callable<Result<Boolean>>
             );
             cache.put(subscription.getId(), key);
 
-            // Delete useless information to preserve memory
-            subscription.setGeneralConditionsContentPageId(null);
-            subscription.setRequest(null);
-            subscription.setReason(null);
-            subscription.setSubscribedBy(null);
-            subscription.setProcessedBy(null);
-
-            cache.put(key, subscription);
+            cache.put(key, compact(subscription));
 
             if (element != null) {
                 final String oldKey = (String) element;
@@ -88,6 +82,32 @@ public abstract class SubscriptionRefresher implements Callable<Result<Boolean>>
         }
     }
 
+    /**
+     * Only keep what the gateway needs to check a subscription: its API, plan, application, client id, status and
+     * validity period.
+     */
+    private Subscription compact(Subscription subscription) {
+        subscription.setGeneralConditionsContentPageId(null);
+        subscription.setGeneralConditionsContentRevision(null);
+        subscription.setGeneralConditionsAccepted(null);
+        subscription.setRequest(null);
+        subscription.setReason(null);
+        subscription.setSubscribedBy(null);
+        subscription.setProcessedBy(null);
+        subscription.setProcessedAt(null);
+        subscription.setCreatedAt(null);
+        subscription.setUpdatedAt(null);
+        subscription.setClosedAt(null);
+        subscription.setPausedAt(null);
+        subscription.setDaysToExpirationOnLastNotification(null);
+
+        subscription.setApi(intern(subscription.getApi()));
+        subscription.setPlan(intern(subscription.getPlan()));
+        subscription.setApplication(intern(subscription.getApplication()));
+
+        return subscription;
+    }
+
     public void setSubscriptionRepository(SubscriptionRepository subscriptionRepository) {
         this.subscriptionRepository = subscriptionRepository;
     }
@@ -19,6 +19,8 @@ import static org.junit.Assert.*;
 
 import io.gravitee.repository.management.model.ApiKey;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -82,4 +84,89 @@ public class ApiKeysCacheTest {
         assertEquals(2, apiKeysCache.cache.size());
         assertFalse(apiKeysCache.cache.containsKey("api-id.key-id"));
     }
+
+    @Test
+    public void get_should_not_lookup_unknown_apikey_twice() {
+        final AtomicInteger lookups = new AtomicInteger();
+        final ApiKeysCache countingCache = new ApiKeysCache(
+            new HashMap<String, ApiKey>() {
+                @Override
+                public ApiKey get(Object key) {
+                    lookups.incrementAndGet();
+                    return super.get(key);
+                }
+            }
+        );
+
+        assertNull(countingCache.get("api-id", "unknown-key"));
+        final int firstLookups = lookups.get();
+        assertNull(countingCache.get("api-id", "unknown-key"));
+
+        assertEquals(firstLookups, lookups.get());
+    }
+
+    @Test
+    public void get_should_not_remember_apikey_cached_while_looking_it_up() {
+        final ApiKey apiKey = new ApiKey();
+        apiKey.setApi("api-id6");
+        apiKey.setKey("key-id");
+
+        final AtomicReference<ApiKeysCache> refreshedCache = new AtomicReference<>();
+        refreshedCache.set(
+            new ApiKeysCache(
+                new HashMap<String, ApiKey>() {
+                    private boolean refreshed;
+
+                    @Override
+                    public ApiKey get(Object key) {
+                        if (!refreshed) {
+                            // The refresher caches the api-key right after it has been looked up
+                            refreshed = true;
+                            final ApiKey found = super.get(key);
+                            refreshedCache.get().put(apiKey);
+                            return found;
+                        }
+                        return super.get(key);
+                    }
+                }
+            )
+        );
+
+        assertSame(apiKey, refreshedCache.get().get("api-id6", "key-id"));
+        assertSame(apiKey, refreshedCache.get().get("api-id6", "key-id"));
+    }
+
+    @Test
+    public void put_should_forget_unknown_apikey() {
+        assertNull(apiKeysCache.get("api-id6", "key-id"));
+
+        ApiKey apiKey = new ApiKey();
+        apiKey.setApi("api-id6");
+        apiKey.setKey("key-id");
+        apiKeysCache.put(apiKey);
+
+        assertSame(apiKey, apiKeysCache.get("api-id6", "key-id"));
+    }
+
+    @Test
+    public void put_should_build_the_same_cache_key_as_previous_versions() {
+        // Cache keys also key the Hazelcast maps shared with the gateways of previous versions
+        final String[][] apiAndKeys = {
+            { "api-id", "key-id" },
+            { "api.id", "key.id" },
+            { "", "" },
+            { null, "key-id" },
+            { "api-id", null }
+        };
+
+        for (String[] apiAndKey : apiAndKeys) {
+            ApiKey apiKey = new ApiKey();
+            apiKey.setApi(apiAndKey[0]);
+            apiKey.setKey(apiAndKey[1]);
+
+            apiKeysCache.put(apiKey);
+
+            assertSame(apiKey, apiKeysCache.cache.get(String.format("%s.%s", apiAndKey[0], apiAndKey[1])));
+        }
+    }
 }
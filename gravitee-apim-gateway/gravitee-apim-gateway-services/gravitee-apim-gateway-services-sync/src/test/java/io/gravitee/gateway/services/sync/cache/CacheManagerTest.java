@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CacheManagerTest {
+
+    private static final String CACHE_NAME = "apikeys";
+
+    @Mock
+    private HazelcastInstance hzInstance;
+
+    @Mock
+    private IMap<Object, Object> hzMap;
+
+    @Test
+    public void shouldUseHazelcastCachesByDefault() {
+        when(hzInstance.getMap(CACHE_NAME)).thenReturn(hzMap);
+        final CacheManager cacheManager = cacheManager(CacheManager.TYPE_HAZELCAST, false);
+
+        assertSame(hzMap, cacheManager.getCache(CACHE_NAME));
+    }
+
+    @Test
+    public void shouldUseHazelcastCachesForUnknownType() {
+        when(hzInstance.getMap(CACHE_NAME)).thenReturn(hzMap);
+        final CacheManager cacheManager = cacheManager("unknown", false);
+
+        assertSame(hzMap, cacheManager.getCache(CACHE_NAME));
+    }
+
+    @Test
+    public void shouldUseMemoryCaches() {
+        final CacheManager cacheManager = cacheManager(CacheManager.TYPE_MEMORY, false);
+
+        final Map<String, Object> cache = cacheManager.getCache(CACHE_NAME);
+
+        assertSame(cache, cacheManager.getCache(CACHE_NAME));
+        assertNotSame(cache, cacheManager.getCache("subscriptions"));
+        verify(hzInstance, never()).getMap(anyString());
+    }
+
+    @Test
+    public void shouldUseMemoryCachesIgnoringCase() {
+        final CacheManager cacheManager = cacheManager("MEMORY", false);
+
+        cacheManager.getCache(CACHE_NAME);
+
+        verify(hzInstance, never()).getMap(anyString());
+    }
+
+    @Test
+    public void shouldReturnCachedEntriesAsIsFromMemoryCaches() {
+        final CacheManager cacheManager = cacheManager(CacheManager.TYPE_MEMORY, false);
+        final Object entry = new Object();
+
+        cacheManager.getCache(CACHE_NAME).put("key", entry);
+
+        assertSame(entry, cacheManager.getCache(CACHE_NAME).get("key"));
+    }
+
+    @Test
+    public void shouldIgnoreMemoryTypeWithDistributedSync() {
+        when(hzInstance.getMap(CACHE_NAME)).thenReturn(hzMap);
+        final CacheManager cacheManager = cacheManager(CacheManager.TYPE_MEMORY, true);
+
+        assertSame(hzMap, cacheManager.getCache(CACHE_NAME));
+    }
+
+    private CacheManager cacheManager(String type, boolean distributed) {
+        final CacheManager cacheManager = new CacheManager(hzInstance, type, distributed);
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+}
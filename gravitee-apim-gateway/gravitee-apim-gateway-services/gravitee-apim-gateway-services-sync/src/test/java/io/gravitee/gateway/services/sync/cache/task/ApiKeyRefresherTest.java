@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.task;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.gateway.services.sync.cache.ApiKeysCache;
+import io.gravitee.repository.management.model.ApiKey;
+import java.util.Date;
+import java.util.HashMap;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ApiKeyRefresherTest {
+
+    private final ApiKeysCache cache = new ApiKeysCache(new HashMap<>());
+
+    private ApiKeyRefresher refresher;
+
+    @Before
+    public void setUp() {
+        refresher =
+            new ApiKeyRefresher() {
+                @Override
+                public Result<Boolean> call() {
+                    return Result.success(true);
+                }
+            };
+        refresher.setCache(cache);
+    }
+
+    @Test
+    public void shouldOnlyKeepRequiredFields() {
+        final Date expireAt = new Date();
+        final ApiKey apiKey = apiKey("my-key");
+        apiKey.setExpireAt(expireAt);
+
+        refresher.saveOrUpdate(apiKey);
+
+        final ApiKey cached = cache.get("my-api", "my-key");
+        assertEquals("my-plan", cached.getPlan());
+        assertEquals("my-application", cached.getApplication());
+        assertEquals("my-subscription", cached.getSubscription());
+        assertEquals(expireAt, cached.getExpireAt());
+        assertNull(cached.getCreatedAt());
+        assertNull(cached.getUpdatedAt());
+        assertNull(cached.getDaysToExpirationOnLastNotification());
+    }
+
+    @Test
+    public void shouldShareIdentifiers() {
+        refresher.saveOrUpdate(apiKey("key-1"));
+        refresher.saveOrUpdate(apiKey("key-2"));
+
+        final ApiKey first = cache.get("my-api", "key-1");
+        final ApiKey second = cache.get("my-api", "key-2");
+        assertSame(first.getApi(), second.getApi());
+        assertSame(first.getPlan(), second.getPlan());
+        assertSame(first.getApplication(), second.getApplication());
+    }
+
+    @Test
+    public void shouldRemoveRevokedApiKey() {
+        refresher.saveOrUpdate(apiKey("my-key"));
+
+        final ApiKey revoked = apiKey("my-key");
+        revoked.setRevoked(true);
+        refresher.saveOrUpdate(revoked);
+
+        assertNull(cache.get("my-api", "my-key"));
+    }
+
+    private static ApiKey apiKey(String key) {
+        final ApiKey apiKey = new ApiKey();
+        apiKey.setKey(key);
+        apiKey.setApi(new String("my-api"));
+        apiKey.setPlan(new String("my-plan"));
+        apiKey.setApplication(new String("my-application"));
+        apiKey.setSubscription(new String("my-subscription"));
+        apiKey.setCreatedAt(new Date());
+        apiKey.setUpdatedAt(new Date());
+        apiKey.setDaysToExpirationOnLastNotification(10);
+        return apiKey;
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.task;
+
+import io.gravitee.gateway.services.sync.cache.ApiKeysCache;
+import io.gravitee.repository.management.model.ApiKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Fill an in-memory api-keys cache, as done with <code>services.sync.cache.type: memory</code>, either with the
+ * api-keys as read from the repository or with the compacted api-keys stored by the refreshers, and look them up.
+ *
+ * The heap retained by each cached api-key is printed once the cache is filled.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class ApiKeysCacheFootprintBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(ApiKeysCacheFootprintBenchmark.class.getSimpleName()).build();
+
+        new Runner(opt).run();
+    }
+
+    private static final int APIS = 100;
+    private static final int PLANS_PER_API = 3;
+    private static final int APPLICATIONS = 10_000;
+
+    @Param({ "1000000" })
+    private int keys;
+
+    @Param({ "true", "false" })
+    private boolean compact;
+
+    private ApiKeysCache cache;
+
+    private String[] apis;
+    private String[] lookupKeys;
+
+    @Setup
+    public void setup() {
+        final Map<String, ApiKey> entries = new ConcurrentHashMap<>();
+        cache = new ApiKeysCache(entries);
+
+        final ApiKeyRefresher refresher = new ApiKeyRefresher() {
+            @Override
+            public Result<Boolean> call() {
+                return Result.success(true);
+            }
+        };
+        refresher.setCache(cache);
+
+        apis = new String[keys];
+        lookupKeys = new String[keys];
+
+        final long before = usedMemory();
+
+        for (int i = 0; i < keys; i++) {
+            final ApiKey apiKey = apiKey(i);
+            apis[i] = apiKey.getApi();
+            lookupKeys[i] = apiKey.getKey();
+
+            if (compact) {
+                refresher.saveOrUpdate(apiKey);
+            } else {
+                cache.put(apiKey);
+            }
+        }
+
+        // The lookup arrays are allocated beforehand and only reference strings held by the cached api-keys.
+        final long after = usedMemory();
+        System.out.printf("%n%d api-keys cached (compact: %s): ~%d bytes per api-key%n", keys, compact, (after - before) / keys);
+    }
+
+    @Benchmark
+    public ApiKey bench_lookup() {
+        final int i = ThreadLocalRandom.current().nextInt(keys);
+        return cache.get(apis[i], lookupKeys[i]);
+    }
+
+    private static ApiKey apiKey(int i) {
+        final int api = i % APIS;
+        final ApiKey apiKey = new ApiKey();
+
+        // Identifiers are read from the repository as new strings for each api-key.
+        apiKey.setId(UUID.randomUUID().toString());
+        apiKey.setKey(UUID.randomUUID().toString());
+        apiKey.setApi(new String("api-" + api));
+        apiKey.setPlan(new String("plan-" + api + '-' + (i % PLANS_PER_API)));
+        apiKey.setApplication(new String("application-" + (i % APPLICATIONS)));
+        apiKey.setSubscription(new String("subscription-" + (i % (APPLICATIONS * PLANS_PER_API))));
+        apiKey.setCreatedAt(new Date());
+        apiKey.setUpdatedAt(new Date());
+        apiKey.setExpireAt(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30)));
+        apiKey.setDaysToExpirationOnLastNotification(30);
+
+        return apiKey;
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.task;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.repository.management.api.SubscriptionRepository;
+import io.gravitee.repository.management.model.Subscription;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionRefresherTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    private final Map<String, Object> cache = new HashMap<>();
+
+    private SubscriptionRefresher refresher;
+
+    @Before
+    public void setUp() {
+        refresher = new FullSubscriptionRefresher(Collections.singletonList("my-plan"));
+        refresher.setSubscriptionRepository(subscriptionRepository);
+        refresher.setCache(cache);
+    }
+
+    @Test
+    public void shouldOnlyKeepRequiredFields() throws Exception {
+        final Date startingAt = new Date(1000);
+        final Date endingAt = new Date(2000);
+        final Subscription subscription = subscription("sub-1", "client-1");
+        subscription.setStartingAt(startingAt);
+        subscription.setEndingAt(endingAt);
+        when(subscriptionRepository.search(any())).thenReturn(Collections.singletonList(subscription));
+
+        assertTrue(refresher.call().succeeded());
+
+        final Subscription cached = (Subscription) cache.get("my-api-client-1");
+        assertEquals("sub-1", cached.getId());
+        assertEquals(Subscription.Status.ACCEPTED, cached.getStatus());
+        assertEquals(startingAt, cached.getStartingAt());
+        assertEquals(endingAt, cached.getEndingAt());
+        assertEquals("my-api", cached.getApi());
+        assertEquals("my-plan", cached.getPlan());
+        assertEquals("my-application", cached.getApplication());
+        assertEquals("client-1", cached.getClientId());
+        assertNull(cached.getRequest());
+        assertNull(cached.getReason());
+        assertNull(cached.getSubscribedBy());
+        assertNull(cached.getProcessedBy());
+        assertNull(cached.getProcessedAt());
+        assertNull(cached.getCreatedAt());
+        assertNull(cached.getUpdatedAt());
+        assertNull(cached.getGeneralConditionsContentPageId());
+        assertNull(cached.getDaysToExpirationOnLastNotification());
+    }
+
+    @Test
+    public void shouldShareIdentifiers() throws Exception {
+        when(subscriptionRepository.search(any()))
+            .thenReturn(Arrays.asList(subscription("sub-1", "client-1"), subscription("sub-2", "client-2")));
+
+        refresher.call();
+
+        final Subscription first = (Subscription) cache.get("my-api-client-1");
+        final Subscription second = (Subscription) cache.get("my-api-client-2");
+        assertSame(first.getApi(), second.getApi());
+        assertSame(first.getPlan(), second.getPlan());
+        assertSame(first.getApplication(), second.getApplication());
+    }
+
+    private static Subscription subscription(String id, String clientId) {
+        final Subscription subscription = new Subscription();
+        subscription.setId(id);
+        subscription.setStatus(Subscription.Status.ACCEPTED);
+        subscription.setClientId(clientId);
+        subscription.setApi(new String("my-api"));
+        subscription.setPlan(new String("my-plan"));
+        subscription.setApplication(new String("my-application"));
+        subscription.setRequest("request");
+        subscription.setReason("reason");
+        subscription.setSubscribedBy("user");
+        subscription.setProcessedBy("admin");
+        subscription.setProcessedAt(new Date());
+        subscription.setCreatedAt(new Date());
+        subscription.setUpdatedAt(new Date());
+        subscription.setGeneralConditionsContentPageId("page");
+        subscription.setDaysToExpirationOnLastNotification(10);
+        return subscription;
+    }
+}
@@ -18,6 +18,7 @@ package io.gravitee.gateway.standalone.vertx.ws;
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.ws.WebSocket;
 import io.gravitee.gateway.api.ws.WebSocketFrame;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.ServerWebSocket;
@@ -76,7 +77,7 @@ class VertxWebSocket implements WebSocket {
         if (upgraded) {
             if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.BINARY) {
                 websocket.writeFrame(
-                    io.vertx.core.http.WebSocketFrame.binaryFrame(Buffer.buffer(frame.data().getBytes()), frame.isFinal())
+                    io.vertx.core.http.WebSocketFrame.binaryFrame(Buffer.buffer((ByteBuf) frame.data().getNativeBuffer()), frame.isFinal())
                 );
             } else if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.TEXT) {
                 websocket.writeFrame(io.vertx.core.http.WebSocketFrame.textFrame(frame.data().toString(), frame.isFinal()));
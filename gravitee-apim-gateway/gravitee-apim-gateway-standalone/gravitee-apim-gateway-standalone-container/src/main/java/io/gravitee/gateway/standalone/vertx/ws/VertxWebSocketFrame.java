@@ -17,6 +17,7 @@ package io.gravitee.gateway.standalone.vertx.ws;
 
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.ws.WebSocketFrame;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
 import io.vertx.core.http.WebSocketFrameType;
 
 /**
@@ -25,6 +26,8 @@ import io.vertx.core.http.WebSocketFrameType;
  */
 class VertxWebSocketFrame implements WebSocketFrame {
 
+    private static final BufferFactoryImpl BUFFER_FACTORY = new BufferFactoryImpl();
+
     private final io.vertx.core.http.WebSocketFrame frame;
 
     VertxWebSocketFrame(io.vertx.core.http.WebSocketFrame frame) {
@@ -46,7 +49,7 @@ class VertxWebSocketFrame implements WebSocketFrame {
 
     @Override
     public Buffer data() {
-        return Buffer.buffer(frame.binaryData().getBytes());
+        return BUFFER_FACTORY.buffer(frame.binaryData().getByteBuf());
     }
 
     @Override